@@ -1,10 +1,13 @@
 package mobi.parchment.widget.adapterview;
 
+import android.annotation.TargetApi;
+import android.os.Build;
 import android.view.GestureDetector.OnGestureListener;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.ViewGroup;
+import android.view.animation.AnimationUtils;
 
 /**
  * Created by Emir Hasanbegovic
@@ -16,8 +19,12 @@ public class AdapterAnimator implements OnGestureListener, AnimationStoppedListe
     }
 
     private static final int FINAL_ANIMATE_TO_DURATION_IN_MILLISECONDS = 500;
+    private static final int MAX_SMOOTH_SCROLL_LEGS = 8;
 
     private static final int ANIMATION_DURATION = 500;
+    private static final int FRAME_DELAY_IN_MILLISECONDS = 10;
+    private static final float FAST_SCROLL_FRACTION_OF_MAX_FLING_VELOCITY = 0.25f;
+    private static final int SCROLL_VELOCITY_TIMEOUT_IN_MILLISECONDS = 100;
     private final int mScaledTouchSlop;
     private final boolean mIsVerticalScroll;
     private final Animation mAnimation = new Animation();
@@ -27,18 +34,69 @@ public class AdapterAnimator implements OnGestureListener, AnimationStoppedListe
     private final boolean mIsViewPager;
 
     private int mPreviousDisplacement;
+    private long mPreviousDisplacementTime;
+    private int mVelocityDisplacement;
+    private long mLastMovementTime;
     private State mState = State.notMoving;
 
     private boolean mComputedOffsetReady;
+    private boolean mIsFrameScheduled;
+    private boolean mIsDragFrameScheduled;
+    private boolean mIsScrollReportScheduled;
+
+    private float mScrollVelocity;
+    private float mFastScrollVelocity;
+    private OnScrollListener mOnScrollListener;
+    private State mReportedState = State.notMoving;
+    private boolean mIsMovedSinceReport;
+
+    private int mSmoothScrollPosition = LayoutManager.INVALID_POSITION;
+    private SnapPosition mSmoothScrollSnapPosition;
+    private int mSmoothScrollLegs;
+
+    private TouchResampler mTouchResampler;
+    private float mResampledPosition;
+
+    private final Runnable mAnimationFrame = new Runnable() {
+        @Override
+        public void run() {
+            mIsFrameScheduled = false;
+            onAnimationFrame();
+        }
+    };
+
+    private final Runnable mDragFrame = new Runnable() {
+        @Override
+        public void run() {
+            mIsDragFrameScheduled = false;
+            onDragFrame();
+        }
+    };
+
+    private final Runnable mScrollReport = new Runnable() {
+        @Override
+        public void run() {
+            mIsScrollReportScheduled = false;
+            onScrollReport();
+        }
+    };
 
     public AdapterAnimator(final ViewGroup view, final boolean isViewPager, final boolean isVerticalScroll, final LayoutManagerBridge layoutManagerBridge, ViewConfiguration viewConfiguration) {
+        this(view, isViewPager, isVerticalScroll, layoutManagerBridge, viewConfiguration, new ScrollAnimator(view.getContext(), isVerticalScroll));
+    }
+
+    /**
+     * Lets tests run the animation on a scroll animator with a clock they control.
+     */
+    AdapterAnimator(final ViewGroup view, final boolean isViewPager, final boolean isVerticalScroll, final LayoutManagerBridge layoutManagerBridge, final ViewConfiguration viewConfiguration, final ScrollAnimator scrollAnimator) {
         mLayoutManagerBridge = layoutManagerBridge;
         mLayoutManagerBridge.setAnimationStoppedListener(this);
         mViewGroup = view;
         mIsViewPager = isViewPager;
         mIsVerticalScroll = isVerticalScroll;
-        mScrollAnimator = new ScrollAnimator(view.getContext(), isVerticalScroll);
+        mScrollAnimator = scrollAnimator;
         mScaledTouchSlop = viewConfiguration.getScaledTouchSlop();
+        mFastScrollVelocity = viewConfiguration.getScaledMaximumFlingVelocity() * FAST_SCROLL_FRACTION_OF_MAX_FLING_VELOCITY;
     }
 
     @Override
@@ -55,12 +113,25 @@ public class AdapterAnimator implements OnGestureListener, AnimationStoppedListe
             mScrollAnimator.startScroll(viewPageDistance, ANIMATION_DURATION);
         } else {
             mScrollAnimator.flingBy(velocityX, velocityY);
+            aimFlingAtSnapPosition();
         }
 
-        mViewGroup.requestLayout();
+        scheduleAnimationFrame();
         return true;
     }
 
+    /**
+     * Retargets the fling so it decelerates right onto the snap position, the snap once it stopped is then a no-op
+     * instead of a second animation.
+     */
+    private void aimFlingAtSnapPosition() {
+        if (mLayoutManagerBridge == null) return;
+
+        final int flingDistance = mScrollAnimator.getFinalOffset();
+        final int snapDistance = mLayoutManagerBridge.getPredictiveSnapDistance(mViewGroup, flingDistance);
+        if (snapDistance != flingDistance) mScrollAnimator.setFlingFinalOffset(snapDistance);
+    }
+
     @Override
     public void onLongPress(final MotionEvent e) {
         setState(State.notMoving);
@@ -79,13 +150,46 @@ public class AdapterAnimator implements OnGestureListener, AnimationStoppedListe
                 return false;
             }
         }
+        final boolean isDragStart = mState != State.scrolling;
         setState(State.scrolling);
         final int displacement = (int) mLayoutManagerBridge.getScrollDisplacement(distanceX, distanceY);
-        mAnimation.setDisplacement((int) displacement);
-        mViewGroup.requestLayout();
+        if (mTouchResampler != null) {
+            addTouchSamples(e2, isDragStart, displacement);
+        } else {
+            mAnimation.addDisplacement(displacement);
+        }
+        if (isDragStart) resetScrollVelocityTime(e1.getEventTime());
+        updateScrollVelocity(displacement, e2.getEventTime());
+        scheduleDragFrame();
         return true;
     }
 
+    /**
+     * With touch resampling the drag frame moves the content to where the pointer is estimated to be at the frame
+     * time, the samples are only recorded here.
+     */
+    private void addTouchSamples(final MotionEvent motionEvent, final boolean isDragStart, final int displacement) {
+        if (isDragStart || mTouchResampler.isEmpty()) {
+            mTouchResampler.clear();
+            // the content has not moved by this event's displacement yet
+            final float position = mIsVerticalScroll ? motionEvent.getY() : motionEvent.getX();
+            mResampledPosition = position - displacement;
+        }
+        mTouchResampler.addSamples(motionEvent);
+    }
+
+    /**
+     * Moves the content while dragging to where the pointer is expected to be when the frame is drawn instead of where
+     * the last touch event was, which can be most of a frame old. Off by default.
+     */
+    public void setTouchResampling(final boolean isTouchResampling) {
+        mTouchResampler = isTouchResampling ? new TouchResampler(mIsVerticalScroll) : null;
+    }
+
+    public boolean isTouchResampling() {
+        return mTouchResampler != null;
+    }
+
     @Override
     public void onShowPress(final MotionEvent e) {
         setState(State.notMoving);
@@ -98,7 +202,7 @@ public class AdapterAnimator implements OnGestureListener, AnimationStoppedListe
         setState(State.flinging);
 
         mScrollAnimator.startScroll(scrollDistance, ANIMATION_DURATION);
-        mViewGroup.requestLayout();
+        scheduleAnimationFrame();
 
         return true;
     }
@@ -125,6 +229,11 @@ public class AdapterAnimator implements OnGestureListener, AnimationStoppedListe
 
         mState = state;
         mPreviousDisplacement = 0;
+        if (isAnimating()) resetScrollVelocityTime(getFrameTime());
+        if (state != State.animatingTo) mSmoothScrollPosition = LayoutManager.INVALID_POSITION;
+        if (state == State.notMoving) mScrollVelocity = 0;
+        if (state == State.notMoving && mLayoutManagerBridge != null) mLayoutManagerBridge.setScrollVelocity(0);
+        if (state != mReportedState) scheduleScrollReport();
 
         // This snaps to the position when the animation is finished.
         if (state == State.notMoving && mLayoutManagerBridge != null) {
@@ -132,12 +241,13 @@ public class AdapterAnimator implements OnGestureListener, AnimationStoppedListe
             if (scrollDistance == 0) return;
             setState(State.snapingTo);
             mScrollAnimator.startScroll(scrollDistance, ANIMATION_DURATION);
-            mViewGroup.requestLayout();
+            scheduleAnimationFrame();
         }
 
     }
 
     public void computeScrollOffset() {
+        updateSmoothScrollTarget();
         mComputedOffsetReady = !mScrollAnimator.isFinished() && mScrollAnimator.computeScrollOffset();
 
         if (!mComputedOffsetReady) {
@@ -148,9 +258,219 @@ public class AdapterAnimator implements OnGestureListener, AnimationStoppedListe
 
         final int currentOffset = mScrollAnimator.getCurrrentOffset();
 
-        mAnimation.setDisplacement(currentOffset - mPreviousDisplacement);
+        final int displacement = currentOffset - mPreviousDisplacement;
+        mAnimation.addDisplacement(displacement);
         mPreviousDisplacement = currentOffset;
+        updateScrollVelocity(displacement, getFrameTime());
+
+    }
+
+    private void resetScrollVelocityTime(final long time) {
+        mPreviousDisplacementTime = time;
+        mVelocityDisplacement = 0;
+    }
+
+    /**
+     * Lets the layout manager know which way and how fast the content is moving so it can prefetch cells. Touch
+     * displacements are timed by their motion events rather than when they are handled, several events can be handled
+     * in the same millisecond. Displacements with the same time are added up until the time moves on.
+     *
+     * @param displacementTime the event time of touch displacements, the frame time of animated ones
+     */
+    private void updateScrollVelocity(final int displacement, final long displacementTime) {
+        if (displacement != 0) {
+            mLastMovementTime = AnimationUtils.currentAnimationTimeMillis();
+            mIsMovedSinceReport = true;
+            scheduleScrollReport();
+        }
+
+        mVelocityDisplacement += displacement;
+        final long elapsedTime = displacementTime - mPreviousDisplacementTime;
+        if (elapsedTime <= 0) return;
+        mPreviousDisplacementTime = displacementTime;
 
+        if (mVelocityDisplacement == 0) return;
+        mScrollVelocity = mVelocityDisplacement * 1000f / elapsedTime;
+        mVelocityDisplacement = 0;
+
+        if (mLayoutManagerBridge == null) return;
+        mLayoutManagerBridge.setScrollVelocity(mScrollVelocity);
+    }
+
+    /**
+     * @return in pixels per second, a negative velocity moves towards the end of the adapter
+     */
+    public float getScrollVelocity() {
+        return mScrollVelocity;
+    }
+
+    /**
+     * Cheap enough to be checked from getView, so adapters can bind placeholders instead of loading images while the
+     * content flies by. A drag held still stops being fast once no movement was seen for a few frames.
+     *
+     * @return true while the content moves faster than the fast scroll velocity
+     */
+    public boolean isScrollingFast() {
+        if (mState == State.notMoving) return false;
+
+        final long elapsedTime = AnimationUtils.currentAnimationTimeMillis() - mLastMovementTime;
+        if (elapsedTime > SCROLL_VELOCITY_TIMEOUT_IN_MILLISECONDS) return false;
+        return Math.abs(mScrollVelocity) > mFastScrollVelocity;
+    }
+
+    /**
+     * @param fastScrollVelocity in pixels per second, a quarter of the maximum fling velocity by default
+     */
+    public void setFastScrollVelocity(final float fastScrollVelocity) {
+        mFastScrollVelocity = fastScrollVelocity;
+    }
+
+    public float getFastScrollVelocity() {
+        return mFastScrollVelocity;
+    }
+
+    /**
+     * Nothing is posted while no listener is set.
+     */
+    public void setOnScrollListener(final OnScrollListener onScrollListener) {
+        mOnScrollListener = onScrollListener;
+        mReportedState = mState;
+        mIsMovedSinceReport = false;
+    }
+
+    /**
+     * Called once the layout pass applied the animation's displacement.
+     */
+    public void onLayout() {
+        mAnimation.setDisplacement(0);
+        if (isAnimating()) scheduleAnimationFrame();
+    }
+
+    public boolean isAnimating() {
+        switch (mState) {
+            case animatingTo:
+            case jumpingTo:
+            case flinging:
+            case snapingTo:
+                return true;
+            case scrolling:
+            case notMoving:
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Advances the scroll animation once per frame. Frames that only move the cells on screen are applied directly,
+     * a layout is only requested when cells have to be added or removed.
+     */
+    private void onAnimationFrame() {
+        if (!isAnimating()) return;
+
+        computeScrollOffset();
+        if (!mComputedOffsetReady) {
+            mViewGroup.requestLayout();
+            return;
+        }
+
+        final boolean isScrolled = mLayoutManagerBridge.scroll(mViewGroup, mAnimation);
+        if (isScrolled) mAnimation.setDisplacement(0);
+        else mViewGroup.requestLayout();
+
+        if (isAnimating()) scheduleAnimationFrame();
+    }
+
+    /**
+     * Applies the drag displacement accumulated since the last frame. Touch events can arrive several times per
+     * frame, they only add to the displacement so the cells move, or are laid out, once per frame however fast the
+     * digitizer reports.
+     */
+    private void onDragFrame() {
+        if (mState != State.scrolling) return;
+
+        if (mTouchResampler != null && !mTouchResampler.isEmpty()) {
+            final float position = mTouchResampler.getPosition(getFrameTime());
+            final int displacement = (int) (position - mResampledPosition);
+            mResampledPosition += displacement;
+            mAnimation.addDisplacement(displacement);
+        }
+        if (mAnimation.getDisplacement() == 0) return;
+
+        final boolean isScrolled = mLayoutManagerBridge.scroll(mViewGroup, mAnimation);
+        if (isScrolled) mAnimation.setDisplacement(0);
+        else mViewGroup.requestLayout();
+    }
+
+    protected void scheduleAnimationFrame() {
+        if (mIsFrameScheduled) return;
+        mIsFrameScheduled = true;
+
+        postFrame(mAnimationFrame);
+    }
+
+    private void scheduleDragFrame() {
+        if (mIsDragFrameScheduled) return;
+        mIsDragFrameScheduled = true;
+
+        postFrame(mDragFrame);
+    }
+
+    private void scheduleScrollReport() {
+        if (mOnScrollListener == null || mIsScrollReportScheduled) return;
+        mIsScrollReportScheduled = true;
+
+        postFrame(mScrollReport);
+    }
+
+    /**
+     * Reports what changed since the last report, once per frame however many state changes and displacements the
+     * frame went through. The visible range is the one drawn by the last layout.
+     */
+    private void onScrollReport() {
+        if (mOnScrollListener == null) return;
+
+        final boolean isStateChanged = mState != mReportedState;
+        mReportedState = mState;
+        if (isStateChanged) mOnScrollListener.onScrollStateChanged(mViewGroup, mState);
+        if (!isStateChanged && !mIsMovedSinceReport) return;
+        mIsMovedSinceReport = false;
+
+        if (mLayoutManagerBridge == null) return;
+        final int firstVisiblePosition = mLayoutManagerBridge.getFirstVisiblePosition(mViewGroup);
+        final int lastVisiblePosition = mLayoutManagerBridge.getLastVisiblePosition(mViewGroup);
+        mOnScrollListener.onScroll(mViewGroup, firstVisiblePosition, lastVisiblePosition, mScrollVelocity);
+    }
+
+    /**
+     * @return the time of the frame being drawn, in the time base of touch events
+     */
+    protected long getFrameTime() {
+        return AnimationUtils.currentAnimationTimeMillis();
+    }
+
+    /**
+     * Runs the frame callback on the next display frame.
+     */
+    protected void postFrame(final Runnable frame) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            postOnAnimation(frame);
+        } else {
+            mViewGroup.postDelayed(frame, FRAME_DELAY_IN_MILLISECONDS);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void postOnAnimation(final Runnable runnable) {
+        mViewGroup.postOnAnimation(runnable);
+    }
+
+    public void stopAnimationFrames() {
+        mViewGroup.removeCallbacks(mAnimationFrame);
+        mViewGroup.removeCallbacks(mDragFrame);
+        mViewGroup.removeCallbacks(mScrollReport);
+        mIsFrameScheduled = false;
+        mIsDragFrameScheduled = false;
+        mIsScrollReportScheduled = false;
     }
 
     public Animation getAnimation() {
@@ -174,13 +494,69 @@ public class AdapterAnimator implements OnGestureListener, AnimationStoppedListe
     public void setAnimateToDistance(final int animate) {
         setState(State.animatingTo);
         mScrollAnimator.startScroll(animate, FINAL_ANIMATE_TO_DURATION_IN_MILLISECONDS);
-        mViewGroup.requestLayout();
+        scheduleAnimationFrame();
+    }
+
+    /**
+     * Animates until the position reaches the snap position. The distance starts as an estimate, far positions are
+     * jumped to first, and the animation is retargeted with the exact distance once the position is drawn.
+     */
+    public void smoothScrollToPosition(final int position, final SnapPosition snapPosition) {
+        if (mLayoutManagerBridge == null || !mLayoutManagerBridge.isPositionInAdapter(position)) return;
+
+        setState(State.animatingTo);
+        mSmoothScrollPosition = position;
+        mSmoothScrollSnapPosition = snapPosition;
+        mSmoothScrollLegs = 0;
+
+        final int distance = mLayoutManagerBridge.prepareSmoothScroll(mViewGroup, position, snapPosition);
+        startSmoothScrollLeg(distance);
+    }
+
+    public void smoothScrollToPosition(final int position) {
+        if (mLayoutManagerBridge == null) return;
+
+        smoothScrollToPosition(position, mLayoutManagerBridge.getSnapPosition());
+    }
+
+    /**
+     * Replaces the running estimate once the target is drawn, or starts another estimated leg if the last one ended
+     * short of it.
+     */
+    private void updateSmoothScrollTarget() {
+        if (mState != State.animatingTo || mSmoothScrollPosition == LayoutManager.INVALID_POSITION) return;
+
+        final boolean isPositionDrawn = mLayoutManagerBridge.isPositionDrawn(mSmoothScrollPosition);
+        if (!isPositionDrawn && !mScrollAnimator.isFinished()) return;
+
+        final int distance = mLayoutManagerBridge.getSmoothScrollDistance(mViewGroup, mSmoothScrollPosition, mSmoothScrollSnapPosition);
+        if (isPositionDrawn || mSmoothScrollLegs >= MAX_SMOOTH_SCROLL_LEGS) mSmoothScrollPosition = LayoutManager.INVALID_POSITION;
+
+        startSmoothScrollLeg(distance);
+    }
+
+    private void startSmoothScrollLeg(final int distance) {
+        if (distance == 0) {
+            mSmoothScrollPosition = LayoutManager.INVALID_POSITION;
+            mScrollAnimator.forceFinished(true);
+            scheduleAnimationFrame();
+            return;
+        }
+
+        mSmoothScrollLegs++;
+        mPreviousDisplacement = 0;
+        mScrollAnimator.startScroll(distance, FINAL_ANIMATE_TO_DURATION_IN_MILLISECONDS);
+        scheduleAnimationFrame();
     }
 
     protected ViewGroup getViewGroup() {
         return mViewGroup;
     }
 
+    protected LayoutManagerBridge getLayoutManagerBridge() {
+        return mLayoutManagerBridge;
+    }
+
     @Override
     public void onAnimationStopped() {
         setState(State.notMoving);
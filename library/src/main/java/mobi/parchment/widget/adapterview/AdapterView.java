@@ -1,8 +1,10 @@
 package mobi.parchment.widget.adapterview;
 
+import android.annotation.TargetApi;
+import android.content.ComponentCallbacks;
 import android.content.Context;
 import android.database.DataSetObserver;
-import android.graphics.Rect;
+import android.os.Build;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.util.AttributeSet;
@@ -15,33 +17,43 @@ import android.view.View.OnLongClickListener;
 import android.view.ViewConfiguration;
 import android.widget.Adapter;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
 /**
  * Created by Emir Hasanbegovic
  */
 public abstract class AdapterView<ADAPTER extends Adapter, Cell> extends android.widget.AdapterView<ADAPTER> implements OnLongClickListener, OnClickListener, OnSelectedListener, AdapterViewHandler {
 
+    /**
+     * Directory of the app files holding the warm up profiles, see {@link #warmUp(String, ViewFactory)}.
+     */
+    public static final String WARM_UP_PROFILE_DIRECTORY = "parchment_warm_up";
+
     private OnItemClickListener mOnItemClickListener;
     private OnItemSelectedListener mOnItemSelectedListener;
     private OnItemLongClickListener mOnItemLongClickListener;
     private ADAPTER mAdapter;
     private AdapterViewInitializer<Cell> mAdapterViewInitializer;
+    private final List<View> mDetachedViews = new ArrayList<View>();
+    private ComponentCallbacks mPoolTrimCallbacks;
 
-    private Runnable mRequestLayout = new Runnable() {
-        @Override
-        public void run() {
-            requestLayout();
-        }
-    };
+    private boolean mIsDataSetChangePending;
 
+    /**
+     * Notifications only mark the data as changed, the views are dropped once in the next measure or layout pass.
+     */
     private final DataSetObserver mDataSetObserver = new DataSetObserver() {
         public void onChanged() {
-            removeAllViewsInLayout();
+            mIsDataSetChangePending = true;
             requestLayout();
             invalidate();
         }
 
         public void onInvalidated() {
-            removeAllViewsInLayout();
+            mIsDataSetChangePending = true;
             requestLayout();
             invalidate();
         }
@@ -95,11 +107,174 @@ public abstract class AdapterView<ADAPTER extends Adapter, Cell> extends android
         invalidate();
     }
 
+    /**
+     * Moves the content while dragging to where the finger is estimated to be when the frame is drawn, see
+     * {@link AdapterAnimator#setTouchResampling(boolean)}.
+     */
+    public void setTouchResampling(final boolean isTouchResampling) {
+        final ChildTouchGestureListener childTouchListener = mAdapterViewInitializer.getChildTouchListener();
+        childTouchListener.setTouchResampling(isTouchResampling);
+    }
+
+    /**
+     * Reports state changes, velocity and visible range at most once per frame, see {@link OnScrollListener}.
+     */
+    public void setOnScrollListener(final OnScrollListener onScrollListener) {
+        final ChildTouchGestureListener childTouchListener = mAdapterViewInitializer.getChildTouchListener();
+        childTouchListener.setOnScrollListener(onScrollListener);
+    }
+
+    /**
+     * Meant to be checked by the adapter in getView, see {@link AdapterAnimator#isScrollingFast()}.
+     */
+    public boolean isScrollingFast() {
+        final ChildTouchGestureListener childTouchListener = mAdapterViewInitializer.getChildTouchListener();
+        return childTouchListener.isScrollingFast();
+    }
+
+    /**
+     * @param fastScrollVelocity in pixels per second, past it {@link #isScrollingFast()} is true
+     */
+    public void setFastScrollVelocity(final float fastScrollVelocity) {
+        final ChildTouchGestureListener childTouchListener = mAdapterViewInitializer.getChildTouchListener();
+        childTouchListener.setFastScrollVelocity(fastScrollVelocity);
+    }
+
+    @Override
+    public int getFirstVisiblePosition() {
+        final LayoutManager<Cell> layoutManager = mAdapterViewInitializer.getLayoutManager();
+        if (layoutManager == null) return android.widget.AdapterView.INVALID_POSITION;
+
+        return layoutManager.getFirstVisiblePosition(layoutManager.getViewGroupSize(this));
+    }
+
+    @Override
+    public int getLastVisiblePosition() {
+        final LayoutManager<Cell> layoutManager = mAdapterViewInitializer.getLayoutManager();
+        if (layoutManager == null) return android.widget.AdapterView.INVALID_POSITION;
+
+        return layoutManager.getLastVisiblePosition(layoutManager.getViewGroupSize(this));
+    }
+
+    /**
+     * Aims flings at the snap position from the start instead of snapping once they stopped, only used along with
+     * snapToPosition.
+     */
+    public void setPredictiveSnap(final boolean predictiveSnap) {
+        final LayoutManager<Cell> layoutManager = mAdapterViewInitializer.getLayoutManager();
+        layoutManager.setPredictiveSnap(predictiveSnap);
+    }
+
+    /**
+     * Declares that every item has the same size, only the first item is measured against the view and its size is
+     * reused for every other item.
+     */
+    public void setHasFixedCellSize(final boolean hasFixedCellSize) {
+        final LayoutManager<Cell> layoutManager = mAdapterViewInitializer.getLayoutManager();
+        layoutManager.setHasFixedCellSize(hasFixedCellSize);
+        requestLayout();
+    }
+
+    /**
+     * Animates the content until the position is at the view's snap position.
+     */
+    public void smoothScrollToPosition(final int position) {
+        final ChildTouchGestureListener childTouchListener = mAdapterViewInitializer.getChildTouchListener();
+        childTouchListener.smoothScrollToPosition(position);
+    }
+
+    /**
+     * Animates the content until the position is at the given snap position.
+     */
+    public void smoothScrollToPosition(final int position, final SnapPosition snapPosition) {
+        final ChildTouchGestureListener childTouchListener = mAdapterViewInitializer.getChildTouchListener();
+        childTouchListener.smoothScrollToPosition(position, snapPosition);
+    }
+
     @Override
     protected void onAttachedToWindow() {
         super.onAttachedToWindow();
         final AdapterViewManager adapterViewManager = mAdapterViewInitializer.getAdapterViewManager();
         adapterViewManager.registerDataSetObserver(mDataSetObserver);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+            registerPoolTrimCallbacks(adapterViewManager);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    private void registerPoolTrimCallbacks(final AdapterViewManager adapterViewManager) {
+        if (mPoolTrimCallbacks == null) mPoolTrimCallbacks = new PoolTrimCallbacks(adapterViewManager);
+        getContext().getApplicationContext().registerComponentCallbacks(mPoolTrimCallbacks);
+    }
+
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    private void unregisterPoolTrimCallbacks() {
+        if (mPoolTrimCallbacks == null) return;
+        getContext().getApplicationContext().unregisterComponentCallbacks(mPoolTrimCallbacks);
+    }
+
+    /**
+     * Recycles views into a pool that other adapter views can share, see {@link ViewPool.GlobalViewTypeAdapter}.
+     */
+    public void setViewPool(final ViewPool viewPool) {
+        final AdapterViewManager adapterViewManager = mAdapterViewInitializer.getAdapterViewManager();
+        adapterViewManager.setViewPool(viewPool);
+    }
+
+    /**
+     * Sets how many recycled views of the view type are kept for reuse, {@link ViewTypePool#AUTO_MAX_SIZE} keeps as
+     * many as were ever on screen at once.
+     */
+    public void setMaxRecycledViews(final int viewType, final int maxRecycledViews) {
+        final AdapterViewManager adapterViewManager = mAdapterViewInitializer.getAdapterViewManager();
+        adapterViewManager.setMaxPoolSize(viewType, maxRecycledViews);
+    }
+
+    /**
+     * Creates views of the view type while the main thread is idle so the first layout does not inflate them, see
+     * {@link AdapterViewManager#prewarm(ViewGroup, int, int, ViewFactory)}.
+     */
+    public void prewarm(final int viewType, final int count, final ViewFactory viewFactory) {
+        final AdapterViewManager adapterViewManager = mAdapterViewInitializer.getAdapterViewManager();
+        adapterViewManager.prewarm(this, viewType, count, viewFactory);
+    }
+
+    /**
+     * Creates views of the view type on the executor, for layouts that can be inflated off the main thread.
+     */
+    public void prewarm(final int viewType, final int count, final ViewFactory viewFactory, final Executor executor) {
+        final AdapterViewManager adapterViewManager = mAdapterViewInitializer.getAdapterViewManager();
+        adapterViewManager.prewarm(this, viewType, count, viewFactory, executor);
+    }
+
+    /**
+     * Prewarms the views a previous session of the screen needed and measures them again for the next session, see
+     * {@link AdapterViewManager#warmUp}.
+     *
+     * @param name identifies the screen, adapter views of different screens need different names
+     */
+    public void warmUp(final String name, final ViewFactory viewFactory) {
+        final File directory = new File(getContext().getFilesDir(), WARM_UP_PROFILE_DIRECTORY);
+        final AdapterViewManager adapterViewManager = mAdapterViewInitializer.getAdapterViewManager();
+        adapterViewManager.warmUp(this, new File(directory, name), viewFactory);
+    }
+
+    /**
+     * Reads and writes the warm up profile on the executor instead of the shared warm up thread.
+     */
+    public void warmUp(final String name, final ViewFactory viewFactory, final Executor executor) {
+        final File directory = new File(getContext().getFilesDir(), WARM_UP_PROFILE_DIRECTORY);
+        final AdapterViewManager adapterViewManager = mAdapterViewInitializer.getAdapterViewManager();
+        adapterViewManager.warmUp(this, new File(directory, name), viewFactory, executor);
+    }
+
+    /**
+     * Releases recycled views, takes the same levels as {@link android.content.ComponentCallbacks2#onTrimMemory}.
+     */
+    public void trimRecycledViews(final int level) {
+        final AdapterViewManager adapterViewManager = mAdapterViewInitializer.getAdapterViewManager();
+        adapterViewManager.trimPools(level);
     }
 
     @Override
@@ -108,7 +283,16 @@ public abstract class AdapterView<ADAPTER extends Adapter, Cell> extends android
         final AdapterViewManager adapterViewManager = mAdapterViewInitializer.getAdapterViewManager();
         final LayoutManager<Cell> layoutManager = mAdapterViewInitializer.getLayoutManager();
         adapterViewManager.unregisterDataSetObserver(mDataSetObserver);
+        adapterViewManager.cancelWarmUp();
         layoutManager.destroy();
+
+        final ChildTouchGestureListener childTouchListener = mAdapterViewInitializer.getChildTouchListener();
+        childTouchListener.stopAnimationFrames();
+        removeDetachedViews();
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+            unregisterPoolTrimCallbacks();
+        }
     }
 
     @Override
@@ -125,6 +309,7 @@ public abstract class AdapterView<ADAPTER extends Adapter, Cell> extends android
     @Override
     protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
         setMeasuredDimension(widthMeasureSpec, heightMeasureSpec);
+        processPendingDataSetChange();
 
         final LayoutManager<Cell> layoutManager = mAdapterViewInitializer.getLayoutManager();
         if (layoutManager != null) {
@@ -132,6 +317,18 @@ public abstract class AdapterView<ADAPTER extends Adapter, Cell> extends android
         }
     }
 
+    /**
+     * With stable ids the layout manager keeps the views of surviving items attached, so they are left alone.
+     */
+    private void processPendingDataSetChange() {
+        if (!mIsDataSetChangePending) return;
+        mIsDataSetChangePending = false;
+        if (mAdapter != null && mAdapter.hasStableIds()) return;
+
+        removeAllViewsInLayout();
+        removeDetachedViews();
+    }
+
     public void setOnItemClickListener(final OnItemClickListener onItemClickListener) {
         mOnItemClickListener = onItemClickListener;
     }
@@ -146,6 +343,7 @@ public abstract class AdapterView<ADAPTER extends Adapter, Cell> extends android
 
     @Override
     protected void onLayout(final boolean changed, final int left, final int top, final int right, final int bottom) {
+        processPendingDataSetChange();
 
         final ChildTouchGestureListener childTouchListener = mAdapterViewInitializer.getChildTouchListener();
         final LayoutManager<Cell> layoutManager = mAdapterViewInitializer.getLayoutManager();
@@ -161,19 +359,7 @@ public abstract class AdapterView<ADAPTER extends Adapter, Cell> extends android
         if (layoutManager != null) {
             layoutManager.layout(this, animation, changed, leftSize, topSize, rightSize, bottomSize);
         }
-        final AdapterAnimator.State state = childTouchListener.getState();
-        switch (state) {
-            case animatingTo:
-            case flinging:
-            case jumpingTo:
-            case snapingTo:
-                post(mRequestLayout);
-                break;
-            case scrolling:
-            case notMoving:
-            default:
-                break;
-        }
+        childTouchListener.onLayout();
     }
 
 
@@ -229,21 +415,72 @@ public abstract class AdapterView<ADAPTER extends Adapter, Cell> extends android
         }
     }
 
+    @Override
+    protected LayoutParams generateDefaultLayoutParams() {
+        return new AdapterViewLayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+    }
+
+    @Override
+    public LayoutParams generateLayoutParams(final AttributeSet attributeSet) {
+        return new AdapterViewLayoutParams(getContext(), attributeSet);
+    }
+
+    @Override
+    protected LayoutParams generateLayoutParams(final LayoutParams layoutParams) {
+        return new AdapterViewLayoutParams(layoutParams);
+    }
+
+    @Override
+    protected boolean checkLayoutParams(final LayoutParams layoutParams) {
+        return layoutParams instanceof AdapterViewLayoutParams;
+    }
+
     @Override
     public boolean addViewInAdapterView(final View child, final int index, final LayoutParams layoutParams) {
-        final Rect rect = new Rect(child.getLeft(), child.getTop(), child.getRight(), child.getBottom());
         final int childCount = getChildCount();
         final int drawPosition = Math.min(index, childCount);
         final boolean success = addViewInLayout(child, drawPosition, layoutParams, true);
-        invalidate(rect);
+        invalidate(child.getLeft(), child.getTop(), child.getRight(), child.getBottom());
         return success;
     }
 
     @Override
     public void removeViewInAdapterView(final View view) {
-        final Rect rect = new Rect(view.getLeft(), view.getTop(), view.getRight(), view.getBottom());
+        if (mDetachedViews.remove(view)) {
+            removeDetachedView(view, false);
+            return;
+        }
+
+        final int left = view.getLeft();
+        final int top = view.getTop();
+        final int right = view.getRight();
+        final int bottom = view.getBottom();
         removeViewInLayout(view);
-        invalidate(rect);
+        invalidate(left, top, right, bottom);
+    }
+
+    @Override
+    public void detachViewInAdapterView(final View view) {
+        detachViewFromParent(view);
+        mDetachedViews.add(view);
+        invalidate(view.getLeft(), view.getTop(), view.getRight(), view.getBottom());
+    }
+
+    @Override
+    public void attachViewInAdapterView(final View view, final int index, final LayoutParams layoutParams) {
+        if (!mDetachedViews.remove(view)) return;
+
+        final int childCount = getChildCount();
+        final int drawPosition = Math.min(index, childCount);
+        attachViewToParent(view, drawPosition, layoutParams);
+        invalidate(view.getLeft(), view.getTop(), view.getRight(), view.getBottom());
+    }
+
+    private void removeDetachedViews() {
+        for (final View view : mDetachedViews) {
+            removeDetachedView(view, false);
+        }
+        mDetachedViews.clear();
     }
 
     @Override
@@ -5,19 +5,21 @@ import android.database.DataSetObserver;
 /**
  * Created by Emir Hasanbegovic
  */
-public abstract class AdapterViewDataSetObserver extends DataSetObserver {
+public abstract class AdapterViewDataSetObserver extends DataSetObserver implements ItemRangeObserver {
 
     protected final AdapterViewManager mAdapterViewManager;
 
     public AdapterViewDataSetObserver(final AdapterViewManager adapterViewManager) {
         mAdapterViewManager = adapterViewManager;
         mAdapterViewManager.registerDataSetObserver(this);
+        mAdapterViewManager.registerItemRangeObserver(this);
     }
 
     protected abstract void onDataSetChanged();
 
     public void destroy() {
         mAdapterViewManager.unregisterDataSetObserver(this);
+        mAdapterViewManager.unregisterItemRangeObserver(this);
     }
 
     @Override
@@ -30,6 +32,26 @@ public abstract class AdapterViewDataSetObserver extends DataSetObserver {
         onDataSetChanged();
     }
 
+    @Override
+    public void onItemRangeChanged(final int positionStart, final int itemCount) {
+        onDataSetChanged();
+    }
+
+    @Override
+    public void onItemRangeInserted(final int positionStart, final int itemCount) {
+        onDataSetChanged();
+    }
+
+    @Override
+    public void onItemRangeRemoved(final int positionStart, final int itemCount) {
+        onDataSetChanged();
+    }
+
+    @Override
+    public void onItemMoved(final int fromPosition, final int toPosition) {
+        onDataSetChanged();
+    }
+
     protected AdapterViewManager getAdapterViewManager() {
         return mAdapterViewManager;
     }
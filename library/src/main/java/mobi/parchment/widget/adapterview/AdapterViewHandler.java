@@ -12,6 +12,16 @@ public interface AdapterViewHandler {
 
     public void removeViewInAdapterView(final View view);
 
+    /**
+     * Takes a view out of the drawing order while keeping its layout, see {@link android.view.ViewGroup#detachViewFromParent(View)}
+     */
+    public void detachViewInAdapterView(final View view);
+
+    /**
+     * Puts a view detached by {@link #detachViewInAdapterView(View)} back, see {@link android.view.ViewGroup#attachViewToParent(View, int, LayoutParams)}
+     */
+    public void attachViewInAdapterView(final View view, final int index, final LayoutParams layoutParams);
+
     public int getPaddingTop();
 
     public int getPaddingBottom();
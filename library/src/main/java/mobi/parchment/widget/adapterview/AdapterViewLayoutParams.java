@@ -0,0 +1,141 @@
+package mobi.parchment.widget.adapterview;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Layout params of every child of a Parchment adapter view. Besides the size requested by the child they carry the
+ * bookkeeping the layout and view managers need about it, so none of it has to be looked up in maps while scrolling.
+ */
+public class AdapterViewLayoutParams extends ViewGroup.LayoutParams {
+
+    public static final int INVALID_POSITION = -1;
+    public static final int INVALID_VIEW_TYPE = -1;
+    public static final int INVALID_MEASURE_SPEC = -1;
+    static final int INVALID_POOL_INDEX = -1;
+
+    static final int FLAG_ON_SCREEN = 1;
+    static final int FLAG_DETACHED = 1 << 1;
+    static final int FLAG_HAS_STABLE_ID = 1 << 2;
+    static final int FLAG_SCRAP = 1 << 3;
+    static final int FLAG_PREWARMED = 1 << 4;
+
+    int mPosition = INVALID_POSITION;
+    int mViewType = INVALID_VIEW_TYPE;
+    long mItemId;
+    int mWidthMeasureSpec = INVALID_MEASURE_SPEC;
+    int mHeightMeasureSpec = INVALID_MEASURE_SPEC;
+    int mGeneration;
+    int mDataVersion;
+    int mFlags;
+    int mPoolIndex = INVALID_POOL_INDEX;
+    private List<View> mViews;
+
+    public AdapterViewLayoutParams(final int width, final int height) {
+        super(width, height);
+    }
+
+    public AdapterViewLayoutParams(final Context context, final AttributeSet attributeSet) {
+        super(context, attributeSet);
+    }
+
+    public AdapterViewLayoutParams(final ViewGroup.LayoutParams layoutParams) {
+        super(layoutParams);
+    }
+
+    /**
+     * @return the layout params of the view, replacing whatever layout params the adapter gave it the first time
+     */
+    public static AdapterViewLayoutParams from(final View view) {
+        final ViewGroup.LayoutParams layoutParams = view.getLayoutParams();
+        if (layoutParams instanceof AdapterViewLayoutParams) return (AdapterViewLayoutParams) layoutParams;
+
+        final AdapterViewLayoutParams adapterViewLayoutParams;
+        if (layoutParams == null) {
+            adapterViewLayoutParams = new AdapterViewLayoutParams(WRAP_CONTENT, WRAP_CONTENT);
+        } else {
+            adapterViewLayoutParams = new AdapterViewLayoutParams(layoutParams);
+        }
+        view.setLayoutParams(adapterViewLayoutParams);
+        return adapterViewLayoutParams;
+    }
+
+    /**
+     * @return the layout params of the view if it was ever handled by an adapter view, null otherwise
+     */
+    public static AdapterViewLayoutParams peek(final View view) {
+        if (view == null) return null;
+
+        final ViewGroup.LayoutParams layoutParams = view.getLayoutParams();
+        if (layoutParams instanceof AdapterViewLayoutParams) return (AdapterViewLayoutParams) layoutParams;
+        return null;
+    }
+
+    /**
+     * @return an immutable list holding only the view, created once and kept with its layout params
+     */
+    public static List<View> singletonList(final View view) {
+        final AdapterViewLayoutParams layoutParams = from(view);
+        if (layoutParams.mViews == null || layoutParams.mViews.get(0) != view) {
+            layoutParams.mViews = Collections.singletonList(view);
+        }
+        return layoutParams.mViews;
+    }
+
+    /**
+     * @return the adapter position the view is drawn for, or {@link #INVALID_POSITION} when it is not drawn
+     */
+    public int getPosition() {
+        return mPosition;
+    }
+
+    public int getViewType() {
+        return mViewType;
+    }
+
+    public long getItemId() {
+        return mItemId;
+    }
+
+    public boolean hasStableId() {
+        return hasFlag(FLAG_HAS_STABLE_ID);
+    }
+
+    /**
+     * @return true when the view was last measured with exactly these specs
+     */
+    public boolean isMeasuredWith(final int widthMeasureSpec, final int heightMeasureSpec) {
+        return mWidthMeasureSpec == widthMeasureSpec && mHeightMeasureSpec == heightMeasureSpec;
+    }
+
+    /**
+     * Carries the bookkeeping over when the adapter replaced the layout params of a view it was handed back.
+     */
+    void copyBookkeeping(final AdapterViewLayoutParams source) {
+        mPosition = source.mPosition;
+        mViewType = source.mViewType;
+        mItemId = source.mItemId;
+        mWidthMeasureSpec = source.mWidthMeasureSpec;
+        mHeightMeasureSpec = source.mHeightMeasureSpec;
+        mGeneration = source.mGeneration;
+        mDataVersion = source.mDataVersion;
+        mFlags = source.mFlags;
+    }
+
+    boolean hasFlag(final int flag) {
+        return (mFlags & flag) != 0;
+    }
+
+    void setFlag(final int flag, final boolean isSet) {
+        if (isSet) {
+            mFlags |= flag;
+        } else {
+            mFlags &= ~flag;
+        }
+    }
+}
@@ -1,19 +1,24 @@
 package mobi.parchment.widget.adapterview;
 
 import android.database.DataSetObserver;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.SparseBooleanArray;
+import android.util.SparseIntArray;
 import android.view.View;
 import android.view.View.MeasureSpec;
 import android.view.ViewGroup;
 import android.view.ViewGroup.LayoutParams;
+import android.view.ViewParent;
 import android.widget.Adapter;
 
+import java.io.File;
 import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * Created by Emir Hasanbegovic
@@ -21,100 +26,288 @@ import java.util.Queue;
  */
 public class AdapterViewManager {
 
+    /**
+     * How long the start of a session is measured for before its warm up profile is stored.
+     */
+    public static final long WARM_UP_PROFILE_DURATION = 5000;
+
+    private static Executor sWarmUpExecutor;
+
     private final DataSetObserverManager mDataSetObserverManager = new DataSetObserverManager();
-    private final Map<View, Long> mViewIdMap = new HashMap<View, Long>();
-    private final Map<View, Integer> mViewTypeMap = new HashMap<View, Integer>();
-    private final Map<Long, View> mIdViewMap = new HashMap<Long, View>();
+    private final SparseIntArray mOnScreenCounts = new SparseIntArray();
+    private final SparseIntArray mFirstLayoutCounts = new SparseIntArray();
+    private final SparseBooleanArray mReservedViewTypes = new SparseBooleanArray();
+    private final List<MessageQueue.IdleHandler> mPrewarmIdleHandlers = new ArrayList<MessageQueue.IdleHandler>();
+    private final LongViewMap mRecycledIds = new LongViewMap();
+    private final LongViewMap mScrapIds = new LongViewMap();
     private Adapter mAdapter;
-    private Queue<View>[] mViews;
+    private int mGeneration;
+    private int mDataVersion;
+    private ViewPool mViewPool = new ViewPool();
+    private boolean mIsViewPoolShared;
+    private int mServedViewCount;
+    private int mWarmViewCount;
+    private int mFirstLayoutViewCount = -1;
+    private int mFirstLayoutWarmViewCount = -1;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private volatile int mWarmUpGeneration;
+
+    private final ViewTypePool.OnViewDroppedListener mOnViewDroppedListener = new ViewTypePool.OnViewDroppedListener() {
+        @Override
+        public void onViewDropped(final View view) {
+            mRecycledIds.removeView(view);
+        }
+    };
 
     public void recycle(final View removedView) {
-        if (mAdapter.hasStableIds()) {
-            final Long id = mViewIdMap.remove(removedView);
-            mIdViewMap.put(id, removedView);
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.peek(removedView);
+        if (!isOnScreen(layoutParams)) return;
+
+        setOffScreen(layoutParams);
+        putInPool(removedView, layoutParams);
+    }
+
+    /**
+     * Takes a view detached by a data set change off screen without pooling it. Only this manager hands it back, for
+     * its id, until {@link #recycleScrap} pools it, a shared pool could otherwise give the view, still a child of this
+     * adapter view, to another one.
+     */
+    public void scrap(final View scrapView) {
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.peek(scrapView);
+        if (!isOnScreen(layoutParams)) return;
+
+        setOffScreen(layoutParams);
+        mScrapIds.put(layoutParams.mItemId, scrapView);
+    }
+
+    /**
+     * Pools a scrapped view that layout did not take back, once it was removed from the view group.
+     */
+    public void recycleScrap(final View scrapView) {
+        mScrapIds.removeView(scrapView);
+
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.peek(scrapView);
+        if (layoutParams == null || layoutParams.mGeneration != mGeneration) return;
+        putInPool(scrapView, layoutParams);
+    }
+
+    private void setOffScreen(final AdapterViewLayoutParams layoutParams) {
+        final int type = layoutParams.mViewType;
+        layoutParams.setFlag(AdapterViewLayoutParams.FLAG_ON_SCREEN, false);
+        mOnScreenCounts.put(type, mOnScreenCounts.get(type) - 1);
+        mViewPool.getPool(type).onViewOffScreen();
+    }
+
+    private void putInPool(final View view, final AdapterViewLayoutParams layoutParams) {
+        final boolean isPooled = mViewPool.getPool(layoutParams.mViewType).put(view);
+        if (isPooled && layoutParams.hasStableId()) {
+            mRecycledIds.put(layoutParams.mItemId, view);
         }
+    }
 
-        final Integer type = mViewTypeMap.remove(removedView);
-        final Queue<View> views = mViews[type];
-        views.add(removedView);
+    /**
+     * @return true when the view was handed out by this manager for its current adapter and was not recycled since
+     */
+    private boolean isOnScreen(final AdapterViewLayoutParams layoutParams) {
+        if (layoutParams == null) return false;
+        return layoutParams.hasFlag(AdapterViewLayoutParams.FLAG_ON_SCREEN) && layoutParams.mGeneration == mGeneration;
     }
 
     public View getView(final ViewGroup viewGroup, final int position, final int horizontalMeasureSpec, final int verticalMeasureSpec) {
-        final int type = mAdapter.getItemViewType(position);
+        final int type = getPoolViewType(position);
         final long id = mAdapter.getItemId(position);
 
         final View view = getView(viewGroup, position, type, id, horizontalMeasureSpec, verticalMeasureSpec);
         registerViewIsOnScreen(id, type, view);
+        mServedViewCount++;
 
         return view;
     }
 
     private void registerViewIsOnScreen(final long id, final int type, final View view) {
-        if (mAdapter.hasStableIds()) {
-            mViewIdMap.put(view, id);
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.from(view);
+        if (isOnScreen(layoutParams)) return;
+
+        layoutParams.mViewType = type;
+        layoutParams.mItemId = id;
+        layoutParams.mGeneration = mGeneration;
+        layoutParams.setFlag(AdapterViewLayoutParams.FLAG_HAS_STABLE_ID, mAdapter.hasStableIds());
+        layoutParams.setFlag(AdapterViewLayoutParams.FLAG_ON_SCREEN, true);
+
+        mOnScreenCounts.put(type, mOnScreenCounts.get(type) + 1);
+        mViewPool.getPool(type).onViewOnScreen();
+    }
+
+    /**
+     * @return the key of the pool the view of the position is recycled into
+     */
+    private int getPoolViewType(final int position) {
+        if (mAdapter instanceof ViewPool.GlobalViewTypeAdapter) {
+            final ViewPool.GlobalViewTypeAdapter globalViewTypeAdapter = (ViewPool.GlobalViewTypeAdapter) mAdapter;
+            return globalViewTypeAdapter.getGlobalViewType(position);
         }
-        mViewTypeMap.put(view, type);
+        return mAdapter.getItemViewType(position);
     }
 
+    /**
+     * A view recycled for the same stable id is handed back as is, or as convertView when the data changed since it
+     * was bound.
+     */
     private View getView(final ViewGroup viewGroup, final int position, final int type, final long id, final int horizontalMeasureSpec, final int verticalMeasureSpec) {
-        if (mAdapter.hasStableIds() && mIdViewMap.containsKey(id)) {
-            final View view = mIdViewMap.remove(id);
-            final Queue<View> views = mViews[type];
-            views.remove(view);
-
-            return view;
+        final ViewTypePool pool = mViewPool.getPool(type);
+        View convertView = null;
+        if (mAdapter.hasStableIds()) {
+            final View scrapView = getScrapView(id, type);
+            if (scrapView != null) convertView = scrapView;
+
+            final View recycledView = scrapView != null ? null : mRecycledIds.remove(id);
+            // a shared pool may have handed the view to another adapter view in the meantime
+            if (recycledView != null && pool.remove(recycledView)) {
+                if (isBoundToCurrentData(recycledView)) {
+                    measureIfNeeded(viewGroup, recycledView, horizontalMeasureSpec, verticalMeasureSpec);
+                    return recycledView;
+                }
+                convertView = recycledView;
+            }
         }
 
-        final Queue<View> views = mViews[type];
-        final View convertView = views.poll();
-        final View view = mAdapter.getView(position, convertView, viewGroup);
+        if (convertView == null) {
+            convertView = pool.poll();
+            detachFromPreviousParent(viewGroup, convertView);
+        }
+        final boolean isPrewarmed = isPrewarmed(convertView);
+        final View view = bindView(viewGroup, position, convertView);
+        if (isPrewarmed) {
+            AdapterViewLayoutParams.from(convertView).setFlag(AdapterViewLayoutParams.FLAG_PREWARMED, false);
+            if (view == convertView) mWarmViewCount++;
+        }
         final boolean isRecycled =  view == convertView;
-        if (!isRecycled || view.isLayoutRequested()){
+        if (isRecycled) {
+            measureIfNeeded(viewGroup, view, horizontalMeasureSpec, verticalMeasureSpec);
+        } else {
             measureView(viewGroup, view, horizontalMeasureSpec, verticalMeasureSpec);
         }
 
-        if (mAdapter.hasStableIds()) {
-            remove(mIdViewMap, convertView);
-            remove(mViewIdMap, id);
+        if (mAdapter.hasStableIds() && convertView != null) {
+            mRecycledIds.removeView(convertView);
         }
         return view;
     }
 
-    private <KEY, VALUE> void remove(final Map<KEY, VALUE> map, final VALUE value) {
-        if (map == null || value == null) return;
+    /**
+     * @return the view scrapped for the id when it still has the view type of the id
+     */
+    private View getScrapView(final long id, final int type) {
+        final View scrapView = mScrapIds.get(id);
+        if (scrapView == null || AdapterViewLayoutParams.from(scrapView).mViewType != type) return null;
 
-        if (map.containsValue(value)) {
-            final KEY key = getKeyForValue(map, value);
-            if (key != null) {
-                map.remove(key);
-            }
+        mScrapIds.remove(id);
+        return scrapView;
+    }
+
+    /**
+     * Binds a view on screen to the item now at the position, as if it had been recycled and handed back right away.
+     *
+     * @return false when the item needs a view of another type or the adapter did not reuse the view, the caller then
+     * has to lay the item out from scratch
+     */
+    public boolean rebindView(final ViewGroup viewGroup, final View view, final int position) {
+        final AdapterViewLayoutParams viewLayoutParams = AdapterViewLayoutParams.peek(view);
+        if (!isOnScreen(viewLayoutParams)) return false;
+        if (getPoolViewType(position) != viewLayoutParams.mViewType) return false;
+
+        final View boundView = bindView(viewGroup, position, view);
+        if (boundView != view) return false;
+
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.from(view);
+        layoutParams.mItemId = mAdapter.getItemId(position);
+        final boolean isMeasured = layoutParams.mWidthMeasureSpec != AdapterViewLayoutParams.INVALID_MEASURE_SPEC;
+        if (isMeasured && view.isLayoutRequested()) {
+            measureView(viewGroup, view, layoutParams.mWidthMeasureSpec, layoutParams.mHeightMeasureSpec);
         }
+        return true;
     }
 
-    private <KEY, VALUE> KEY getKeyForValue(final Map<KEY, VALUE> map, final VALUE value) {
-        if (value == null) {
-            return null;
+    /**
+     * Lets the adapter bind the item to the convert view, keeping the bookkeeping of the convert view should the
+     * adapter replace its layout params.
+     */
+    private View bindView(final ViewGroup viewGroup, final int position, final View convertView) {
+        final AdapterViewLayoutParams convertLayoutParams = AdapterViewLayoutParams.peek(convertView);
+        final View view = mAdapter.getView(position, convertView, viewGroup);
+
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.from(view);
+        if (view == convertView && convertLayoutParams != null && layoutParams != convertLayoutParams) {
+            layoutParams.copyBookkeeping(convertLayoutParams);
         }
+        layoutParams.mDataVersion = mDataVersion;
+        return view;
+    }
 
-        for (final KEY key : map.keySet()) {
-            final VALUE valueToReset = map.get(key);
-            if (value == valueToReset) {
-                return key;
-            }
+    private boolean isBoundToCurrentData(final View view) {
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.peek(view);
+        return layoutParams != null && layoutParams.mDataVersion == mDataVersion;
+    }
+
+    /**
+     * Views recycled for a stable id are bound again before they are reused for that id.
+     */
+    public void invalidateRecycledViews() {
+        mDataVersion++;
+    }
+
+    public boolean hasStableIds() {
+        return mAdapter != null && mAdapter.hasStableIds();
+    }
+
+    /**
+     * @param maxDistance how far from the position it was last seen at the item can have moved
+     * @return the position of the item with the id, searched outwards from the position it was last seen at, or
+     * {@link AdapterViewLayoutParams#INVALID_POSITION} when the adapter does not have it that close
+     */
+    public int findPosition(final long id, final int lastPosition, final int maxDistance) {
+        final int adapterCount = getAdapterCount();
+        final int start = Math.max(Math.min(lastPosition, adapterCount - 1), 0);
+        final int distanceCount = Math.min(adapterCount, maxDistance + 1);
+        for (int distance = 0; distance < distanceCount; distance++) {
+            final int after = start + distance;
+            final int before = start - distance;
+            if (after >= adapterCount && before < 0) break;
+            if (after < adapterCount && mAdapter.getItemId(after) == id) return after;
+            if (distance > 0 && before >= 0 && mAdapter.getItemId(before) == id) return before;
         }
+        return AdapterViewLayoutParams.INVALID_POSITION;
+    }
 
-        return null;
+    /**
+     * A recycled view keeps its measurement unless it asked for a layout or is offered different measure specs.
+     */
+    private void measureIfNeeded(final ViewGroup viewGroup, final View view, final int horizontalMeasureSpec, final int verticalMeasureSpec) {
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.from(view);
+        if (view.isLayoutRequested() || !layoutParams.isMeasuredWith(horizontalMeasureSpec, verticalMeasureSpec)) {
+            measureView(viewGroup, view, horizontalMeasureSpec, verticalMeasureSpec);
+        }
     }
 
-    public LayoutParams measureView(final ViewGroup viewGroup, final View view, final int horizontalMeasureSpec, final int verticalMeasureSpec) {
-        LayoutParams layoutParams = view.getLayoutParams();
+    /**
+     * Views taken from a shared pool may still belong to the adapter view that recycled them.
+     */
+    private void detachFromPreviousParent(final ViewGroup viewGroup, final View view) {
+        if (view == null) return;
 
-        if (layoutParams == null) {
-            layoutParams = new LayoutParams(horizontalMeasureSpec, verticalMeasureSpec);
-            view.setLayoutParams(layoutParams);
+        final ViewParent parent = view.getParent();
+        if (parent instanceof ViewGroup && parent != viewGroup) {
+            final ViewGroup previousParent = (ViewGroup) parent;
+            previousParent.removeViewInLayout(view);
         }
+    }
+
+    public LayoutParams measureView(final ViewGroup viewGroup, final View view, final int horizontalMeasureSpec, final int verticalMeasureSpec) {
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.from(view);
 
         view.measure(horizontalMeasureSpec, verticalMeasureSpec);
+        layoutParams.mWidthMeasureSpec = horizontalMeasureSpec;
+        layoutParams.mHeightMeasureSpec = verticalMeasureSpec;
 
         return layoutParams;
     }
@@ -124,22 +317,322 @@ public class AdapterViewManager {
         return mAdapter.getCount();
     }
 
+    public int getItemViewType(final int position) {
+        if (mAdapter == null) return 0;
+        return mAdapter.getItemViewType(position);
+    }
+
+    public int getViewTypeCount() {
+        if (mAdapter == null) return 0;
+        return mAdapter.getViewTypeCount();
+    }
+
     public boolean isEmpty() {
         return getAdapterCount() == 0;
     }
 
+    /**
+     * Views recycled for a previous adapter are dropped, views prewarmed before the first adapter are kept for it.
+     */
     public void setAdapter(final Adapter adapter) {
+        final boolean hadAdapter = mAdapter != null;
         mDataSetObserverManager.setAdapter(adapter);
         mAdapter = adapter;
 
-        final int typeCount = adapter.getViewTypeCount();
+        releaseOnScreenViews();
+        if (!mIsViewPoolShared && hadAdapter) mViewPool.clear(null);
 
-        mViews = new Queue[typeCount];
-        for (int index = 0; index < typeCount; index++)
-            mViews[index] = new LinkedList<View>();
+        mRecycledIds.clear();
+        mScrapIds.clear();
+        mServedViewCount = 0;
+        mWarmViewCount = 0;
+        mFirstLayoutViewCount = -1;
+        mFirstLayoutWarmViewCount = -1;
+        mFirstLayoutCounts.clear();
+    }
 
-        mViewTypeMap.clear();
+    /**
+     * Creates views of the pool view type one at a time whenever the main thread is idle and puts them in the pool,
+     * so the first layout binds them instead of inflating. Has to be called on the main thread, ideally before the
+     * adapter is set.
+     */
+    public void prewarm(final ViewGroup parent, final int viewType, final int count, final ViewFactory viewFactory) {
+        if (count <= 0) return;
+        reservePoolSize(viewType, count);
+
+        final MessageQueue.IdleHandler idleHandler = new MessageQueue.IdleHandler() {
+            private int mRemaining = count;
+
+            @Override
+            public boolean queueIdle() {
+                addPrewarmedView(viewType, viewFactory.createView(parent, viewType));
+                mRemaining--;
+                if (mRemaining > 0) return true;
+
+                mPrewarmIdleHandlers.remove(this);
+                return false;
+            }
+        };
+        mPrewarmIdleHandlers.add(idleHandler);
+        Looper.myQueue().addIdleHandler(idleHandler);
+    }
 
+    /**
+     * Creates the views on the executor instead, for layouts that can be inflated off the main thread: their views
+     * must not touch the view hierarchy or create handlers while being constructed. The views are put in the pool on
+     * the main thread as soon as each one is ready.
+     */
+    public void prewarm(final ViewGroup parent, final int viewType, final int count, final ViewFactory viewFactory, final Executor executor) {
+        if (count <= 0) return;
+        reservePoolSize(viewType, count);
+
+        final int warmUpGeneration = mWarmUpGeneration;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (int index = 0; index < count && warmUpGeneration == mWarmUpGeneration; index++) {
+                    final View view = viewFactory.createView(parent, viewType);
+                    mMainHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            addPrewarmedView(viewType, view);
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    /**
+     * The reservation only lasts until the first layout, see {@link #onLayoutCompleted()}.
+     */
+    private void reservePoolSize(final int viewType, final int count) {
+        final ViewTypePool pool = mViewPool.getPool(viewType);
+        pool.reserve(pool.size() + count);
+        mReservedViewTypes.put(viewType, true);
+    }
+
+    private void releasePoolReservations() {
+        for (int index = 0; index < mReservedViewTypes.size(); index++) {
+            final ViewTypePool pool = mViewPool.getPool(mReservedViewTypes.keyAt(index));
+            pool.releaseReservation(mOnViewDroppedListener);
+        }
+        mReservedViewTypes.clear();
+    }
+
+    private void addPrewarmedView(final int viewType, final View view) {
+        if (view == null) return;
+
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.from(view);
+        layoutParams.mViewType = viewType;
+        layoutParams.setFlag(AdapterViewLayoutParams.FLAG_PREWARMED, true);
+        mViewPool.getPool(viewType).put(view);
+    }
+
+    private static boolean isPrewarmed(final View view) {
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.peek(view);
+        return layoutParams != null && layoutParams.hasFlag(AdapterViewLayoutParams.FLAG_PREWARMED);
+    }
+
+    /**
+     * Records how many views the first layout since the adapter was set needed, and how many of them were prewarmed.
+     * The pools stop keeping room for prewarmed views from then on.
+     */
+    void onLayoutCompleted() {
+        if (mFirstLayoutViewCount != -1 || mServedViewCount == 0) return;
+        mFirstLayoutViewCount = mServedViewCount;
+        mFirstLayoutWarmViewCount = mWarmViewCount;
+        for (int index = 0; index < mOnScreenCounts.size(); index++) {
+            mFirstLayoutCounts.put(mOnScreenCounts.keyAt(index), mOnScreenCounts.valueAt(index));
+        }
+        releasePoolReservations();
+    }
+
+    /**
+     * @return what the current adapter needed so far per pool view type, or null before its first layout
+     */
+    public WarmUpProfile getWarmUpProfile() {
+        if (mFirstLayoutViewCount == -1) return null;
+
+        final WarmUpProfile warmUpProfile = new WarmUpProfile();
+        for (int index = 0; index < mOnScreenCounts.size(); index++) {
+            final int viewType = mOnScreenCounts.keyAt(index);
+            warmUpProfile.put(viewType, mViewPool.getPeakOnScreenCount(viewType), mFirstLayoutCounts.get(viewType));
+        }
+        return warmUpProfile;
+    }
+
+    /**
+     * Prewarms as many views of every view type of the profile as it says are needed, less the ones already in the
+     * pool.
+     */
+    public void prewarm(final ViewGroup parent, final WarmUpProfile warmUpProfile, final ViewFactory viewFactory) {
+        for (int index = 0; index < warmUpProfile.size(); index++) {
+            final int viewType = warmUpProfile.getViewTypeAt(index);
+            final int count = warmUpProfile.getWarmUpCount(viewType) - mViewPool.size(viewType);
+            prewarm(parent, viewType, count, viewFactory);
+        }
+    }
+
+    /**
+     * Warms the pool up on a background thread shared by every adapter view, see
+     * {@link #warmUp(ViewGroup, File, ViewFactory, Executor)}.
+     */
+    public void warmUp(final ViewGroup parent, final File file, final ViewFactory viewFactory) {
+        warmUp(parent, file, viewFactory, getWarmUpExecutor());
+    }
+
+    /**
+     * Warms the pool up from the profile stored in the file by a previous session, then stores the profile of this
+     * session in its place once it ran for {@link #WARM_UP_PROFILE_DURATION}. The file is read and written on the
+     * executor, the views are prewarmed on the main thread once the profile was read. Has to be called on the main
+     * thread, before the adapter is set.
+     */
+    public void warmUp(final ViewGroup parent, final File file, final ViewFactory viewFactory, final Executor executor) {
+        final int warmUpGeneration = mWarmUpGeneration;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (warmUpGeneration != mWarmUpGeneration) return;
+
+                final WarmUpProfile warmUpProfile = WarmUpProfile.read(file);
+                if (warmUpProfile == null) return;
+
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (warmUpGeneration != mWarmUpGeneration) return;
+                        prewarm(parent, warmUpProfile, viewFactory);
+                    }
+                });
+            }
+        });
+
+        mMainHandler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                final WarmUpProfile warmUpProfile = getWarmUpProfile();
+                // a session that never laid out the adapter keeps the previous profile
+                if (warmUpProfile == null) return;
+
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (warmUpGeneration != mWarmUpGeneration) return;
+                        warmUpProfile.write(file);
+                    }
+                });
+            }
+        }, WARM_UP_PROFILE_DURATION);
+    }
+
+    /**
+     * Drops the prewarmed views not created yet and the profile reads and writes {@link #warmUp} has not done yet,
+     * called once the adapter view is detached from its window.
+     */
+    public void cancelWarmUp() {
+        mWarmUpGeneration++;
+        mMainHandler.removeCallbacksAndMessages(null);
+
+        final MessageQueue messageQueue = Looper.myQueue();
+        for (int index = 0; index < mPrewarmIdleHandlers.size(); index++) {
+            messageQueue.removeIdleHandler(mPrewarmIdleHandlers.get(index));
+        }
+        mPrewarmIdleHandlers.clear();
+    }
+
+    private static synchronized Executor getWarmUpExecutor() {
+        if (sWarmUpExecutor == null) sWarmUpExecutor = Executors.newSingleThreadExecutor();
+        return sWarmUpExecutor;
+    }
+
+    /**
+     * @return the number of views the first layout took from the adapter, -1 before it happened
+     */
+    public int getFirstLayoutViewCount() {
+        return mFirstLayoutViewCount;
+    }
+
+    /**
+     * @return the number of views of the first layout that were bound to prewarmed views instead of inflated, -1
+     * before it happened
+     */
+    public int getFirstLayoutWarmViewCount() {
+        return mFirstLayoutWarmViewCount;
+    }
+
+    /**
+     * Recycles views into the given pool from now on, passing null goes back to a private pool. Adapter views sharing a
+     * pool should use adapters implementing {@link ViewPool.GlobalViewTypeAdapter}, otherwise the item view types of
+     * their adapters have to mean the same layouts.
+     */
+    public void setViewPool(final ViewPool viewPool) {
+        final ViewPool previousViewPool = mViewPool;
+        mIsViewPoolShared = viewPool != null;
+        mViewPool = viewPool == null ? new ViewPool() : viewPool;
+
+        for (int index = 0; index < mOnScreenCounts.size(); index++) {
+            final int type = mOnScreenCounts.keyAt(index);
+            final int onScreenCount = mOnScreenCounts.valueAt(index);
+            for (int count = 0; count < onScreenCount; count++) {
+                previousViewPool.getPool(type).onViewOffScreen();
+                mViewPool.getPool(type).onViewOnScreen();
+            }
+        }
+        mRecycledIds.clear();
+    }
+
+    public ViewPool getViewPool() {
+        return mViewPool;
+    }
+
+    /**
+     * Views handed out for the previous adapter are no longer recycled, their layout params belong to an older
+     * generation.
+     */
+    private void releaseOnScreenViews() {
+        for (int index = 0; index < mOnScreenCounts.size(); index++) {
+            final int type = mOnScreenCounts.keyAt(index);
+            final int onScreenCount = mOnScreenCounts.valueAt(index);
+            for (int count = 0; count < onScreenCount; count++) {
+                mViewPool.getPool(type).onViewOffScreen();
+            }
+        }
+        mOnScreenCounts.clear();
+        mGeneration++;
+    }
+
+    /**
+     * @param maxPoolSize the largest number of recycled views kept for the view type, or
+     *                    {@link ViewTypePool#AUTO_MAX_SIZE} to keep as many as were ever on screen at once
+     */
+    public void setMaxPoolSize(final int viewType, final int maxPoolSize) {
+        mViewPool.setMaxSize(viewType, maxPoolSize, mOnViewDroppedListener);
+    }
+
+    public int getMaxPoolSize(final int viewType) {
+        return mViewPool.getMaxSize(viewType);
+    }
+
+    /**
+     * @return the number of recycled views currently waiting in the pool of the view type
+     */
+    public int getPoolSize(final int viewType) {
+        return mViewPool.size(viewType);
+    }
+
+    /**
+     * @return the largest number of views of the view type that were on screen at once
+     */
+    public int getPeakOnScreenCount(final int viewType) {
+        return mViewPool.getPeakOnScreenCount(viewType);
+    }
+
+    /**
+     * Releases recycled views for one of the {@link android.content.ComponentCallbacks2#onTrimMemory} levels.
+     */
+    public void trimPools(final int level) {
+        mViewPool.trim(level, mOnViewDroppedListener);
     }
 
     public void registerDataSetObserver(final DataSetObserver dataSetObserver) {
@@ -150,5 +643,13 @@ public class AdapterViewManager {
         mDataSetObserverManager.unregisterDataSetObserver(dataSetObserver);
     }
 
+    public void registerItemRangeObserver(final ItemRangeObserver itemRangeObserver) {
+        mDataSetObserverManager.registerItemRangeObserver(itemRangeObserver);
+    }
+
+    public void unregisterItemRangeObserver(final ItemRangeObserver itemRangeObserver) {
+        mDataSetObserverManager.unregisterItemRangeObserver(itemRangeObserver);
+    }
+
 
 }
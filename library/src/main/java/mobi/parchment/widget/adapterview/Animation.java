@@ -21,6 +21,10 @@ public class Animation {
 		mDisplacement = displacemente;
 	}
 
+	void addDisplacement(final int displacement) {
+		mDisplacement += displacement;
+	}
+
 	public int getDisplacement() {
 		return mDisplacement;
 	}
@@ -20,6 +20,12 @@ public class Attributes {
         private static final boolean SELECT_ON_SNAP = false;
         private static final SnapPosition SNAP_POSITION = SnapPosition.center;
         private static final boolean SELECT_WHILE_SCROLLING = false;
+        private static final int PREFETCH_DISTANCE = 0;
+        private static final int EXTENDED_VIEWPORT_SIZE = 0;
+        private static final int EXTENDED_VIEWPORT_CELLS = 0;
+        private static final boolean HAS_FIXED_CELL_SIZE = false;
+        private static final boolean PREDICTIVE_SNAP = false;
+        private static final boolean TOUCH_RESAMPLING = false;
 
     }
 
@@ -31,6 +37,12 @@ public class Attributes {
     private boolean mSelectOnSnap;
     private boolean mIsVertical;
     private boolean mSelectWhileScrolling;
+    private int mPrefetchDistance;
+    private int mExtendedViewportSize;
+    private int mExtendedViewportCells;
+    private boolean mHasFixedCellSize;
+    private boolean mPredictiveSnap;
+    private boolean mTouchResampling;
 
     private boolean mIsViewPager;
     private int mViewPagerInterval;
@@ -56,6 +68,12 @@ public class Attributes {
                 mCellSpacing = typedArray.getDimensionPixelSize(R.styleable.ListView_cellSpacing, DefaultValues.CELL_SPACING);
                 mSelectOnSnap = typedArray.getBoolean(R.styleable.ListView_selectOnSnap, DefaultValues.SELECT_ON_SNAP);
                 mSelectWhileScrolling = typedArray.getBoolean(R.styleable.ListView_selectWhileScrolling, DefaultValues.SELECT_WHILE_SCROLLING);
+                mPrefetchDistance = Math.max(typedArray.getInteger(R.styleable.ListView_prefetchDistance, DefaultValues.PREFETCH_DISTANCE), 0);
+                mExtendedViewportSize = Math.max(typedArray.getDimensionPixelSize(R.styleable.ListView_extendedViewportSize, DefaultValues.EXTENDED_VIEWPORT_SIZE), 0);
+                mExtendedViewportCells = Math.max(typedArray.getInteger(R.styleable.ListView_extendedViewportCells, DefaultValues.EXTENDED_VIEWPORT_CELLS), 0);
+                mHasFixedCellSize = typedArray.getBoolean(R.styleable.ListView_hasFixedCellSize, DefaultValues.HAS_FIXED_CELL_SIZE);
+                mPredictiveSnap = typedArray.getBoolean(R.styleable.ListView_predictiveSnap, DefaultValues.PREDICTIVE_SNAP);
+                mTouchResampling = typedArray.getBoolean(R.styleable.ListView_touchResampling, DefaultValues.TOUCH_RESAMPLING);
 
                 final int orientationOrdinal = typedArray.getInteger(R.styleable.ListView_orientation, DefaultValues.ORIENTATION.ordinal());
                 final Orientation[] orientationValues = Orientation.values();
@@ -79,6 +97,12 @@ public class Attributes {
             mCellSpacing = DefaultValues.CELL_SPACING;
             mSelectOnSnap = DefaultValues.SELECT_ON_SNAP;
             mSelectWhileScrolling = DefaultValues.SELECT_WHILE_SCROLLING;
+            mPrefetchDistance = DefaultValues.PREFETCH_DISTANCE;
+            mExtendedViewportSize = DefaultValues.EXTENDED_VIEWPORT_SIZE;
+            mExtendedViewportCells = DefaultValues.EXTENDED_VIEWPORT_CELLS;
+            mHasFixedCellSize = DefaultValues.HAS_FIXED_CELL_SIZE;
+            mPredictiveSnap = DefaultValues.PREDICTIVE_SNAP;
+            mTouchResampling = DefaultValues.TOUCH_RESAMPLING;
             mOrientation = DefaultValues.ORIENTATION;
         }
 
@@ -122,6 +146,30 @@ public class Attributes {
         return mSelectWhileScrolling;
     }
 
+    public int getPrefetchDistance() {
+        return mPrefetchDistance;
+    }
+
+    public int getExtendedViewportSize() {
+        return mExtendedViewportSize;
+    }
+
+    public int getExtendedViewportCells() {
+        return mExtendedViewportCells;
+    }
+
+    public boolean hasFixedCellSize() {
+        return mHasFixedCellSize;
+    }
+
+    public boolean isPredictiveSnap() {
+        return mPredictiveSnap;
+    }
+
+    public boolean isTouchResampling() {
+        return mTouchResampling;
+    }
+
     protected void setIsVertical(final boolean isVertical) {
         mIsVertical = isVertical;
     }
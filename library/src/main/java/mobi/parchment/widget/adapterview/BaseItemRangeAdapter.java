@@ -0,0 +1,62 @@
+package mobi.parchment.widget.adapterview;
+
+import android.widget.BaseAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base adapter with range notifications, {@link #notifyDataSetChanged()} keeps working for changes that cannot be
+ * described as ranges.
+ */
+public abstract class BaseItemRangeAdapter extends BaseAdapter implements ItemRangeAdapter {
+
+    private final List<ItemRangeObserver> mItemRangeObservers = new ArrayList<ItemRangeObserver>();
+
+    @Override
+    public void registerItemRangeObserver(final ItemRangeObserver itemRangeObserver) {
+        if (mItemRangeObservers.contains(itemRangeObserver)) return;
+        mItemRangeObservers.add(itemRangeObserver);
+    }
+
+    @Override
+    public void unregisterItemRangeObserver(final ItemRangeObserver itemRangeObserver) {
+        mItemRangeObservers.remove(itemRangeObserver);
+    }
+
+    public void notifyItemChanged(final int position) {
+        notifyItemRangeChanged(position, 1);
+    }
+
+    public void notifyItemRangeChanged(final int positionStart, final int itemCount) {
+        for (int index = mItemRangeObservers.size() - 1; index >= 0; index--) {
+            mItemRangeObservers.get(index).onItemRangeChanged(positionStart, itemCount);
+        }
+    }
+
+    public void notifyItemInserted(final int position) {
+        notifyItemRangeInserted(position, 1);
+    }
+
+    public void notifyItemRangeInserted(final int positionStart, final int itemCount) {
+        for (int index = mItemRangeObservers.size() - 1; index >= 0; index--) {
+            mItemRangeObservers.get(index).onItemRangeInserted(positionStart, itemCount);
+        }
+    }
+
+    public void notifyItemRemoved(final int position) {
+        notifyItemRangeRemoved(position, 1);
+    }
+
+    public void notifyItemRangeRemoved(final int positionStart, final int itemCount) {
+        for (int index = mItemRangeObservers.size() - 1; index >= 0; index--) {
+            mItemRangeObservers.get(index).onItemRangeRemoved(positionStart, itemCount);
+        }
+    }
+
+    public void notifyItemMoved(final int fromPosition, final int toPosition) {
+        for (int index = mItemRangeObservers.size() - 1; index >= 0; index--) {
+            mItemRangeObservers.get(index).onItemMoved(fromPosition, toPosition);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package mobi.parchment.widget.adapterview;
+
+/**
+ * Running average of how long building a cell took, per view type of the cell's first item. The prefetch only starts
+ * a cell it expects to finish before the next frame.
+ */
+public class CellCreationCosts {
+
+    private long[] mAverageNanos = new long[1];
+
+    /**
+     * @return zero while no cell of the view type was built
+     */
+    public long getAverageNanos(final int viewType) {
+        if (viewType < 0 || viewType >= mAverageNanos.length) return 0;
+        return mAverageNanos[viewType];
+    }
+
+    /**
+     * A new cost weighs a quarter of the average, so a view type that became cheaper once its views were pooled is
+     * trusted again after a few cells.
+     */
+    public void add(final int viewType, final long nanos) {
+        if (viewType < 0) return;
+        if (viewType >= mAverageNanos.length) {
+            final long[] averageNanos = new long[viewType + 1];
+            System.arraycopy(mAverageNanos, 0, averageNanos, 0, mAverageNanos.length);
+            mAverageNanos = averageNanos;
+        }
+
+        final long averageNanos = mAverageNanos[viewType];
+        mAverageNanos[viewType] = averageNanos == 0 ? nanos : (3 * averageNanos + nanos) / 4;
+    }
+
+    /**
+     * @return true when a cell of the view type started now is expected to be built before the deadline
+     */
+    public boolean fits(final int viewType, final long nowNanos, final long deadlineNanos) {
+        return nowNanos + getAverageNanos(viewType) < deadlineNanos;
+    }
+}
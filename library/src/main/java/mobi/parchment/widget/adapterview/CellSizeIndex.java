@@ -0,0 +1,381 @@
+package mobi.parchment.widget.adapterview;
+
+import java.util.Arrays;
+
+/**
+ * Remembers the size of every cell that has been laid out and keeps prefix sums over them in Fenwick trees, so the
+ * pixel offset of a cell and the cell at a pixel offset can be answered in O(log n) for any cell position.
+ * Cells that were never measured are estimated with the average size of the measured cells of their view type, when
+ * their view type is known, and with the average of all measured cells otherwise. Per view type a tree counts the
+ * unmeasured cells of that type. Inserting or removing cells keeps the sizes of the other cells and rebuilds the trees
+ * in O(n).
+ */
+public class CellSizeIndex {
+
+    private static final int UNMEASURED = -1;
+    private static final int UNKNOWN_VIEW_TYPE = -1;
+
+    /**
+     * Gives the view type of a cell before it is measured, see {@link #reset(int, CellViewTypes)}.
+     */
+    public interface CellViewTypes {
+        int getViewType(int cellPosition);
+    }
+
+    private int mCellCount;
+    private int[] mSizes = new int[0];
+    private int[] mTypes = new int[0];
+    private long[] mSizeTree = new long[1];
+    private int[] mCountTree = new int[1];
+    private int[][] mUnmeasuredTypeTrees = new int[0][];
+
+    private long mMeasuredSizeTotal;
+    private int mMeasuredCount;
+    private long[] mTypeSizeTotals = new long[0];
+    private int[] mTypeCounts = new int[0];
+
+    /**
+     * Forgets every measured size and sizes the index for the given number of cells.
+     */
+    public void reset(final int cellCount) {
+        mCellCount = Math.max(cellCount, 0);
+        if (mSizes.length < mCellCount) {
+            mSizes = new int[mCellCount];
+            mTypes = new int[mCellCount];
+            mSizeTree = new long[mCellCount + 1];
+            mCountTree = new int[mCellCount + 1];
+            resizeTypeTrees(mCellCount + 1);
+        } else {
+            Arrays.fill(mSizeTree, 0L);
+            Arrays.fill(mCountTree, 0);
+            clearTypeTrees();
+        }
+        Arrays.fill(mSizes, UNMEASURED);
+        Arrays.fill(mTypes, UNKNOWN_VIEW_TYPE);
+
+        mMeasuredSizeTotal = 0;
+        mMeasuredCount = 0;
+        Arrays.fill(mTypeSizeTotals, 0L);
+        Arrays.fill(mTypeCounts, 0);
+    }
+
+    /**
+     * Forgets every measured size and takes the view types of all cells, so unmeasured cells are estimated per type.
+     * Costs one call per cell.
+     */
+    public void reset(final int cellCount, final CellViewTypes cellViewTypes) {
+        reset(cellCount);
+        for (int index = 0; index < mCellCount; index++) {
+            mTypes[index] = cellViewTypes.getViewType(index);
+        }
+        rebuildTrees();
+    }
+
+    public int getCellCount() {
+        return mCellCount;
+    }
+
+    /**
+     * Sets the view type an unmeasured cell is estimated with, measured cells keep the type they were measured with.
+     */
+    public void setViewType(final int cellPosition, final int viewType) {
+        if (cellPosition < 0 || cellPosition >= mCellCount || isMeasured(cellPosition)) return;
+
+        final int oldViewType = mTypes[cellPosition];
+        if (oldViewType == viewType) return;
+
+        updateTypeTree(oldViewType, cellPosition, -1);
+        updateTypeTree(viewType, cellPosition, 1);
+        mTypes[cellPosition] = viewType;
+    }
+
+    /**
+     * Stores the measured size of a cell, does nothing when the size is already known.
+     */
+    public void record(final int cellPosition, final int viewType, final int size) {
+        if (cellPosition < 0 || cellPosition >= mCellCount || size < 0) return;
+
+        final int oldSize = mSizes[cellPosition];
+        if (oldSize == size && mTypes[cellPosition] == viewType) return;
+
+        if (oldSize == UNMEASURED) {
+            update(cellPosition, size, 1);
+            updateTypeTree(mTypes[cellPosition], cellPosition, -1);
+            mMeasuredCount++;
+        } else {
+            update(cellPosition, size - oldSize, 0);
+            addToType(mTypes[cellPosition], -oldSize, -1);
+        }
+
+        mMeasuredSizeTotal += size - Math.max(oldSize, 0);
+        mSizes[cellPosition] = size;
+        mTypes[cellPosition] = viewType;
+        addToType(viewType, size, 1);
+    }
+
+    /**
+     * Makes room for unmeasured cells at the position, the cells from the position on keep their sizes.
+     */
+    public void insert(final int cellPosition, final int count) {
+        if (count <= 0) return;
+
+        final int position = Math.max(Math.min(cellPosition, mCellCount), 0);
+        final int cellCount = mCellCount + count;
+        ensureCapacity(cellCount);
+
+        System.arraycopy(mSizes, position, mSizes, position + count, mCellCount - position);
+        System.arraycopy(mTypes, position, mTypes, position + count, mCellCount - position);
+        Arrays.fill(mSizes, position, position + count, UNMEASURED);
+        Arrays.fill(mTypes, position, position + count, UNKNOWN_VIEW_TYPE);
+        mCellCount = cellCount;
+        rebuildTrees();
+    }
+
+    /**
+     * Drops the cells at the position, the cells after them keep their sizes.
+     */
+    public void remove(final int cellPosition, final int count) {
+        final int position = Math.max(cellPosition, 0);
+        final int end = Math.min(position + count, mCellCount);
+        if (position >= end) return;
+
+        for (int index = position; index < end; index++) {
+            forget(index);
+        }
+        System.arraycopy(mSizes, end, mSizes, position, mCellCount - end);
+        System.arraycopy(mTypes, end, mTypes, position, mCellCount - end);
+        final int cellCount = mCellCount - (end - position);
+        Arrays.fill(mSizes, cellCount, mCellCount, UNMEASURED);
+        Arrays.fill(mTypes, cellCount, mCellCount, UNKNOWN_VIEW_TYPE);
+        mCellCount = cellCount;
+        rebuildTrees();
+    }
+
+    /**
+     * Forgets the sizes of the cells, they are estimated again until they are measured.
+     */
+    public void invalidate(final int cellPosition, final int count) {
+        final int end = Math.min(cellPosition + count, mCellCount);
+        for (int index = Math.max(cellPosition, 0); index < end; index++) {
+            final int size = mSizes[index];
+            if (size == UNMEASURED) continue;
+
+            update(index, -size, -1);
+            forget(index);
+            updateTypeTree(mTypes[index], index, 1);
+        }
+    }
+
+    public boolean isMeasured(final int cellPosition) {
+        if (cellPosition < 0 || cellPosition >= mCellCount) return false;
+        return mSizes[cellPosition] != UNMEASURED;
+    }
+
+    /**
+     * @return the measured size of the cell or, if it was never measured, the average size of its view type
+     */
+    public int getSize(final int cellPosition, final int viewType) {
+        if (isMeasured(cellPosition)) return mSizes[cellPosition];
+        return getEstimatedSize(viewType);
+    }
+
+    /**
+     * @return the average measured size of cells of the view type, falling back to the average of all cells
+     */
+    public int getEstimatedSize(final int viewType) {
+        if (viewType >= 0 && viewType < mTypeCounts.length && mTypeCounts[viewType] > 0) {
+            return (int) (mTypeSizeTotals[viewType] / mTypeCounts[viewType]);
+        }
+        return getAverageSize();
+    }
+
+    public int getAverageSize() {
+        if (mMeasuredCount == 0) return 0;
+        return (int) (mMeasuredSizeTotal / mMeasuredCount);
+    }
+
+    /**
+     * @param cellSpacing space added before every cell
+     * @return pixels from the start of the content to where the cell's leading cell spacing begins
+     */
+    public long getOffset(final int cellPosition, final int cellSpacing) {
+        final int position = Math.max(Math.min(cellPosition, mCellCount), 0);
+        final int averageSize = getAverageSize();
+
+        long measuredSize = 0;
+        int measuredCount = 0;
+        for (int index = position; index > 0; index -= index & -index) {
+            measuredSize += mSizeTree[index];
+            measuredCount += mCountTree[index];
+        }
+
+        long typedSize = 0;
+        int typedCount = 0;
+        for (int viewType = 0; viewType < mUnmeasuredTypeTrees.length; viewType++) {
+            final int[] typeTree = mUnmeasuredTypeTrees[viewType];
+            if (typeTree == null) continue;
+
+            int count = 0;
+            for (int index = position; index > 0; index -= index & -index) {
+                count += typeTree[index];
+            }
+            typedSize += (long) count * getEstimatedSize(viewType);
+            typedCount += count;
+        }
+
+        final int unmeasuredCount = position - measuredCount - typedCount;
+        return measuredSize + typedSize + (long) unmeasuredCount * averageSize + (long) position * cellSpacing;
+    }
+
+    /**
+     * @return total pixels of all cells including their cell spacing
+     */
+    public long getTotalSize(final int cellSpacing) {
+        return getOffset(mCellCount, cellSpacing);
+    }
+
+    /**
+     * @param cellSpacing space added before every cell
+     * @return the cell covering the pixel offset, clamped to the first and last cell
+     */
+    public int getCellPosition(final long offset, final int cellSpacing) {
+        if (mCellCount == 0 || offset < 0) return 0;
+
+        final int averageSize = getAverageSize();
+        int step = Integer.highestOneBit(mCellCount);
+        int position = 0;
+        long remaining = offset;
+
+        while (step > 0) {
+            final int next = position + step;
+            if (next <= mCellCount) {
+                long rangeSize = mSizeTree[next] + (long) step * cellSpacing;
+                int unmeasuredCount = step - mCountTree[next];
+                for (int viewType = 0; viewType < mUnmeasuredTypeTrees.length; viewType++) {
+                    final int[] typeTree = mUnmeasuredTypeTrees[viewType];
+                    if (typeTree == null) continue;
+
+                    rangeSize += (long) typeTree[next] * getEstimatedSize(viewType);
+                    unmeasuredCount -= typeTree[next];
+                }
+                rangeSize += (long) unmeasuredCount * averageSize;
+                if (rangeSize <= remaining) {
+                    position = next;
+                    remaining -= rangeSize;
+                }
+            }
+            step >>= 1;
+        }
+
+        return Math.min(position, mCellCount - 1);
+    }
+
+    private void forget(final int cellPosition) {
+        final int size = mSizes[cellPosition];
+        if (size == UNMEASURED) return;
+
+        mMeasuredSizeTotal -= size;
+        mMeasuredCount--;
+        addToType(mTypes[cellPosition], -size, -1);
+        mSizes[cellPosition] = UNMEASURED;
+    }
+
+    private void ensureCapacity(final int cellCount) {
+        if (mSizes.length >= cellCount) return;
+
+        final int capacity = Math.max(cellCount, mSizes.length * 2);
+        final int[] sizes = new int[capacity];
+        final int[] types = new int[capacity];
+        System.arraycopy(mSizes, 0, sizes, 0, mCellCount);
+        System.arraycopy(mTypes, 0, types, 0, mCellCount);
+        Arrays.fill(sizes, mCellCount, capacity, UNMEASURED);
+        mSizes = sizes;
+        mTypes = types;
+        mSizeTree = new long[capacity + 1];
+        mCountTree = new int[capacity + 1];
+        resizeTypeTrees(capacity + 1);
+    }
+
+    /**
+     * Builds both trees from the sizes in O(n), every node adds itself to its parent once complete.
+     */
+    private void rebuildTrees() {
+        Arrays.fill(mSizeTree, 0L);
+        Arrays.fill(mCountTree, 0);
+        clearTypeTrees();
+        for (int index = 1; index <= mCellCount; index++) {
+            final int size = mSizes[index - 1];
+            if (size != UNMEASURED) {
+                mSizeTree[index] += size;
+                mCountTree[index]++;
+            } else if (mTypes[index - 1] != UNKNOWN_VIEW_TYPE) {
+                getTypeTree(mTypes[index - 1])[index]++;
+            }
+
+            final int parent = index + (index & -index);
+            if (parent <= mCellCount) {
+                mSizeTree[parent] += mSizeTree[index];
+                mCountTree[parent] += mCountTree[index];
+                for (int viewType = 0; viewType < mUnmeasuredTypeTrees.length; viewType++) {
+                    final int[] typeTree = mUnmeasuredTypeTrees[viewType];
+                    if (typeTree != null) typeTree[parent] += typeTree[index];
+                }
+            }
+        }
+    }
+
+    private void updateTypeTree(final int viewType, final int cellPosition, final int countDelta) {
+        if (viewType < 0) return;
+
+        final int[] typeTree = getTypeTree(viewType);
+        for (int index = cellPosition + 1; index <= mCellCount; index += index & -index) {
+            typeTree[index] += countDelta;
+        }
+    }
+
+    private int[] getTypeTree(final int viewType) {
+        if (viewType >= mUnmeasuredTypeTrees.length) {
+            final int[][] typeTrees = new int[viewType + 1][];
+            System.arraycopy(mUnmeasuredTypeTrees, 0, typeTrees, 0, mUnmeasuredTypeTrees.length);
+            mUnmeasuredTypeTrees = typeTrees;
+        }
+        if (mUnmeasuredTypeTrees[viewType] == null) {
+            mUnmeasuredTypeTrees[viewType] = new int[mSizeTree.length];
+        }
+        return mUnmeasuredTypeTrees[viewType];
+    }
+
+    private void resizeTypeTrees(final int length) {
+        for (int viewType = 0; viewType < mUnmeasuredTypeTrees.length; viewType++) {
+            if (mUnmeasuredTypeTrees[viewType] != null) mUnmeasuredTypeTrees[viewType] = new int[length];
+        }
+    }
+
+    private void clearTypeTrees() {
+        for (int viewType = 0; viewType < mUnmeasuredTypeTrees.length; viewType++) {
+            if (mUnmeasuredTypeTrees[viewType] != null) Arrays.fill(mUnmeasuredTypeTrees[viewType], 0);
+        }
+    }
+
+    private void update(final int cellPosition, final long sizeDelta, final int countDelta) {
+        for (int index = cellPosition + 1; index <= mCellCount; index += index & -index) {
+            mSizeTree[index] += sizeDelta;
+            mCountTree[index] += countDelta;
+        }
+    }
+
+    private void addToType(final int viewType, final int size, final int count) {
+        if (viewType < 0) return;
+
+        if (viewType >= mTypeCounts.length) {
+            final long[] typeSizeTotals = new long[viewType + 1];
+            final int[] typeCounts = new int[viewType + 1];
+            System.arraycopy(mTypeSizeTotals, 0, typeSizeTotals, 0, mTypeSizeTotals.length);
+            System.arraycopy(mTypeCounts, 0, typeCounts, 0, mTypeCounts.length);
+            mTypeSizeTotals = typeSizeTotals;
+            mTypeCounts = typeCounts;
+        }
+        mTypeSizeTotals[viewType] += size;
+        mTypeCounts[viewType] += count;
+    }
+}
@@ -75,28 +75,14 @@ public class ChildTouchGestureListener extends AdapterAnimator {
         mInitialTouchView = null;
         mIsSingleTapUp = false;
 
-        final ViewGroup viewGroup = getViewGroup();
-
+        final LayoutManagerBridge layoutManagerBridge = getLayoutManagerBridge();
         final int pointerCount = event.getPointerCount();
 
         for (int p = 0; p < pointerCount; p++) {
-            final double touchX = event.getX(p);
-            final double touchY = event.getY(p);
-
-            for (int i = viewGroup.getChildCount() - 1; i >= 0; i--) {
-                final View child = viewGroup.getChildAt(i);
-                final float childLeft = child.getLeft();
-                final float childTop = child.getTop();
-                final float childRight = child.getWidth() + childLeft;
-                final float childBottom = child.getHeight() + childTop;
-
-                final boolean xFits = touchX >= childLeft && touchX <= childRight;
-                final boolean yFits = touchY >= childTop && touchY <= childBottom;
-
-                if (xFits && yFits) {
-                    mInitialTouchView = child;
-                    return super.onDown(event);
-                }
+            final View child = layoutManagerBridge.getViewAt(event.getX(p), event.getY(p));
+            if (child != null) {
+                mInitialTouchView = child;
+                return super.onDown(event);
             }
         }
         return super.onDown(event);
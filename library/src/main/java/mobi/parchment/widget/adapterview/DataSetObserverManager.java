@@ -11,6 +11,7 @@ import android.widget.Adapter;
  */
 public class DataSetObserverManager {
 	private final Collection<DataSetObserver> mDataSetObservers = new HashSet<DataSetObserver>();
+	private final Collection<ItemRangeObserver> mItemRangeObservers = new HashSet<ItemRangeObserver>();
 	private Adapter mAdapter;
 
 	public void setAdapter(final Adapter adapter) {
@@ -29,6 +30,12 @@ public class DataSetObserverManager {
 
 		for (final DataSetObserver dataSetObserver : mDataSetObservers)
 			adapter.registerDataSetObserver(dataSetObserver);
+
+		if (adapter instanceof ItemRangeAdapter) {
+			final ItemRangeAdapter itemRangeAdapter = (ItemRangeAdapter) adapter;
+			for (final ItemRangeObserver itemRangeObserver : mItemRangeObservers)
+				itemRangeAdapter.registerItemRangeObserver(itemRangeObserver);
+		}
 	}
 
 	private void unregisterAdapter(final Adapter adapter) {
@@ -37,6 +44,12 @@ public class DataSetObserverManager {
 
 		for (final DataSetObserver dataSetObserver : mDataSetObservers)
 			adapter.unregisterDataSetObserver(dataSetObserver);
+
+		if (adapter instanceof ItemRangeAdapter) {
+			final ItemRangeAdapter itemRangeAdapter = (ItemRangeAdapter) adapter;
+			for (final ItemRangeObserver itemRangeObserver : mItemRangeObservers)
+				itemRangeAdapter.unregisterItemRangeObserver(itemRangeObserver);
+		}
 	}
 
 	public void registerDataSetObserver(final DataSetObserver dataSetObserver) {
@@ -54,4 +67,16 @@ public class DataSetObserverManager {
 			mAdapter.unregisterDataSetObserver(dataSetObserver);
 	}
 
+	public void registerItemRangeObserver(final ItemRangeObserver itemRangeObserver) {
+		final boolean added = mItemRangeObservers.add(itemRangeObserver);
+		if (added && mAdapter instanceof ItemRangeAdapter)
+			((ItemRangeAdapter) mAdapter).registerItemRangeObserver(itemRangeObserver);
+	}
+
+	public void unregisterItemRangeObserver(final ItemRangeObserver itemRangeObserver) {
+		final boolean inItemRangeObservers = mItemRangeObservers.remove(itemRangeObserver);
+		if (inItemRangeObservers && mAdapter instanceof ItemRangeAdapter)
+			((ItemRangeAdapter) mAdapter).unregisterItemRangeObserver(itemRangeObserver);
+	}
+
 }
@@ -0,0 +1,287 @@
+package mobi.parchment.widget.adapterview;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Difference between two snapshots of a list, matched by item id with Myers' algorithm. Ids have to be unique within
+ * a snapshot. Items whose id left the common subsequence but is still in the list are reported as moves, items whose
+ * contents differ as changes.
+ */
+public class ItemListDiff {
+
+    /**
+     * Past this many inserted or removed items a full data set change is cheaper than the diff, and the trace of the
+     * search stays below a few megabytes.
+     */
+    public static final int MAX_EDIT_DISTANCE = 1000;
+
+    private static final int OPERATION_REMOVE = 0;
+    private static final int OPERATION_MOVE = 1;
+    private static final int OPERATION_INSERT = 2;
+    private static final int OPERATION_CHANGE = 3;
+
+    public interface ItemCallback<Item> {
+        long getItemId(Item item);
+
+        boolean areContentsTheSame(Item oldItem, Item newItem);
+    }
+
+    private int[] mOperations = new int[3 * 16];
+    private int mOperationCount;
+
+    private ItemListDiff() {
+    }
+
+    /**
+     * @return the operations turning the old snapshot into the new one, or null when they are too far apart to be
+     * worth diffing
+     */
+    public static <Item> ItemListDiff calculate(final List<Item> oldItems, final List<Item> newItems, final ItemCallback<Item> itemCallback) {
+        final int oldSize = oldItems.size();
+        final int newSize = newItems.size();
+        final long[] oldIds = new long[oldSize];
+        final long[] newIds = new long[newSize];
+        for (int index = 0; index < oldSize; index++) {
+            oldIds[index] = itemCallback.getItemId(oldItems.get(index));
+        }
+        for (int index = 0; index < newSize; index++) {
+            newIds[index] = itemCallback.getItemId(newItems.get(index));
+        }
+
+        final int[] oldToNew = new int[oldSize];
+        final int[] newToOld = new int[newSize];
+        if (!match(oldIds, newIds, oldToNew, newToOld)) return null;
+
+        final ItemListDiff itemListDiff = new ItemListDiff();
+        itemListDiff.addOperations(oldItems, newItems, itemCallback, oldIds, newIds, oldToNew, newToOld);
+        return itemListDiff;
+    }
+
+    public void dispatchTo(final ItemRangeObserver itemRangeObserver) {
+        for (int index = 0; index < mOperationCount; index++) {
+            final int operation = mOperations[3 * index];
+            final int first = mOperations[3 * index + 1];
+            final int second = mOperations[3 * index + 2];
+            switch (operation) {
+                case OPERATION_REMOVE:
+                    itemRangeObserver.onItemRangeRemoved(first, second);
+                    break;
+                case OPERATION_MOVE:
+                    itemRangeObserver.onItemMoved(first, second);
+                    break;
+                case OPERATION_INSERT:
+                    itemRangeObserver.onItemRangeInserted(first, second);
+                    break;
+                case OPERATION_CHANGE:
+                    itemRangeObserver.onItemRangeChanged(first, second);
+                    break;
+            }
+        }
+    }
+
+    public int getOperationCount() {
+        return mOperationCount;
+    }
+
+    /**
+     * Fills both index maps with the longest common subsequence of ids, -1 marking the ids outside of it. The common
+     * prefix and suffix are matched up front since most snapshots only differ in a few places.
+     *
+     * @return false when the snapshots are more than {@link #MAX_EDIT_DISTANCE} edits apart
+     */
+    private static boolean match(final long[] oldIds, final long[] newIds, final int[] oldToNew, final int[] newToOld) {
+        Arrays.fill(oldToNew, -1);
+        Arrays.fill(newToOld, -1);
+
+        final int minSize = Math.min(oldIds.length, newIds.length);
+        int prefix = 0;
+        while (prefix < minSize && oldIds[prefix] == newIds[prefix]) {
+            oldToNew[prefix] = prefix;
+            newToOld[prefix] = prefix;
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < minSize - prefix && oldIds[oldIds.length - 1 - suffix] == newIds[newIds.length - 1 - suffix]) {
+            oldToNew[oldIds.length - 1 - suffix] = newIds.length - 1 - suffix;
+            newToOld[newIds.length - 1 - suffix] = oldIds.length - 1 - suffix;
+            suffix++;
+        }
+
+        final int oldCount = oldIds.length - prefix - suffix;
+        final int newCount = newIds.length - prefix - suffix;
+        if (oldCount == 0 || newCount == 0) return true;
+
+        final int max = oldCount + newCount;
+        final int center = max + 1;
+        final int[] furthest = new int[2 * max + 3];
+        final List<int[]> trace = new ArrayList<int[]>();
+
+        for (int distance = 0; distance <= max; distance++) {
+            if (distance > MAX_EDIT_DISTANCE) return false;
+
+            final int[] snapshot = new int[2 * distance + 1];
+            System.arraycopy(furthest, center - distance, snapshot, 0, snapshot.length);
+            trace.add(snapshot);
+
+            for (int diagonal = -distance; diagonal <= distance; diagonal += 2) {
+                final boolean isDown = diagonal == -distance || (diagonal != distance && furthest[center + diagonal - 1] < furthest[center + diagonal + 1]);
+                int x = isDown ? furthest[center + diagonal + 1] : furthest[center + diagonal - 1] + 1;
+                int y = x - diagonal;
+                // points past either end of the snapshots are never on a path, -1 keeps them from being extended
+                if (x < 0 || y < 0 || x > oldCount || y > newCount) {
+                    furthest[center + diagonal] = -1;
+                    continue;
+                }
+                while (x < oldCount && y < newCount && oldIds[prefix + x] == newIds[prefix + y]) {
+                    x++;
+                    y++;
+                }
+                furthest[center + diagonal] = x;
+
+                if (x >= oldCount && y >= newCount) {
+                    backtrack(trace, distance, oldCount, newCount, prefix, oldToNew, newToOld);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void backtrack(final List<int[]> trace, final int editDistance, final int oldCount, final int newCount, final int prefix, final int[] oldToNew, final int[] newToOld) {
+        int x = oldCount;
+        int y = newCount;
+        for (int distance = editDistance; distance > 0; distance--) {
+            final int[] previous = trace.get(distance);
+            final int diagonal = x - y;
+            final boolean isDown = diagonal == -distance || (diagonal != distance && previous[diagonal - 1 + distance] < previous[diagonal + 1 + distance]);
+            final int previousDiagonal = isDown ? diagonal + 1 : diagonal - 1;
+            final int previousX = previous[previousDiagonal + distance];
+            final int previousY = previousX - previousDiagonal;
+
+            while (x > previousX && y > previousY) {
+                x--;
+                y--;
+                oldToNew[prefix + x] = prefix + y;
+                newToOld[prefix + y] = prefix + x;
+            }
+            x = previousX;
+            y = previousY;
+        }
+        while (x > 0 && y > 0) {
+            x--;
+            y--;
+            oldToNew[prefix + x] = prefix + y;
+            newToOld[prefix + y] = prefix + x;
+        }
+    }
+
+    /**
+     * Replays the edits on a copy of the old ids so every position is valid at the time its operation is dispatched:
+     * removals back to front, then moves and insertions in the order of the new snapshot, then changes.
+     */
+    private <Item> void addOperations(final List<Item> oldItems, final List<Item> newItems, final ItemCallback<Item> itemCallback, final long[] oldIds, final long[] newIds, final int[] oldToNew, final int[] newToOld) {
+        final Map<Long, Integer> unmatchedOldPositions = new HashMap<Long, Integer>();
+        for (int oldPosition = 0; oldPosition < oldIds.length; oldPosition++) {
+            if (oldToNew[oldPosition] == -1) unmatchedOldPositions.put(oldIds[oldPosition], oldPosition);
+        }
+        final int[] movedFrom = new int[newIds.length];
+        final boolean[] isMoved = new boolean[oldIds.length];
+        for (int newPosition = 0; newPosition < newIds.length; newPosition++) {
+            movedFrom[newPosition] = -1;
+            if (newToOld[newPosition] != -1) continue;
+
+            final Integer oldPosition = unmatchedOldPositions.get(newIds[newPosition]);
+            if (oldPosition == null) continue;
+            movedFrom[newPosition] = oldPosition;
+            isMoved[oldPosition] = true;
+        }
+
+        final long[] currentIds = new long[oldIds.length];
+        System.arraycopy(oldIds, 0, currentIds, 0, oldIds.length);
+        int currentSize = oldIds.length;
+
+        int oldPosition = oldIds.length - 1;
+        while (oldPosition >= 0) {
+            if (oldToNew[oldPosition] != -1 || isMoved[oldPosition]) {
+                oldPosition--;
+                continue;
+            }
+            final int end = oldPosition + 1;
+            while (oldPosition >= 0 && oldToNew[oldPosition] == -1 && !isMoved[oldPosition]) oldPosition--;
+            final int start = oldPosition + 1;
+            addOperation(OPERATION_REMOVE, start, end - start);
+            System.arraycopy(currentIds, end, currentIds, start, currentSize - end);
+            currentSize -= end - start;
+        }
+
+        long previousId = 0;
+        boolean hasPrevious = false;
+        for (int newPosition = 0; newPosition < newIds.length; newPosition++) {
+            final boolean isInserted = newToOld[newPosition] == -1 && movedFrom[newPosition] == -1;
+            if (isInserted) continue;
+
+            if (movedFrom[newPosition] != -1) {
+                final long id = newIds[newPosition];
+                final int from = indexOf(currentIds, currentSize, id);
+                System.arraycopy(currentIds, from + 1, currentIds, from, currentSize - from - 1);
+                final int to = hasPrevious ? indexOf(currentIds, currentSize - 1, previousId) + 1 : 0;
+                System.arraycopy(currentIds, to, currentIds, to + 1, currentSize - 1 - to);
+                currentIds[to] = id;
+                if (from != to) addOperation(OPERATION_MOVE, from, to);
+            }
+            previousId = newIds[newPosition];
+            hasPrevious = true;
+        }
+
+        int newPosition = 0;
+        while (newPosition < newIds.length) {
+            if (newToOld[newPosition] != -1 || movedFrom[newPosition] != -1) {
+                newPosition++;
+                continue;
+            }
+            final int start = newPosition;
+            while (newPosition < newIds.length && newToOld[newPosition] == -1 && movedFrom[newPosition] == -1) newPosition++;
+            addOperation(OPERATION_INSERT, start, newPosition - start);
+        }
+
+        newPosition = 0;
+        while (newPosition < newIds.length) {
+            if (!isChanged(oldItems, newItems, itemCallback, newToOld, movedFrom, newPosition)) {
+                newPosition++;
+                continue;
+            }
+            final int start = newPosition;
+            while (newPosition < newIds.length && isChanged(oldItems, newItems, itemCallback, newToOld, movedFrom, newPosition)) newPosition++;
+            addOperation(OPERATION_CHANGE, start, newPosition - start);
+        }
+    }
+
+    private static <Item> boolean isChanged(final List<Item> oldItems, final List<Item> newItems, final ItemCallback<Item> itemCallback, final int[] newToOld, final int[] movedFrom, final int newPosition) {
+        final int oldPosition = newToOld[newPosition] != -1 ? newToOld[newPosition] : movedFrom[newPosition];
+        if (oldPosition == -1) return false;
+        return !itemCallback.areContentsTheSame(oldItems.get(oldPosition), newItems.get(newPosition));
+    }
+
+    private static int indexOf(final long[] ids, final int size, final long id) {
+        for (int index = 0; index < size; index++) {
+            if (ids[index] == id) return index;
+        }
+        return -1;
+    }
+
+    private void addOperation(final int operation, final int first, final int second) {
+        if (3 * (mOperationCount + 1) > mOperations.length) {
+            final int[] operations = new int[mOperations.length * 2];
+            System.arraycopy(mOperations, 0, operations, 0, mOperations.length);
+            mOperations = operations;
+        }
+        mOperations[3 * mOperationCount] = operation;
+        mOperations[3 * mOperationCount + 1] = first;
+        mOperations[3 * mOperationCount + 2] = second;
+        mOperationCount++;
+    }
+}
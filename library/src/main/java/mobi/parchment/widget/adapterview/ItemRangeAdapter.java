@@ -0,0 +1,13 @@
+package mobi.parchment.widget.adapterview;
+
+/**
+ * Optional interface for adapters that can describe which items changed. Parchment adapter views then rebind or
+ * shift only the affected cells instead of laying out every visible cell from scratch on
+ * {@link android.widget.BaseAdapter#notifyDataSetChanged()}.
+ */
+public interface ItemRangeAdapter {
+
+    void registerItemRangeObserver(final ItemRangeObserver itemRangeObserver);
+
+    void unregisterItemRangeObserver(final ItemRangeObserver itemRangeObserver);
+}
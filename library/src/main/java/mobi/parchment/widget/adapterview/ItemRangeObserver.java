@@ -0,0 +1,16 @@
+package mobi.parchment.widget.adapterview;
+
+/**
+ * Receives granular changes from an {@link ItemRangeAdapter}. The adapter already reflects the change when it is
+ * notified, removed ranges and the moved from position refer to where the items were before the change.
+ */
+public interface ItemRangeObserver {
+
+    void onItemRangeChanged(final int positionStart, final int itemCount);
+
+    void onItemRangeInserted(final int positionStart, final int itemCount);
+
+    void onItemRangeRemoved(final int positionStart, final int itemCount);
+
+    void onItemMoved(final int fromPosition, final int toPosition);
+}
@@ -7,9 +7,7 @@ import android.view.ViewConfiguration;
 import android.view.ViewGroup;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import mobi.parchment.widget.adapterview.snapposition.CenterSnapPosition;
 import mobi.parchment.widget.adapterview.snapposition.EndSnapPosition;
@@ -19,12 +17,22 @@ import mobi.parchment.widget.adapterview.snapposition.OnScreenWithCellSpacingSna
 import mobi.parchment.widget.adapterview.snapposition.SnapPositionInterface;
 import mobi.parchment.widget.adapterview.snapposition.StartSnapPosition;
 import mobi.parchment.widget.adapterview.snapposition.StartWithCellSpacingSnapPosition;
+import mobi.parchment.widget.adapterview.utilities.ViewGroupUtilities;
 
 
 public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
     public static final int INVALID_POSITION = -1;
+    private static final int SMOOTH_SCROLL_JUMP_THRESHOLD_IN_SCREENS = 2;
 
-    private final Map<View, Integer> mPositions = new HashMap<View, Integer>();
+    private static final int DIRTY_VIEWPORT_SIZE = 1;
+    private static final int DIRTY_DATA = 1 << 1;
+    private static final int DIRTY_SELECTION = 1 << 2;
+    private static final int DIRTY_ITEMS = 1 << 3;
+
+    private final ViewPositionIndex mPositionIndex;
+    private final CellSizeIndex mCellSizeIndex = new CellSizeIndex();
+    private int mFixedViewWidth = -1;
+    private int mFixedViewHeight = -1;
 
     private int mAnimationId = -1;
     private int mOffset = 0;
@@ -32,6 +40,13 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
     private int mViewPageDistance;
     private int mAnimationDisplacement;
     private int mCenteringOffset = 0;
+    private int mLaidOutSize = -1;
+    private int mLaidOutBreadth = -1;
+    private int mLaidOutSelectedPosition = INVALID_POSITION;
+    private int mLaidOutAdapterCount;
+    private int mMeasuredBreadthConstraint = -1;
+    private int mDirtyFlags = DIRTY_VIEWPORT_SIZE | DIRTY_DATA;
+    private boolean mIsDataSetChangePending;
     protected final ViewGroup mViewGroup;
     private final ScrollDirectionManager mScrollDirectionManager;
 
@@ -43,6 +58,21 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
     private final SnapPositionInterface<Cell> mSnapPositionInterface;
     private View mPressedView;
 
+    private final List<Cell> mPrefetchedCells = new ArrayList<Cell>();
+    private final List<View> mScrapViews = new ArrayList<View>();
+    private int mPrefetchCellPosition = INVALID_POSITION;
+    private Move mPrefetchMove = Move.none;
+    private float mScrollVelocity;
+    private final PrefetchScheduler mPrefetchScheduler;
+    private final CellCreationCosts mCellCreationCosts = new CellCreationCosts();
+
+    private final CellSizeIndex.CellViewTypes mCellViewTypes = new CellSizeIndex.CellViewTypes() {
+        @Override
+        public int getViewType(final int cellPosition) {
+            return mAdapterViewManager.getItemViewType(getFirstAdapterPositionInCell(cellPosition));
+        }
+    };
+
     public LayoutManager(final ViewGroup viewGroup, final OnSelectedListener onSelectedListener, final AdapterViewManager adapterViewManager, final LayoutManagerAttributes layoutManagerAttributes) {
         super(adapterViewManager);
         mViewGroup = viewGroup;
@@ -50,12 +80,26 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
         mSelectedPositionManager = new SelectedPositionManager(onSelectedListener);
         mScrollDirectionManager = new ScrollDirectionManager(layoutManagerAttributes);
         mLayoutManagerAttributes = layoutManagerAttributes;
+        mPositionIndex = createPositionIndex();
+        mPrefetchScheduler = new PrefetchScheduler(viewGroup, new PrefetchScheduler.Prefetcher() {
+            @Override
+            public void prefetch(final long deadlineNanos) {
+                prefetchCells(deadlineNanos);
+            }
+        });
 
         final boolean isCircularScroll = mLayoutManagerAttributes.isCircularScroll();
         final SnapPosition snapPosition = getSnapPosition(isCircularScroll);
         mSnapPositionInterface = getSnapPositionInterface(snapPosition);
     }
 
+    /**
+     * Called from the constructor, before the fields of a subclass are set.
+     */
+    protected ViewPositionIndex createPositionIndex() {
+        return new ViewPositionIndex();
+    }
+
     private SnapPositionInterface<Cell> getSnapPositionInterface(final SnapPosition snapPosition) {
         switch (snapPosition) {
             case center:
@@ -103,14 +147,100 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
 
     @Override
     public void destroy() {
-        mPositions.clear();
+        mPrefetchScheduler.cancel();
+        recyclePrefetchedCells();
+        mPositionIndex.clear();
         super.destroy();
         mCells.clear();
     }
 
+    /**
+     * Measures the cells on screen again only when their constraints or the data changed, otherwise just the cells
+     * whose views requested a layout are measured. A change of the view group's size along the scroll direction
+     * keeps every measurement.
+     */
     public void measure(final ViewGroup viewGroup) {
-        for (final Cell cell : mCells) {
+        processPendingDataSetChange();
+        if (mCells.isEmpty()) return;
+
+        final int breadthConstraint = getBreadthMeasureConstraint();
+        if (breadthConstraint != mMeasuredBreadthConstraint) {
+            mMeasuredBreadthConstraint = breadthConstraint;
+            mDirtyFlags |= DIRTY_VIEWPORT_SIZE;
+            resetFixedCellSize();
+        }
+
+        final boolean isMeasureRequired = isDirty(DIRTY_VIEWPORT_SIZE | DIRTY_DATA);
+        for (int cellIndex = 0; cellIndex < mCells.size(); cellIndex++) {
+            final Cell cell = mCells.get(cellIndex);
+            if (!isMeasureRequired && !isCellLayoutRequested(cell)) continue;
             measure(cell, viewGroup);
+            recordFixedCellSize(cell);
+        }
+    }
+
+    /**
+     * @return the largest size a view may be measured to across the scroll direction
+     */
+    private int getBreadthMeasureConstraint() {
+        final int adapterPosition = getFirstAdapterPositionInCell(mStartCellPosition);
+        if (isVerticalScroll()) return getMaxMeasureWidth(adapterPosition);
+        return getMaxMeasureHeight(adapterPosition);
+    }
+
+    private boolean isDirty(final int dirtyFlags) {
+        return (mDirtyFlags & dirtyFlags) != 0;
+    }
+
+    /**
+     * @return true once the first item has been measured while every item is declared to be the same size, its
+     * measured size is then used for every other item
+     */
+    protected boolean isFixedCellSizeKnown() {
+        return mLayoutManagerAttributes.hasFixedCellSize() && mFixedViewWidth >= 0;
+    }
+
+    protected int getFixedViewWidth() {
+        return mFixedViewWidth;
+    }
+
+    protected int getFixedViewHeight() {
+        return mFixedViewHeight;
+    }
+
+    private int getFixedCellSize() {
+        return isVerticalScroll() ? mFixedViewHeight : mFixedViewWidth;
+    }
+
+    public void setHasFixedCellSize(final boolean hasFixedCellSize) {
+        mLayoutManagerAttributes.setHasFixedCellSize(hasFixedCellSize);
+        resetFixedCellSize();
+    }
+
+    private void resetFixedCellSize() {
+        mFixedViewWidth = -1;
+        mFixedViewHeight = -1;
+    }
+
+    /**
+     * Gets a cell from the adapter, the first one measured in fixed cell size mode becomes the prototype for the rest.
+     * How long it took is kept per view type for the prefetch.
+     */
+    private Cell createCell(final int adapterPosition) {
+        final long startTime = System.nanoTime();
+        final Cell cell = getCell(adapterPosition);
+        recordFixedCellSize(cell);
+        mCellCreationCosts.add(mAdapterViewManager.getItemViewType(adapterPosition), System.nanoTime() - startTime);
+        return cell;
+    }
+
+    private void recordFixedCellSize(final Cell cell) {
+        if (!mLayoutManagerAttributes.hasFixedCellSize() || mFixedViewWidth >= 0) return;
+
+        final View view = getFirstView(cell);
+        if (view != null) {
+            mFixedViewWidth = view.getMeasuredWidth();
+            mFixedViewHeight = view.getMeasuredHeight();
         }
     }
 
@@ -148,8 +278,6 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
 
     protected abstract int getFirstAdapterPositionInCell(final int cellPosition);
 
-    protected abstract int getDrawPosition(final List<Cell> cells, final int drawCellPosition);
-
     /**
      * @param animation Positive displacement moves the screen to the right and vice versa
      * @param changed
@@ -160,20 +288,14 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
      */
     public void layout(final AdapterViewHandler adapterViewHandler, final Animation animation, final boolean changed, final int left, final int top, final int right, final int bottom) {
 
+        processPendingDataSetChange();
         mCenteringOffset = 0;
         if (mAdapterViewManager.getAdapterCount() == 0) return;
 
         final int size = mScrollDirectionManager.getDrawSize(left, top, right, bottom);
         final int displacement = animation.getDisplacement();
 
-        final int animationId = animation.getId();
-        final boolean continuedAnimation = animationId == mAnimationId;
-
-        if (!continuedAnimation && !mCells.isEmpty()) {
-            mAnimationId = animationId;
-            mViewPageDistance = getViewPageDistance(size);
-            mAnimationDisplacement = displacement;
-        } else if (continuedAnimation) mAnimationDisplacement += displacement;
+        final boolean continuedAnimation = trackAnimation(animation, size);
 
         final int newSize = size; //Todo: consider padding for newSize
         final int adjust = setOffset(displacement, newSize);
@@ -181,7 +303,12 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
         if (continuedAnimation) mAnimationDisplacement += adjust;
 
         final int breadth = mScrollDirectionManager.getDrawBreadth(left, top, right, bottom);
-        layoutCells(adapterViewHandler, newSize, breadth, mCenteringOffset);
+        if (newSize != mLaidOutSize || breadth != mLaidOutBreadth) mDirtyFlags |= DIRTY_VIEWPORT_SIZE;
+        if (canOffsetCells(changed, newSize, breadth, mOffset, mCenteringOffset)) {
+            offsetCells(displacement + adjust);
+        } else {
+            layoutCells(adapterViewHandler, newSize, breadth, mCenteringOffset);
+        }
 
         if (needLayout(newSize, getCellSpacing(), displacement)) {
             if (mAnimationStoppedListener != null) {
@@ -191,9 +318,160 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
             setOffset(0, newSize);
             layoutCells(adapterViewHandler, newSize, breadth, mCenteringOffset);
         }
+        removeScrapViews(adapterViewHandler);
+        mAdapterViewManager.onLayoutCompleted();
 
         checkSelectWhileScrollingAttribute(newSize);
-        mSelectedPositionManager.onViewsDrawn(mPositions);
+        final int selectedPosition = mSelectedPositionManager.getSelectedPosition();
+        mSelectedPositionManager.onViewsDrawn(getOnScreenView(selectedPosition));
+        schedulePrefetch();
+    }
+
+    /**
+     * Applies an animation frame without a layout pass by displacing the cells already on screen.
+     *
+     * @return false when the frame adds or removes cells, or could reach the ends of the adapter, in which case nothing
+     * was changed and the displacement has to be applied by {@link #layout}
+     */
+    public boolean scroll(final AdapterViewHandler adapterViewHandler, final Animation animation) {
+        if (mAdapterViewManager.getAdapterCount() == 0 || mCells.isEmpty()) return false;
+        if (mLayoutManagerAttributes.isViewPager()) return false;
+        if (getFirstCell() != null || getLastCell() != null) return false;
+
+        final int displacement = animation.getDisplacement();
+        final int offset = mOffset + displacement;
+        if (!canOffsetCells(false, mLaidOutSize, mLaidOutBreadth, offset, mCenteringOffset)) return false;
+
+        trackAnimation(animation, mLaidOutSize);
+        mOffset = offset;
+        offsetCells(displacement);
+
+        checkSelectWhileScrollingAttribute(mLaidOutSize);
+        final int selectedPosition = mSelectedPositionManager.getSelectedPosition();
+        mSelectedPositionManager.onViewsDrawn(getOnScreenView(selectedPosition));
+        schedulePrefetch();
+        return true;
+    }
+
+    /**
+     * @param scrollVelocity in pixels per second, a negative velocity moves towards the end of the adapter
+     */
+    public void setScrollVelocity(final float scrollVelocity) {
+        mScrollVelocity = scrollVelocity;
+    }
+
+    private void schedulePrefetch() {
+        final int prefetchDistance = mLayoutManagerAttributes.getPrefetchDistance();
+        if (prefetchDistance <= 0 || mScrollVelocity == 0) return;
+
+        mPrefetchScheduler.schedule();
+    }
+
+    /**
+     * Builds and measures the cells that are about to scroll into view, in the idle time after a frame, so that
+     * layoutCells only has to attach them. A cell is only started when the recent cost of its view type fits before
+     * the deadline, the rest continues after the next frame.
+     *
+     * @param deadlineNanos when the next frame starts, in the time base of {@link System#nanoTime()}
+     */
+    void prefetchCells(final long deadlineNanos) {
+        final int prefetchDistance = mLayoutManagerAttributes.getPrefetchDistance();
+        final Move move = getMove((int) Math.signum(mScrollVelocity));
+        if (prefetchDistance <= 0 || move == Move.none || mCells.isEmpty()) return;
+
+        if (move != mPrefetchMove) {
+            recyclePrefetchedCells();
+            mPrefetchMove = move;
+        }
+
+        final int adapterCount = mAdapterViewManager.getAdapterCount();
+        final int cellCount = getCellCount();
+        while (mPrefetchedCells.size() < prefetchDistance) {
+            final int numberOfCells = mCells.size() + mPrefetchedCells.size();
+            if (cellCount != -1 && numberOfCells >= cellCount) return;
+
+            final int cellPosition = getPrefetchCellPosition(move, mPrefetchedCells.size());
+            if (cellPosition == INVALID_POSITION) return;
+
+            final int adapterPosition = getFirstAdapterPositionInCell(cellPosition);
+            final boolean isOutOfBounds = adapterPosition < 0 || adapterPosition >= adapterCount;
+            if (isOutOfBounds || isPositionBeingDrawn(adapterPosition)) return;
+
+            final int viewType = mAdapterViewManager.getItemViewType(adapterPosition);
+            if (!mCellCreationCosts.fits(viewType, System.nanoTime(), deadlineNanos)) {
+                schedulePrefetch();
+                return;
+            }
+
+            if (mPrefetchedCells.isEmpty()) mPrefetchCellPosition = cellPosition;
+            mPrefetchedCells.add(createCell(adapterPosition));
+        }
+    }
+
+    /**
+     * @param index how many cells past the visible edge
+     */
+    private int getPrefetchCellPosition(final Move move, final int index) {
+        final int cellCount = getCellCount();
+        int cellPosition;
+        if (move == Move.back) {
+            cellPosition = mStartCellPosition + mCells.size() + index;
+        } else {
+            cellPosition = mStartCellPosition - 1 - index;
+        }
+
+        final boolean isCircularScroll = mLayoutManagerAttributes.isCircularScroll();
+        if (isCircularScroll && cellCount > 0) {
+            cellPosition = (cellPosition % cellCount + cellCount) % cellCount;
+        }
+
+        final boolean isOutOfBounds = cellPosition < 0 || (cellCount != -1 && cellPosition >= cellCount);
+        if (isOutOfBounds) return INVALID_POSITION;
+        return cellPosition;
+    }
+
+    /**
+     * @param move the direction layoutCells is adding cells in, Move.back when adding after the last cell
+     * @return the prefetched cell when it is the one requested, otherwise a newly built cell
+     */
+    private Cell obtainCell(final Move move, final int cellPosition, final int adapterPosition) {
+        final boolean isPrefetchingThisWay = move == mPrefetchMove && !mPrefetchedCells.isEmpty();
+        if (isPrefetchingThisWay) {
+            if (mPrefetchCellPosition == cellPosition) {
+                final Cell cell = mPrefetchedCells.remove(0);
+                mPrefetchCellPosition = move == Move.back ? incrementCellPosition(cellPosition) : decrementCellPosition(cellPosition);
+                return cell;
+            }
+            recyclePrefetchedCells();
+        }
+
+        return createCell(adapterPosition);
+    }
+
+    private void recyclePrefetchedCells() {
+        for (int cellIndex = 0; cellIndex < mPrefetchedCells.size(); cellIndex++) {
+            final Cell cell = mPrefetchedCells.get(cellIndex);
+            recycleCellViews(cell);
+        }
+        mPrefetchedCells.clear();
+        mPrefetchCellPosition = INVALID_POSITION;
+    }
+
+    /**
+     * @return true when the animation continues the one applied on the previous frame
+     */
+    private boolean trackAnimation(final Animation animation, final int size) {
+        final int displacement = animation.getDisplacement();
+        final int animationId = animation.getId();
+        final boolean continuedAnimation = animationId == mAnimationId;
+
+        if (!continuedAnimation && !mCells.isEmpty()) {
+            mAnimationId = animationId;
+            mViewPageDistance = getViewPageDistance(size);
+            mAnimationDisplacement = displacement;
+        } else if (continuedAnimation) mAnimationDisplacement += displacement;
+
+        return continuedAnimation;
     }
 
 
@@ -257,8 +535,11 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
 
     }
 
+    /**
+     * @return the first cell of the adapter when it is attached, a cell parked in the extended viewport is off screen
+     */
     private Cell getFirstCell() {
-        if (mStartCellPosition == 0) {
+        if (mStartCellPosition == 0 && !isCellDetached(mCells.get(0))) {
             return mCells.get(0);
         }
         return null;
@@ -271,7 +552,8 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
             return null;
         }
 
-        return mCells.get(size - 1);
+        final Cell cell = mCells.get(size - 1);
+        return isCellDetached(cell) ? null : cell;
     }
 
     private void checkSelectWhileScrollingAttribute(final int newWidth) {
@@ -286,7 +568,8 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
     private int getViewPageDistance(final int size) {
         final int cellSpacing = mLayoutManagerAttributes.getCellSpacing();
         int viewPageDistance = 0;
-        for (final Cell cell : mCells) {
+        for (int cellIndex = 0; cellIndex < mCells.size(); cellIndex++) {
+            final Cell cell = mCells.get(cellIndex);
             final int start = getCellStart(cell) - cellSpacing;
             final int end = getCellEnd(cell) + cellSpacing;
 
@@ -314,7 +597,8 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
         Cell nearestCell = null;
         int nearestCellDistance = Integer.MAX_VALUE;
 
-        for (final Cell currentCell : mCells) {
+        for (int currentCellIndex = 0; currentCellIndex < mCells.size(); currentCellIndex++) {
+            final Cell currentCell = mCells.get(currentCellIndex);
             final int cellSpacing = mLayoutManagerAttributes.getCellSpacing();
             final int currentViewDistance = mSnapPositionInterface.getCellDistanceFromSnapPosition(this, size, currentCell, cellSpacing);
             final boolean currentViewIsCloser = currentViewDistance < nearestCellDistance;
@@ -340,6 +624,11 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
         return overDrawAdjust;
     }
 
+    public SnapPosition getSnapPosition() {
+        final boolean isCircularScroll = mLayoutManagerAttributes.isCircularScroll();
+        return getSnapPosition(isCircularScroll);
+    }
+
     private SnapPosition getSnapPosition(final boolean isCircularScroll) {
         if (isCircularScroll) return SnapPosition.onScreenWithCellSpacing;
         return mLayoutManagerAttributes.getSnapPosition();
@@ -349,8 +638,11 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
     public int getCellSizeTotal() {
         final int cellSpacing = mLayoutManagerAttributes.getCellSpacing() * 2;
         int viewSizeTotal = 0;
-        for (final Cell cell : mCells)
+        for (int cellIndex = 0; cellIndex < mCells.size(); cellIndex++) {
+            final Cell cell = mCells.get(cellIndex);
+            if (isCellDetached(cell)) continue;
             viewSizeTotal += getCellSize(cell) + cellSpacing;
+        }
         return viewSizeTotal;
     }
 
@@ -382,7 +674,7 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
         final Cell cell = mCells.get(index);
         final View view = getLastAdapterPositionView(cell);
 
-        final int position = mPositions.get(view);
+        final int position = mPositionIndex.getPosition(view);
         final boolean isLastPosition = position == mAdapterViewManager.getAdapterCount() - 1;
         if (!isLastPosition) {
             return 0;
@@ -418,7 +710,7 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
 
         final View firstViewInCell = getFirstAdapterPositionView(cell);
 
-        final int position = mPositions.get(firstViewInCell);
+        final int position = mPositionIndex.getPosition(firstViewInCell);
         final boolean isFirstPosition = position == 0;
         if (!isFirstPosition) {
             return 0;
@@ -471,49 +763,165 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
         return mAdapterViewManager.getAdapterCount();
     }
 
+    /**
+     * @return true when the adapter has an item at the position
+     */
+    public boolean isPositionInAdapter(final int position) {
+        return position >= 0 && position < mAdapterViewManager.getAdapterCount();
+    }
+
+    /**
+     * A frame can skip layoutCells when the only thing that changed is the offset, in that case the cells are simply
+     * displaced. Mirrors the geometry of layoutCells, any cell that would be added, removed or laid out differently
+     * forces a full layout.
+     */
+    private boolean canOffsetCells(final boolean changed, final int size, final int breadth, final int offset, final int centerOffset) {
+        if (changed || mCells.isEmpty() || mIsDataSetChangePending) return false;
+        if (isDirty(DIRTY_VIEWPORT_SIZE | DIRTY_DATA | DIRTY_ITEMS)) return false;
+        if (size != mLaidOutSize || breadth != mLaidOutBreadth) return false;
+        if (isDirty(DIRTY_SELECTION) || mSelectedPositionManager.getSelectedPosition() != mLaidOutSelectedPosition) return false;
+
+        final boolean isCircularScroll = mLayoutManagerAttributes.isCircularScroll();
+        final int cellCount = getCellCount();
+        final boolean hasCellsBefore = isCircularScroll || mStartCellPosition > 0;
+        final boolean hasCellsAfter = isCircularScroll || cellCount == -1 || mStartCellPosition + mCells.size() < cellCount;
+
+        if (hasCellsBefore && offset > centerOffset) return false;
+
+        final int cellSpacing = mLayoutManagerAttributes.getCellSpacing();
+        final int extendedViewportSize = mLayoutManagerAttributes.getExtendedViewportSize();
+        final int extendedViewportCells = mLayoutManagerAttributes.getExtendedViewportCells();
+        int hiddenCellsBehind = getHiddenCellsBehind(offset, centerOffset, cellSpacing);
+        int hiddenCellsAhead = 0;
+        int currentOffset = offset;
+        final int numberOfCells = mCells.size();
+        for (int index = 0; index < numberOfCells; index++) {
+            final Cell cell = mCells.get(index);
+            final int cellStart = currentOffset + cellSpacing;
+            final int cellEnd = cellStart + getCellSize(cell);
+            currentOffset = cellEnd;
+
+            if (cellStart - cellSpacing > size + centerOffset) hiddenCellsAhead++;
+            final boolean cellIsOffScreenBehind = cellEnd < centerOffset - extendedViewportSize && hiddenCellsBehind > extendedViewportCells;
+            final boolean cellIsOffScreenAhead = cellStart - cellSpacing > size + centerOffset + extendedViewportSize && hiddenCellsAhead > extendedViewportCells;
+            if (cellIsOffScreenBehind || cellIsOffScreenAhead) return false;
+            if (cellEnd < centerOffset) hiddenCellsBehind--;
+            if (isCellVisible(cellStart, cellEnd, size, centerOffset, cellSpacing) == isCellDetached(cell)) return false;
+            if (isCellLayoutRequested(cell)) return false;
+        }
+
+        final boolean hasRoomForCell = currentOffset + cellSpacing <= size + centerOffset;
+        return !(hasCellsAfter && hasRoomForCell);
+    }
+
+    /**
+     * @return the number of laid out cells that end before the viewport, the loop stops at the first visible cell
+     */
+    private int getHiddenCellsBehind(final int offset, final int centerOffset, final int cellSpacing) {
+        int hiddenCells = 0;
+        int currentOffset = offset;
+        for (int index = 0; index < mCells.size(); index++) {
+            currentOffset += cellSpacing + getCellSize(mCells.get(index));
+            if (currentOffset >= centerOffset) break;
+            hiddenCells++;
+        }
+        return hiddenCells;
+    }
+
+    private boolean isCellVisible(final int cellStart, final int cellEnd, final int size, final int centerOffset, final int cellSpacing) {
+        return cellEnd >= centerOffset && cellStart - cellSpacing <= size + centerOffset;
+    }
+
+    private boolean isCellDetached(final Cell cell) {
+        return mPositionIndex.isDetached(getView(cell));
+    }
+
+    private boolean isCellLayoutRequested(final Cell cell) {
+        final List<View> views = getViews(cell);
+        for (int viewIndex = 0; viewIndex < views.size(); viewIndex++) {
+            final View view = views.get(viewIndex);
+            if (view.isLayoutRequested()) return true;
+        }
+        return false;
+    }
+
+    private void offsetCells(final int displacement) {
+        if (displacement == 0) return;
+
+        for (int cellIndex = 0; cellIndex < mCells.size(); cellIndex++) {
+            final Cell cell = mCells.get(cellIndex);
+            offsetCell(cell, displacement);
+        }
+    }
+
+    /**
+     * Moves an already laid out cell along the scroll direction without laying it out again.
+     */
+    protected void offsetCell(final Cell cell, final int displacement) {
+        final List<View> views = getViews(cell);
+        for (int viewIndex = 0; viewIndex < views.size(); viewIndex++) {
+            final View view = views.get(viewIndex);
+            mScrollDirectionManager.offsetView(view, displacement);
+        }
+    }
+
     /**
      * When moving left, every time a view is removed, this means that we are removing the leftMost view and therefore have to increment the mOffset by the removed view's width
+     * <p/>
+     * Cells that leave the viewport but stay within the extended viewport size, or within the extended viewport cells
+     * of its edge, are kept laid out and detached from the view group, scrolling back to them only attaches them again
+     * instead of rebinding.
      */
     private void layoutCells(final AdapterViewHandler adapterViewHandler, final int size, final int breadth, final int centerOffset) {
+        if (breadth != mLaidOutBreadth) {
+            resetCellSizes();
+            resetFixedCellSize();
+        }
+
         final int cellSpacing = mLayoutManagerAttributes.getCellSpacing();
+        final int extendedViewportSize = mLayoutManagerAttributes.getExtendedViewportSize();
+        final int extendedViewportCells = mLayoutManagerAttributes.getExtendedViewportCells();
+        int hiddenCellsBehind = getHiddenCellsBehind(mOffset, centerOffset, cellSpacing);
+        int hiddenCellsAhead = 0;
         int currentOffset = mOffset;
         int endCellPosition = mStartCellPosition;
+        int attachedViewCount = 0;
 
-        for (final Cell cell : new ArrayList<Cell>(mCells)) {
+        int cellIndex = 0;
+        while (cellIndex < mCells.size()) {
+            final Cell cell = mCells.get(cellIndex);
             final int cellStart = currentOffset + cellSpacing;
             final int cellSize = getCellSize(cell);
             final int cellEnd = cellStart + cellSize;
 
             currentOffset = cellEnd;
-            final boolean cellIsOffScreenBehind = currentOffset < centerOffset;
-            final boolean cellIsOffScreenAhead = cellStart - cellSpacing > size + centerOffset;
+            if (cellStart - cellSpacing > size + centerOffset) hiddenCellsAhead++;
+            final boolean cellIsOffScreenBehind = currentOffset < centerOffset - extendedViewportSize && hiddenCellsBehind > extendedViewportCells;
+            final boolean cellIsOffScreenAhead = cellStart - cellSpacing > size + centerOffset + extendedViewportSize && hiddenCellsAhead > extendedViewportCells;
+            if (currentOffset < centerOffset) hiddenCellsBehind--;
 
             if (cellIsOffScreenBehind) {
                 mOffset = currentOffset;
-                mCells.remove(cell);
-
-                final List<View> viewsToRemove = getViews(cell);
-                for (final View view : viewsToRemove) {
-                    adapterViewHandler.removeViewInAdapterView(view);
-                    mAdapterViewManager.recycle(view);
-                    mPositions.remove(view);
-                }
+                mCells.remove(cellIndex);
+                removeCell(adapterViewHandler, cell, true);
 
                 incrementStartCellPosition();
                 endCellPosition = incrementCellPosition(endCellPosition);
             } else if (cellIsOffScreenAhead) {
-                mCells.remove(cell);
-
-                final List<View> viewsToRemove = getViews(cell);
-                for (final View view : viewsToRemove) {
-                    adapterViewHandler.removeViewInAdapterView(view);
-                    mAdapterViewManager.recycle(view);
-                    mPositions.remove(view);
+                // every cell after this one is further ahead, remove them from the end so the window stays contiguous
+                for (int index = mCells.size() - 1; index >= cellIndex; index--) {
+                    removeCell(adapterViewHandler, mCells.remove(index), false);
                 }
             } else {
                 final int firstViewInCell = getFirstAdapterPositionInCell(endCellPosition);
                 layoutCell(cell, cellStart, cellEnd, firstViewInCell, breadth, cellSpacing);
+                recordCellSize(endCellPosition, firstViewInCell, cellSize);
+
+                final boolean isCellVisible = isCellVisible(cellStart, cellEnd, size, centerOffset, cellSpacing);
+                attachedViewCount = updateCellAttachment(adapterViewHandler, cell, isCellVisible, attachedViewCount);
+
                 endCellPosition = incrementCellPosition(endCellPosition);
+                cellIndex++;
             }
         }
 
@@ -526,7 +934,7 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
             final boolean isPositionBeingDrawn = isPositionBeingDrawn(firstAdapterPosition);
             if (isPositionBeingDrawn) break;
 
-            final Cell cell = getCell(firstAdapterPosition);
+            final Cell cell = obtainCell(Move.back, endCellPosition, firstAdapterPosition);
 
             final int cellStart = currentOffset + cellSpacing;
             final int cellSize = getCellSize(cell);
@@ -537,22 +945,22 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
 
             if (removeCell) {
                 mOffset = currentOffset;
-                final List<View> views = getViews(cell);
-                for (final View view : views) {
-                    mAdapterViewManager.recycle(view);
-                }
+                recycleCellViews(cell);
                 incrementStartCellPosition();
             } else {
 
                 layoutCell(cell, cellStart, cellEnd, firstAdapterPosition, breadth, cellSpacing);
+                recordCellSize(endCellPosition, firstAdapterPosition, cellSize);
 
-                final int drawCellPosition = mCells.size();
-                int drawPosition = getDrawPosition(mCells, drawCellPosition);
+                // cells parked detached in the extended viewport are not children, only attached views count
+                int drawPosition = attachedViewCount;
+                attachedViewCount += getViews(cell).size();
                 int position = firstAdapterPosition;
                 final List<View> views = getViews(cell);
-                for (final View view : views) {
-                    adapterViewHandler.addViewInAdapterView(view, drawPosition++, view.getLayoutParams());
-                    mPositions.put(view, position++);
+                for (int viewIndex = 0; viewIndex < views.size(); viewIndex++) {
+                    final View view = views.get(viewIndex);
+                    addView(adapterViewHandler, view, drawPosition++);
+                    mPositionIndex.addLast(view, position++);
                 }
 
                 mCells.add(cell);
@@ -572,7 +980,7 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
             final boolean isPositionBeingDrawn = isPositionBeingDrawn(adapterPosition);
             if (isPositionBeingDrawn) break;
 
-            final Cell cell = getCell(adapterPosition);
+            final Cell cell = obtainCell(Move.forward, cellPosition, adapterPosition);
 
             final int cellEnd = currentOffset;
             final int cellSize = getCellSize(cell);
@@ -583,35 +991,422 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
 
             if (cellIsOnScreen) {
                 layoutCell(cell, cellStart, cellEnd, cellPosition, breadth, cellSpacing);
+                recordCellSize(cellPosition, adapterPosition, cellSize);
 
-                int position = adapterPosition;
                 int drawPosition = 0;
                 final List<View> views = getViews(cell);
-                for (final View view : views) {
-                    adapterViewHandler.addViewInAdapterView(view, drawPosition++, view.getLayoutParams());
-                    mPositions.put(view, position++);
+                for (int viewIndex = 0; viewIndex < views.size(); viewIndex++) {
+                    final View view = views.get(viewIndex);
+                    addView(adapterViewHandler, view, drawPosition++);
+                }
+                for (int index = views.size() - 1; index >= 0; index--) {
+                    mPositionIndex.addFirst(views.get(index), adapterPosition + index);
                 }
                 mCells.add(0, cell);
                 mStartCellPosition = cellPosition;
             } else {
-                final List<View> views = getViews(cell);
-                for (final View view : views) {
-                    mAdapterViewManager.recycle(view);
-                }
+                recycleCellViews(cell);
             }
             cellPosition = decrementCellPosition(cellPosition);
         }
         mOffset = currentOffset;
+
+        mLaidOutSize = size;
+        mLaidOutBreadth = breadth;
+        mLaidOutSelectedPosition = mSelectedPositionManager.getSelectedPosition();
+        mLaidOutAdapterCount = mAdapterViewManager.getAdapterCount();
+        if (!mCells.isEmpty()) mMeasuredBreadthConstraint = getBreadthMeasureConstraint();
+        mDirtyFlags = 0;
     }
 
     protected abstract int getLastAdapterPositionInCell(final int cellPosition);
 
-    private boolean isPositionBeingDrawn(final int position) {
-        for (final Integer mappedPosition : mPositions.values()) {
-            if (position == mappedPosition) return true;
+    private void recordCellSize(final int cellPosition, final int firstAdapterPosition, final int cellSize) {
+        final int cellCount = getCellCount();
+        if (mCellSizeIndex.getCellCount() != cellCount) resetCellSizes();
+
+        final int viewType = mAdapterViewManager.getItemViewType(firstAdapterPosition);
+        mCellSizeIndex.record(cellPosition, viewType, cellSize);
+    }
+
+    /**
+     * With several view types the type of every cell is looked up once, so unmeasured cells are estimated per type.
+     */
+    private void resetCellSizes() {
+        if (mAdapterViewManager.getViewTypeCount() > 1) {
+            mCellSizeIndex.reset(getCellCount(), mCellViewTypes);
+        } else {
+            mCellSizeIndex.reset(getCellCount());
         }
+    }
 
-        return false;
+    private void setCellViewTypes(final int cellPosition, final int count) {
+        if (mAdapterViewManager.getViewTypeCount() <= 1) return;
+
+        for (int index = cellPosition; index < cellPosition + count; index++) {
+            mCellSizeIndex.setViewType(index, mCellViewTypes.getViewType(index));
+        }
+    }
+
+    /**
+     * @return pixels from the start of the content to the start of the cell holding the position, cells that were
+     * never laid out are estimated from the ones that were
+     */
+    public int getEstimatedOffset(final int adapterPosition) {
+        final int cellPosition = getCellPosition(adapterPosition);
+        final int cellSpacing = mLayoutManagerAttributes.getCellSpacing();
+        return (int) getCellOffset(cellPosition, cellSpacing) + cellSpacing;
+    }
+
+    /**
+     * @return the first adapter position of the cell found at the pixel offset from the start of the content
+     */
+    public int getEstimatedPosition(final int pixelOffset) {
+        final int cellSpacing = mLayoutManagerAttributes.getCellSpacing();
+        final int cellPosition = getCellPositionAt(pixelOffset, cellSpacing);
+        return getFirstAdapterPositionInCell(cellPosition);
+    }
+
+    /**
+     * @return estimated pixel size of the whole content, including cell spacing at both ends
+     */
+    public int getEstimatedContentSize() {
+        final int cellSpacing = mLayoutManagerAttributes.getCellSpacing();
+        return (int) getCellOffset(getCellCount(), cellSpacing) + cellSpacing;
+    }
+
+    /**
+     * @return estimated number of pixels the content has been scrolled past the start of the view group
+     */
+    public int getEstimatedScrollOffset() {
+        if (mCells.isEmpty()) return 0;
+        final int cellSpacing = mLayoutManagerAttributes.getCellSpacing();
+        return (int) getCellOffset(mStartCellPosition, cellSpacing) - mOffset;
+    }
+
+    /**
+     * Starts a smooth scroll. When the position is more than a couple of screens away the cells are recycled and
+     * drawing restarts one screen short of it, so the cells in between are never bound.
+     *
+     * @return pixels to move the content by so the position reaches the snap position, 0 when the adapter has no item
+     * at the position
+     */
+    public int prepareSmoothScroll(final int position, final SnapPosition snapPosition, final int size) {
+        if (!isPositionInAdapter(position)) return 0;
+
+        final int distance = getSmoothScrollDistance(position, snapPosition, size);
+        final boolean isFarAway = Math.abs(distance) > SMOOTH_SCROLL_JUMP_THRESHOLD_IN_SCREENS * size;
+        if (!isFarAway || mLayoutManagerAttributes.isCircularScroll() || isPositionBeingDrawn(position)) return distance;
+
+        final int cellSpacing = mLayoutManagerAttributes.getCellSpacing();
+        final int targetCellPosition = getCellPosition(position);
+        final long targetOffset = getCellOffset(targetCellPosition, cellSpacing);
+        final long jumpOffset = distance < 0 ? targetOffset - size : targetOffset + size;
+        final int jumpCellPosition = getCellPositionAt(Math.max(jumpOffset, 0), cellSpacing);
+
+        final AdapterViewHandler adapterViewHandler = (AdapterViewHandler) mViewGroup;
+        recycleCells(adapterViewHandler);
+        mStartCellPosition = jumpCellPosition;
+        mOffset = 0;
+        mViewGroup.requestLayout();
+
+        return getSmoothScrollDistance(position, snapPosition, size);
+    }
+
+    /**
+     * @return pixels to move the content by so the position reaches the snap position, exact when the position is
+     * on screen and estimated from the measured cell sizes otherwise
+     */
+    public int getSmoothScrollDistance(final int position, final SnapPosition snapPosition, final int size) {
+        if (!isPositionInAdapter(position)) return 0;
+
+        final int cellSpacing = mLayoutManagerAttributes.getCellSpacing();
+        final boolean isOnScreenSnapPosition = snapPosition == SnapPosition.onScreen || snapPosition == SnapPosition.onScreenWithCellSpacing;
+        final int onScreenInset = snapPosition == SnapPosition.onScreenWithCellSpacing ? cellSpacing : 0;
+        final View view = getOnScreenView(position);
+        if (view != null && isOnScreenSnapPosition) {
+            // scroll only as far as needed to bring the view fully on screen
+            final int viewStart = mScrollDirectionManager.getViewStart(view);
+            final int viewEnd = mScrollDirectionManager.getViewEnd(view);
+            if (viewStart < onScreenInset) return onScreenInset - viewStart;
+            if (viewEnd > size - onScreenInset) return size - onScreenInset - viewEnd;
+            return 0;
+        } else if (view != null) {
+            final SnapPositionInterface<Cell> snapPositionInterface = getSnapPositionInterface(snapPosition);
+            return snapPositionInterface.getSnapToPixelDistance(this, mScrollDirectionManager, size, view, cellSpacing);
+        }
+
+        final int targetCellPosition = getCellPosition(position);
+        final long targetOffset = getCellOffset(targetCellPosition, cellSpacing);
+        final long startOffset = getCellOffset(mStartCellPosition, cellSpacing);
+        final int targetStart = (int) (targetOffset - startOffset) + mOffset + cellSpacing;
+
+        final int viewType = mAdapterViewManager.getItemViewType(position);
+        final int targetSize = isFixedCellSizeKnown() ? getFixedCellSize() : mCellSizeIndex.getSize(targetCellPosition, viewType);
+        final boolean isTargetAhead = targetCellPosition >= mStartCellPosition;
+
+        final int snapStart;
+        switch (snapPosition) {
+            case center:
+                snapStart = (size - targetSize) / 2;
+                break;
+            case floatEnd:
+                snapStart = size - targetSize;
+                break;
+            case floatEndWithCellSpacing:
+                snapStart = size - targetSize - cellSpacing;
+                break;
+            case floatStart:
+                snapStart = 0;
+                break;
+            case floatStartWithCellSpacing:
+                snapStart = cellSpacing;
+                break;
+            default:
+                snapStart = isTargetAhead ? size - targetSize - onScreenInset : onScreenInset;
+                break;
+        }
+
+        return snapStart - targetStart;
+    }
+
+    public boolean isPositionDrawn(final int position) {
+        return isPositionBeingDrawn(position);
+    }
+
+    /**
+     * Cells prefetched past either edge are drawn but not visible, only cells overlapping the view group count.
+     *
+     * @return the first adapter position on screen, or {@link #INVALID_POSITION} when nothing is
+     */
+    public int getFirstVisiblePosition(final int size) {
+        for (int cellIndex = 0; cellIndex < mCells.size(); cellIndex++) {
+            final Cell cell = mCells.get(cellIndex);
+            if (isCellOnScreen(cell, size)) return getPosition(getFirstView(cell));
+        }
+        return INVALID_POSITION;
+    }
+
+    /**
+     * @return the last adapter position on screen, or {@link #INVALID_POSITION} when nothing is
+     */
+    public int getLastVisiblePosition(final int size) {
+        for (int cellIndex = mCells.size() - 1; cellIndex >= 0; cellIndex--) {
+            final Cell cell = mCells.get(cellIndex);
+            if (!isCellOnScreen(cell, size)) continue;
+
+            final List<View> views = getViews(cell);
+            return getPosition(views.get(views.size() - 1));
+        }
+        return INVALID_POSITION;
+    }
+
+    private boolean isCellOnScreen(final Cell cell, final int size) {
+        if (isCellDetached(cell)) return false;
+        return getCellEnd(cell) > 0 && getCellStart(cell) < size;
+    }
+
+    /**
+     * Finds the touched view by binary searching the cells, which are ordered along the scroll axis, instead of
+     * testing every child. Views can reach past their cell so the cells on either side are tested as well.
+     *
+     * @return the attached view under the point, in the view group's coordinates, or null
+     */
+    public View getViewAt(final float x, final float y) {
+        final float touch = isVerticalScroll() ? y : x;
+        int low = 0;
+        int high = mCells.size() - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (getCellEnd(mCells.get(middle)) < touch) low = middle + 1;
+            else high = middle - 1;
+        }
+
+        // low is the first cell ending past the touch
+        View view = getViewAt(low, x, y);
+        if (view == null) view = getViewAt(low - 1, x, y);
+        if (view == null) view = getViewAt(low + 1, x, y);
+        return view;
+    }
+
+    private View getViewAt(final int cellIndex, final float x, final float y) {
+        if (cellIndex < 0 || cellIndex >= mCells.size()) return null;
+
+        final Cell cell = mCells.get(cellIndex);
+        if (isCellDetached(cell)) return null;
+        return getViewAt(cell, x, y);
+    }
+
+    /**
+     * Hit tests the views themselves rather than the cell, so views reaching past their cell are still found.
+     *
+     * @return the topmost view of the cell under the point, or null
+     */
+    private View getViewAt(final Cell cell, final float x, final float y) {
+        final List<View> views = getViews(cell);
+        for (int index = views.size() - 1; index >= 0; index--) {
+            final View view = views.get(index);
+            if (ViewGroupUtilities.isPointInView(view, x, y)) return view;
+        }
+        return null;
+    }
+
+    /**
+     * Resolves where a fling lands from the cell sizes: the cell nearest to the snap position once the content moved
+     * by the fling distance is the one snapped to. Snap positions that only keep cells on screen never snap after a
+     * fling, the fling distance is kept for those.
+     *
+     * @return pixels to move the content by so the fling comes to rest with that cell at the snap position
+     */
+    public int getPredictiveSnapDistance(final int flingDistance, final int size) {
+        final int cellCount = getCellCount();
+        if (!mLayoutManagerAttributes.isSnapToPosition() || mCells.isEmpty() || cellCount <= 0) return flingDistance;
+
+        final SnapPosition snapPosition = getSnapPosition();
+        final int anchor;
+        switch (snapPosition) {
+            case center:
+                anchor = size / 2;
+                break;
+            case floatStart:
+            case floatStartWithCellSpacing:
+                anchor = 0;
+                break;
+            case floatEnd:
+            case floatEndWithCellSpacing:
+                anchor = size;
+                break;
+            default:
+                return flingDistance;
+        }
+
+        final int cellSpacing = mLayoutManagerAttributes.getCellSpacing();
+        final long landingOffset = (long) getEstimatedScrollOffset() - flingDistance + anchor;
+        final int landingCellPosition = getCellPositionAt(Math.max(landingOffset, 0), cellSpacing);
+
+        // the anchor can fall past the middle of the cell, either neighbour may be the nearer one
+        int snapDistance = flingDistance;
+        long nearestMiss = Long.MAX_VALUE;
+        for (int cellPosition = landingCellPosition - 1; cellPosition <= landingCellPosition + 1; cellPosition++) {
+            if (cellPosition < 0 || cellPosition >= cellCount) continue;
+
+            final int position = getFirstAdapterPositionInCell(cellPosition);
+            final int distance = getSmoothScrollDistance(position, snapPosition, size);
+            final long miss = Math.abs((long) distance - flingDistance);
+            if (miss < nearestMiss) {
+                nearestMiss = miss;
+                snapDistance = distance;
+            }
+        }
+        return snapDistance;
+    }
+
+    /**
+     * @return pixels from the start of the content to where the cell's leading cell spacing begins, O(1) when the
+     * cells have a fixed size
+     */
+    private long getCellOffset(final int cellPosition, final int cellSpacing) {
+        if (isFixedCellSizeKnown()) {
+            final int cellCount = Math.max(getCellCount(), 0);
+            final int position = Math.max(Math.min(cellPosition, cellCount), 0);
+            return (long) position * (getFixedCellSize() + cellSpacing);
+        }
+        return mCellSizeIndex.getOffset(cellPosition, cellSpacing);
+    }
+
+    private int getCellPositionAt(final long offset, final int cellSpacing) {
+        if (isFixedCellSizeKnown()) {
+            final int cellCount = Math.max(getCellCount(), 1);
+            final int cellSizeWithSpacing = Math.max(getFixedCellSize() + cellSpacing, 1);
+            final long cellPosition = Math.max(offset, 0) / cellSizeWithSpacing;
+            return (int) Math.min(cellPosition, cellCount - 1);
+        }
+        return mCellSizeIndex.getCellPosition(offset, cellSpacing);
+    }
+
+    CellSizeIndex getCellSizeIndex() {
+        return mCellSizeIndex;
+    }
+
+    CellCreationCosts getCellCreationCosts() {
+        return mCellCreationCosts;
+    }
+
+    /**
+     * Attaches a cell that scrolled back into the viewport or detaches one that left it.
+     *
+     * @param attachedViewCount number of views attached for the cells before this one
+     * @return number of views attached up to and including this cell
+     */
+    private int updateCellAttachment(final AdapterViewHandler adapterViewHandler, final Cell cell, final boolean isCellVisible, final int attachedViewCount) {
+        final List<View> views = getViews(cell);
+        final boolean isCellDetached = isCellDetached(cell);
+
+        if (isCellVisible && isCellDetached) {
+            int drawPosition = attachedViewCount;
+            for (int viewIndex = 0; viewIndex < views.size(); viewIndex++) {
+                final View view = views.get(viewIndex);
+                adapterViewHandler.attachViewInAdapterView(view, drawPosition++, view.getLayoutParams());
+                mPositionIndex.setDetached(view, false);
+            }
+        } else if (!isCellVisible && !isCellDetached) {
+            for (int viewIndex = 0; viewIndex < views.size(); viewIndex++) {
+                final View view = views.get(viewIndex);
+                adapterViewHandler.detachViewInAdapterView(view);
+                mPositionIndex.setDetached(view, true);
+            }
+        }
+
+        return isCellVisible ? attachedViewCount + views.size() : attachedViewCount;
+    }
+
+    /**
+     * @param isFirstCell views are taken off the front of the position index when true and off the back otherwise, keeping removal O(1)
+     */
+    private void removeCell(final AdapterViewHandler adapterViewHandler, final Cell cell, final boolean isFirstCell) {
+        final List<View> views = getViews(cell);
+        final int count = views.size();
+        for (int step = 0; step < count; step++) {
+            final int index = isFirstCell ? step : count - 1 - step;
+            final View view = views.get(index);
+            adapterViewHandler.removeViewInAdapterView(view);
+            mAdapterViewManager.recycle(view);
+            mPositionIndex.remove(view);
+        }
+        recycleCell(cell);
+    }
+
+    /**
+     * Recycles the views of a cell that was never attached. A scrapped view is still a detached child, it goes back to
+     * the scrap until {@link #removeScrapViews} removes it.
+     */
+    private void recycleCellViews(final Cell cell) {
+        final List<View> views = getViews(cell);
+        for (int viewIndex = 0; viewIndex < views.size(); viewIndex++) {
+            final View view = views.get(viewIndex);
+            if (AdapterViewLayoutParams.from(view).hasFlag(AdapterViewLayoutParams.FLAG_SCRAP)) {
+                mAdapterViewManager.scrap(view);
+            } else {
+                mAdapterViewManager.recycle(view);
+            }
+        }
+        recycleCell(cell);
+    }
+
+    /**
+     * Called once a cell's views have been recycled and the cell itself is no longer referenced, subclasses can keep
+     * the container for a later {@link #getCell(int)} instead of allocating a new one.
+     */
+    protected void recycleCell(final Cell cell) {
+    }
+
+    private boolean isPositionBeingDrawn(final int position) {
+        final int adapterCount = mAdapterViewManager.getAdapterCount();
+        return mPositionIndex.contains(position, adapterCount);
+    }
+
+    ViewPositionIndex getPositionIndex() {
+        return mPositionIndex;
     }
 
     private int incrementCellPosition(int endCellPosition) {
@@ -674,8 +1469,7 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
     }
 
     public int getPosition(final View view) {
-        if (mPositions.containsKey(view)) return mPositions.get(view);
-        return INVALID_POSITION;
+        return mPositionIndex.getPosition(view);
     }
 
     public int getViewPagerScrollDistance(final Move move) {
@@ -706,8 +1500,34 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
     }
 
 
+    /**
+     * Only marks the data as changed, however many notifications arrive before the next frame they are handled once
+     * by {@link #processPendingDataSetChange()} when the view group is measured or laid out.
+     */
     @Override
     protected void onDataSetChanged() {
+        mIsDataSetChangePending = true;
+        mViewGroup.requestLayout();
+        mViewGroup.invalidate();
+    }
+
+    public boolean isDataSetChangePending() {
+        return mIsDataSetChangePending;
+    }
+
+    /**
+     * Brings the cells in line with the adapter after one or more data set changes, keeping the view nearest to the
+     * snap position in place.
+     */
+    public void processPendingDataSetChange() {
+        if (!mIsDataSetChangePending) return;
+        mIsDataSetChangePending = false;
+        mAdapterViewManager.invalidateRecycledViews();
+
+        mDirtyFlags |= DIRTY_DATA;
+        recyclePrefetchedCells();
+        // measured sizes stay the best estimate for the same number of cells, they are measured again once laid out
+        if (mCellSizeIndex.getCellCount() != getCellCount()) resetCellSizes();
         if (mAdapterViewManager.isEmpty()) {
             mStartCellPosition = 0;
             mOffset = 0;
@@ -722,18 +1542,20 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
         final int adapterCount = mAdapterViewManager.getAdapterCount();
         final int lastItemIndex = adapterCount - 1;
 
-        final int size = mScrollDirectionManager.getViewGroupSize(mViewGroup);
-        final View nearestViewToSnapPosition = getNearestViewToSnapPosition(size);
-        final int positionOfNearestView = getPosition(nearestViewToSnapPosition);
+        if (!scrapCellsKeepingStableIds()) {
+            final int size = mScrollDirectionManager.getViewGroupSize(mViewGroup);
+            final View nearestViewToSnapPosition = getNearestViewToSnapPosition(size);
+            final int positionOfNearestView = getPosition(nearestViewToSnapPosition);
 
-        if (positionOfNearestView == INVALID_POSITION) return;
+            if (positionOfNearestView == INVALID_POSITION) return;
 
-        int incomingPosition = positionOfNearestView;
-        if (positionOfNearestView > lastItemIndex) incomingPosition = lastItemIndex;
+            int incomingPosition = positionOfNearestView;
+            if (positionOfNearestView > lastItemIndex) incomingPosition = lastItemIndex;
 
-        if (incomingPosition != INVALID_POSITION) {
-            final AdapterViewHandler adapterViewHandler = (AdapterViewHandler) mViewGroup;
-            jumpToPosition(adapterViewHandler, incomingPosition);
+            if (incomingPosition != INVALID_POSITION) {
+                final AdapterViewHandler adapterViewHandler = (AdapterViewHandler) mViewGroup;
+                jumpToPosition(adapterViewHandler, incomingPosition);
+            }
         }
 
         final int currentlySelectedPosition = mSelectedPositionManager.getSelectedPosition();
@@ -741,6 +1563,306 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
             mSelectedPositionManager.setSelectedPosition(lastItemIndex);
     }
 
+    /**
+     * With stable ids the drawn views are only detached from the view group. Layout attaches the views whose id is
+     * still in the adapter again, after handing them back to the adapter as convertView for that id. The first
+     * visible view whose id survived keeps its offset. Ids are only looked for as far as the drawn views plus the
+     * change in adapter count could have moved them, further away they count as removed.
+     *
+     * @return false when no drawn id survived, the caller then jumps to the nearest position instead
+     */
+    private boolean scrapCellsKeepingStableIds() {
+        if (!mAdapterViewManager.hasStableIds() || mLayoutManagerAttributes.isCircularScroll()) return false;
+
+        final int maxDistance = mPositionIndex.size() + Math.abs(mAdapterViewManager.getAdapterCount() - mLaidOutAdapterCount);
+        View anchorView = null;
+        int anchorPosition = INVALID_POSITION;
+        for (int cellIndex = 0; cellIndex < mCells.size() && anchorView == null; cellIndex++) {
+            final List<View> views = getViews(mCells.get(cellIndex));
+            for (int viewIndex = 0; viewIndex < views.size(); viewIndex++) {
+                final View view = views.get(viewIndex);
+                if (mPositionIndex.isDetached(view)) continue;
+
+                final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.from(view);
+                final int position = mAdapterViewManager.findPosition(layoutParams.getItemId(), layoutParams.getPosition(), maxDistance);
+                if (position == INVALID_POSITION) continue;
+
+                anchorView = view;
+                anchorPosition = position;
+                break;
+            }
+        }
+        if (anchorView == null) return false;
+
+        final int cellSpacing = mLayoutManagerAttributes.getCellSpacing();
+        mOffset = mSnapPositionInterface.getRedrawOffset(mScrollDirectionManager, anchorView, anchorView, cellSpacing);
+        mStartCellPosition = getCellPosition(anchorPosition);
+
+        final AdapterViewHandler adapterViewHandler = (AdapterViewHandler) mViewGroup;
+        for (int cellIndex = 0; cellIndex < mCells.size(); cellIndex++) {
+            final List<View> views = getViews(mCells.get(cellIndex));
+            for (int viewIndex = 0; viewIndex < views.size(); viewIndex++) {
+                final View view = views.get(viewIndex);
+                if (!mPositionIndex.isDetached(view)) adapterViewHandler.detachViewInAdapterView(view);
+                mScrapViews.add(view);
+            }
+        }
+        mPositionIndex.clear();
+        for (int cellIndex = 0; cellIndex < mCells.size(); cellIndex++) {
+            recycleCell(mCells.get(cellIndex));
+        }
+        mCells.clear();
+
+        for (int index = 0; index < mScrapViews.size(); index++) {
+            final View view = mScrapViews.get(index);
+            AdapterViewLayoutParams.from(view).setFlag(AdapterViewLayoutParams.FLAG_SCRAP, true);
+            mAdapterViewManager.scrap(view);
+        }
+        return true;
+    }
+
+    /**
+     * Views scrapped by a data set change are still children of the view group, they only need to be attached again.
+     */
+    private void addView(final AdapterViewHandler adapterViewHandler, final View view, final int drawPosition) {
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.from(view);
+        if (layoutParams.hasFlag(AdapterViewLayoutParams.FLAG_SCRAP)) {
+            layoutParams.setFlag(AdapterViewLayoutParams.FLAG_SCRAP, false);
+            adapterViewHandler.attachViewInAdapterView(view, drawPosition, layoutParams);
+        } else {
+            adapterViewHandler.addViewInAdapterView(view, drawPosition, layoutParams);
+        }
+    }
+
+    /**
+     * Scrapped views that layout did not attach again lost their id, they leave the view group and only then go to the
+     * pool.
+     */
+    private void removeScrapViews(final AdapterViewHandler adapterViewHandler) {
+        if (mScrapViews.isEmpty()) return;
+
+        for (int index = 0; index < mScrapViews.size(); index++) {
+            final View view = mScrapViews.get(index);
+            final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.peek(view);
+            if (layoutParams == null || !layoutParams.hasFlag(AdapterViewLayoutParams.FLAG_SCRAP)) continue;
+
+            layoutParams.setFlag(AdapterViewLayoutParams.FLAG_SCRAP, false);
+            adapterViewHandler.removeViewInAdapterView(view);
+            mAdapterViewManager.recycleScrap(view);
+        }
+        mScrapViews.clear();
+    }
+
+    /**
+     * Rebinds the drawn views of the changed items in place, cells keep their place and are only laid out again.
+     */
+    @Override
+    public void onItemRangeChanged(final int positionStart, final int itemCount) {
+        if (!canApplyItemRangeChanges()) {
+            onDataSetChanged();
+            return;
+        }
+
+        mAdapterViewManager.invalidateRecycledViews();
+        final int firstPosition = mPositionIndex.getFirstPosition();
+        final int start = Math.max(positionStart, firstPosition);
+        final int end = Math.min(positionStart + itemCount, firstPosition + mPositionIndex.size());
+        for (int position = start; position < end; position++) {
+            final View view = getDrawnView(position);
+            if (view == null) continue;
+
+            if (!mAdapterViewManager.rebindView(mViewGroup, view, position)) {
+                onDataSetChanged();
+                return;
+            }
+        }
+
+        invalidateCellSizes(positionStart, positionStart + itemCount - 1);
+        recyclePrefetchedCells();
+        requestItemsLayout();
+    }
+
+    /**
+     * Items inserted before the drawn cells shift their positions, items inserted among them drop the cells from the
+     * insertion point on, layout then fills the gap. Cells before the insertion stay attached.
+     */
+    @Override
+    public void onItemRangeInserted(final int positionStart, final int itemCount) {
+        if (!canApplyItemRangeChanges()) {
+            onDataSetChanged();
+            return;
+        }
+
+        final int firstPosition = mPositionIndex.getFirstPosition();
+        final int lastPosition = firstPosition + mPositionIndex.size() - 1;
+        recyclePrefetchedCells();
+        shiftCellSizes(positionStart, itemCount);
+
+        if (positionStart <= firstPosition) {
+            if (!canShiftCells(itemCount)) {
+                onDataSetChanged();
+                return;
+            }
+            shiftCells(itemCount);
+        } else if (positionStart <= lastPosition) {
+            removeCellsFrom(positionStart, firstPosition);
+        }
+
+        shiftSelectedPosition(positionStart, itemCount);
+        requestItemsLayout();
+    }
+
+    @Override
+    public void onItemRangeRemoved(final int positionStart, final int itemCount) {
+        if (!canApplyItemRangeChanges() || mAdapterViewManager.isEmpty()) {
+            onDataSetChanged();
+            return;
+        }
+
+        final int firstPosition = mPositionIndex.getFirstPosition();
+        final int lastPosition = firstPosition + mPositionIndex.size() - 1;
+        final int positionEnd = positionStart + itemCount;
+        recyclePrefetchedCells();
+        shiftCellSizes(positionStart, itemCount);
+
+        if (positionEnd <= firstPosition) {
+            if (!canShiftCells(itemCount)) {
+                onDataSetChanged();
+                return;
+            }
+            shiftCells(-itemCount);
+        } else if (positionStart <= lastPosition) {
+            removeCellsFrom(Math.max(positionStart, firstPosition), Math.min(positionStart, firstPosition));
+        }
+
+        final int selectedPosition = mSelectedPositionManager.getSelectedPosition();
+        if (selectedPosition >= positionStart && selectedPosition < positionEnd) {
+            mSelectedPositionManager.setSelectNothing();
+        } else {
+            shiftSelectedPosition(positionEnd, -itemCount);
+        }
+        requestItemsLayout();
+    }
+
+    /**
+     * A move only changes drawn positions when one of its ends is drawn or the drawn cells lie between its ends.
+     */
+    @Override
+    public void onItemMoved(final int fromPosition, final int toPosition) {
+        if (!canApplyItemRangeChanges()) {
+            onDataSetChanged();
+            return;
+        }
+
+        final int firstPosition = mPositionIndex.getFirstPosition();
+        final int lastPosition = firstPosition + mPositionIndex.size() - 1;
+        final int lowPosition = Math.min(fromPosition, toPosition);
+        final int highPosition = Math.max(fromPosition, toPosition);
+        recyclePrefetchedCells();
+        invalidateCellSizes(lowPosition, highPosition);
+
+        if (highPosition >= firstPosition && lowPosition <= lastPosition) {
+            removeCellsFrom(Math.max(lowPosition, firstPosition), firstPosition);
+        }
+
+        final int selectedPosition = mSelectedPositionManager.getSelectedPosition();
+        if (selectedPosition == fromPosition) {
+            mSelectedPositionManager.setSelectedPosition(toPosition);
+        } else if (selectedPosition > fromPosition && selectedPosition <= toPosition) {
+            mSelectedPositionManager.setSelectedPosition(selectedPosition - 1);
+        } else if (selectedPosition < fromPosition && selectedPosition >= toPosition) {
+            mSelectedPositionManager.setSelectedPosition(selectedPosition + 1);
+        }
+        requestItemsLayout();
+    }
+
+    /**
+     * Range changes are applied to the drawn cells as long as positions do not wrap around and no full data set change
+     * is waiting for the next layout anyway.
+     */
+    private boolean canApplyItemRangeChanges() {
+        if (mLayoutManagerAttributes.isCircularScroll() || mIsDataSetChangePending) return false;
+        return !mCells.isEmpty() && !mPositionIndex.isEmpty();
+    }
+
+    /**
+     * @return true when the drawn cells can move by the number of items and keep their contents, only possible when
+     * cells still hold the same items afterwards
+     */
+    protected boolean canShiftCells(final int itemCount) {
+        return false;
+    }
+
+    /**
+     * Moves the measured sizes of the cells after an insertion or removal along with their items. When the items do not
+     * fill whole cells every cell from the change on holds other items, those are measured again.
+     */
+    private void shiftCellSizes(final int positionStart, final int itemCount) {
+        final int cellCount = getCellCount();
+        final int previousCellCount = mCellSizeIndex.getCellCount();
+        if (cellCount == -1) return;
+
+        final int cellPosition = getCellPosition(positionStart);
+        final boolean isCellAligned = canShiftCells(itemCount) && getFirstAdapterPositionInCell(cellPosition) == positionStart;
+        if (!isCellAligned) {
+            mCellSizeIndex.invalidate(cellPosition, previousCellCount - cellPosition);
+        }
+
+        final int insertPosition = isCellAligned ? cellPosition : previousCellCount;
+        final int removePosition = isCellAligned ? cellPosition : cellCount;
+        if (cellCount > previousCellCount) {
+            mCellSizeIndex.insert(insertPosition, cellCount - previousCellCount);
+        } else {
+            mCellSizeIndex.remove(removePosition, previousCellCount - cellCount);
+        }
+
+        // inserted cells, or every cell from the change on when the items moved across cells
+        final int typedCellCount = isCellAligned ? cellCount - previousCellCount : cellCount - cellPosition;
+        setCellViewTypes(cellPosition, typedCellCount);
+    }
+
+    private void invalidateCellSizes(final int firstPosition, final int lastPosition) {
+        final int cellPosition = getCellPosition(firstPosition);
+        mCellSizeIndex.invalidate(cellPosition, getCellPosition(lastPosition) - cellPosition + 1);
+    }
+
+    private void shiftCells(final int itemCount) {
+        mPositionIndex.offsetPositions(itemCount);
+        mStartCellPosition = getCellPosition(mPositionIndex.getFirstPosition());
+    }
+
+    /**
+     * Recycles the cell holding the position and every cell after it.
+     *
+     * @param startPosition the adapter position the first cell should show should every cell be removed
+     */
+    private void removeCellsFrom(final int position, final int startPosition) {
+        final AdapterViewHandler adapterViewHandler = (AdapterViewHandler) mViewGroup;
+        final int cellIndex = Math.max(getCellPosition(position) - mStartCellPosition, 0);
+        for (int index = mCells.size() - 1; index >= cellIndex; index--) {
+            final Cell cell = mCells.remove(index);
+            removeCell(adapterViewHandler, cell, false);
+        }
+
+        if (mCells.isEmpty()) {
+            final int cellCount = getCellCount();
+            final int startCellPosition = getCellPosition(Math.max(startPosition, 0));
+            mStartCellPosition = Math.max(Math.min(startCellPosition, cellCount - 1), 0);
+        }
+    }
+
+    private void shiftSelectedPosition(final int positionStart, final int delta) {
+        final int selectedPosition = mSelectedPositionManager.getSelectedPosition();
+        if (selectedPosition == INVALID_POSITION || selectedPosition < positionStart) return;
+        mSelectedPositionManager.setSelectedPosition(selectedPosition + delta);
+    }
+
+    private void requestItemsLayout() {
+        mDirtyFlags |= DIRTY_ITEMS;
+        mViewGroup.requestLayout();
+        mViewGroup.invalidate();
+    }
+
     public View getView(final int position) {
         final boolean isPositionBeingDrawn = isPositionBeingDrawn(position);
         if (isPositionBeingDrawn) return getDrawnView(position);
@@ -752,21 +1874,28 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
     }
 
     private View getDrawnView(final int position) {
-        for (final View view : mPositions.keySet()) {
-            final int drawnPosition = mPositions.get(view);
-            if (drawnPosition == position) return view;
-        }
-        return null;
+        final int adapterCount = mAdapterViewManager.getAdapterCount();
+        return mPositionIndex.get(position, adapterCount);
+    }
+
+    /**
+     * @return the drawn view for the position, or null when it is not drawn or parked detached in the extended viewport
+     */
+    private View getOnScreenView(final int position) {
+        final View view = getDrawnView(position);
+        if (view == null || mPositionIndex.isDetached(view)) return null;
+        return view;
     }
 
     public void setSelected(final int position, final AdapterViewHandler adapterViewHandler) {
-        final boolean isViewOnScreen = mPositions.containsValue(position);
+        final boolean isViewOnScreen = getOnScreenView(position) != null;
         final boolean isSnapToPosition = mLayoutManagerAttributes.isSnapToPosition();
         if (!isSnapToPosition && !isViewOnScreen) {
             return;
         }
 
         mSelectedPositionManager.setSelectedPosition(position);
+        mDirtyFlags |= DIRTY_SELECTION;
 
         final boolean snapToPosition = mLayoutManagerAttributes.isSnapToPosition();
         if (!snapToPosition) return;
@@ -804,15 +1933,19 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
     }
 
     private void recycleCells(final AdapterViewHandler adapterViewHandler) {
-        for (final Cell cell : mCells) {
+        recyclePrefetchedCells();
+        for (int cellIndex = 0; cellIndex < mCells.size(); cellIndex++) {
+            final Cell cell = mCells.get(cellIndex);
             final List<View> views = getViews(cell);
-            for (final View view : views) {
+            for (int viewIndex = 0; viewIndex < views.size(); viewIndex++) {
+                final View view = views.get(viewIndex);
                 adapterViewHandler.removeViewInAdapterView(view);
                 mAdapterViewManager.recycle(view);
             }
+            recycleCell(cell);
         }
         mCells.clear();
-        mPositions.clear();
+        mPositionIndex.clear();
     }
 
     protected Move getMove(final int displacement) {
@@ -835,6 +1968,14 @@ public abstract class LayoutManager<Cell> extends AdapterViewDataSetObserver {
         if (mAnimationStoppedListener != null) mAnimationStoppedListener.onAnimationStopped();
     }
 
+    public boolean isPredictiveSnap() {
+        return mLayoutManagerAttributes.isSnapToPosition() && mLayoutManagerAttributes.isPredictiveSnap();
+    }
+
+    public void setPredictiveSnap(final boolean predictiveSnap) {
+        mLayoutManagerAttributes.setPredictiveSnap(predictiveSnap);
+    }
+
     public boolean isSnapToPosition() {
         return mLayoutManagerAttributes.isSnapToPosition();
     }
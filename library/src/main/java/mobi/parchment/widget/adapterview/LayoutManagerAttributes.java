@@ -15,6 +15,11 @@ public class LayoutManagerAttributes {
 	private int mCellSpacing;
 	private boolean mSelectOnSnap;
 	private boolean mSelectWhileScrolling;
+	private int mPrefetchDistance;
+	private int mExtendedViewportSize;
+	private int mExtendedViewportCells;
+	private boolean mHasFixedCellSize;
+	private boolean mPredictiveSnap;
 
 	public LayoutManagerAttributes(final boolean isCircularScroll, final boolean snapToPosition, final boolean isViewPager, final int viewPagerInterval, final SnapPosition snapPosition, final int cellSpacing, final boolean selectOnSnap, final boolean selectWhileScrolling, final boolean isVertical) {
 		super();
@@ -80,4 +85,59 @@ public class LayoutManagerAttributes {
 	public boolean selectWhileScrolling() {
 		return mSelectWhileScrolling;
 	}
+
+	/**
+	 * @return number of cells built ahead of the visible edge in the direction of the scroll
+	 */
+	public int getPrefetchDistance() {
+		return mPrefetchDistance;
+	}
+
+	public void setPrefetchDistance(final int prefetchDistance) {
+		mPrefetchDistance = Math.max(prefetchDistance, 0);
+	}
+
+	/**
+	 * @return pixels past each edge of the viewport in which cells stay laid out, detached from the view group, instead of being recycled
+	 */
+	public int getExtendedViewportSize() {
+		return mExtendedViewportSize;
+	}
+
+	public void setExtendedViewportSize(final int extendedViewportSize) {
+		mExtendedViewportSize = Math.max(extendedViewportSize, 0);
+	}
+
+	/**
+	 * @return cells past each edge of the viewport that stay laid out and detached, on top of the extended viewport size
+	 */
+	public int getExtendedViewportCells() {
+		return mExtendedViewportCells;
+	}
+
+	public void setExtendedViewportCells(final int extendedViewportCells) {
+		mExtendedViewportCells = Math.max(extendedViewportCells, 0);
+	}
+
+	/**
+	 * @return true when every item has the same size, cells are then sized from the first measured item
+	 */
+	public boolean hasFixedCellSize() {
+		return mHasFixedCellSize;
+	}
+
+	public void setHasFixedCellSize(final boolean hasFixedCellSize) {
+		mHasFixedCellSize = hasFixedCellSize;
+	}
+
+	/**
+	 * @return true when a fling is aimed at the snap position up front instead of being corrected once it stopped
+	 */
+	public boolean isPredictiveSnap() {
+		return mPredictiveSnap;
+	}
+
+	public void setPredictiveSnap(final boolean predictiveSnap) {
+		mPredictiveSnap = predictiveSnap;
+	}
 }
@@ -45,6 +45,17 @@ public class LayoutManagerBridge {
 		return mLayoutManager.snapTo(viewGroup);
 	}
 
+	/**
+	 * @return the distance the fling should cover to come to rest on the snap position, see {@link LayoutManager#getPredictiveSnapDistance(int, int)}
+	 */
+	public int getPredictiveSnapDistance(final ViewGroup viewGroup, final int flingDistance) {
+		if (mLayoutManager == null || !mLayoutManager.isPredictiveSnap())
+			return flingDistance;
+
+		final int size = mLayoutManager.getViewGroupSize(viewGroup);
+		return mLayoutManager.getPredictiveSnapDistance(flingDistance, size);
+	}
+
 	public int getViewPagerScrollDistance(final float velocityX, final float velocityY) {
 		if (mLayoutManager == null)
 			return 0;
@@ -62,6 +73,83 @@ public class LayoutManagerBridge {
 		return Move.none;
 	}
 
+	/**
+	 * @return true when the animation frame was applied without needing a layout pass
+	 */
+	public boolean scroll(final ViewGroup viewGroup, final Animation animation) {
+		if (mLayoutManager == null || !(viewGroup instanceof AdapterViewHandler))
+			return false;
+
+		return mLayoutManager.scroll((AdapterViewHandler) viewGroup, animation);
+	}
+
+	/**
+	 * @return pixels to animate by to reach the position, see {@link LayoutManager#prepareSmoothScroll(int, SnapPosition, int)}
+	 */
+	public int prepareSmoothScroll(final ViewGroup viewGroup, final int position, final SnapPosition snapPosition) {
+		if (mLayoutManager == null)
+			return 0;
+
+		final int size = mLayoutManager.getViewGroupSize(viewGroup);
+		return mLayoutManager.prepareSmoothScroll(position, snapPosition, size);
+	}
+
+	public int getSmoothScrollDistance(final ViewGroup viewGroup, final int position, final SnapPosition snapPosition) {
+		if (mLayoutManager == null)
+			return 0;
+
+		final int size = mLayoutManager.getViewGroupSize(viewGroup);
+		return mLayoutManager.getSmoothScrollDistance(position, snapPosition, size);
+	}
+
+	/**
+	 * @return the view under the touch, see {@link LayoutManager#getViewAt(float, float)}
+	 */
+	public View getViewAt(final float x, final float y) {
+		if (mLayoutManager == null)
+			return null;
+
+		return mLayoutManager.getViewAt(x, y);
+	}
+
+	public int getFirstVisiblePosition(final ViewGroup viewGroup) {
+		if (mLayoutManager == null)
+			return LayoutManager.INVALID_POSITION;
+
+		final int size = mLayoutManager.getViewGroupSize(viewGroup);
+		return mLayoutManager.getFirstVisiblePosition(size);
+	}
+
+	public int getLastVisiblePosition(final ViewGroup viewGroup) {
+		if (mLayoutManager == null)
+			return LayoutManager.INVALID_POSITION;
+
+		final int size = mLayoutManager.getViewGroupSize(viewGroup);
+		return mLayoutManager.getLastVisiblePosition(size);
+	}
+
+	public boolean isPositionInAdapter(final int position) {
+		return mLayoutManager != null && mLayoutManager.isPositionInAdapter(position);
+	}
+
+	public boolean isPositionDrawn(final int position) {
+		return mLayoutManager != null && mLayoutManager.isPositionDrawn(position);
+	}
+
+	public SnapPosition getSnapPosition() {
+		if (mLayoutManager == null)
+			return SnapPosition.onScreen;
+
+		return mLayoutManager.getSnapPosition();
+	}
+
+	public void setScrollVelocity(final float scrollVelocity) {
+		if (mLayoutManager == null)
+			return;
+
+		mLayoutManager.setScrollVelocity(scrollVelocity);
+	}
+
 	public void setAnimationStoppedListener(final AnimationStoppedListener animationStoppedListener) {
 		mLayoutManager.setAnimationStoppedListener(animationStoppedListener);
 	}
@@ -0,0 +1,194 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+
+import java.util.Arrays;
+
+/**
+ * One to one map between primitive long ids and views. Both directions are open addressed hash tables with linear
+ * probing, so looking up, adding and removing by id or by view are O(1) and never box the id.
+ */
+public class LongViewMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] mIds;
+    private View[] mIdViews;
+    private View[] mViews;
+    private long[] mViewIds;
+    private int mMask;
+    private int mSize;
+
+    public LongViewMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public View get(final long id) {
+        final int slot = findId(id);
+        if (slot < 0) return null;
+        return mIdViews[slot];
+    }
+
+    public boolean containsId(final long id) {
+        return findId(id) >= 0;
+    }
+
+    public boolean containsView(final View view) {
+        return findView(view) >= 0;
+    }
+
+    /**
+     * @return the id of the view, the view has to be in the map
+     */
+    public long getId(final View view) {
+        final int slot = findView(view);
+        if (slot < 0) throw new IllegalArgumentException("View is not in the map");
+        return mViewIds[slot];
+    }
+
+    /**
+     * Maps the id to the view, replacing whatever either of them was mapped to before.
+     */
+    public void put(final long id, final View view) {
+        if (view == null) throw new IllegalArgumentException("View cannot be null");
+
+        remove(id);
+        removeView(view);
+
+        if ((mSize + 1) * 2 > mIds.length) resize(mIds.length * 2);
+        insert(id, view);
+        mSize++;
+    }
+
+    /**
+     * @return the view the id was mapped to or null
+     */
+    public View remove(final long id) {
+        final int slot = findId(id);
+        if (slot < 0) return null;
+
+        final View view = mIdViews[slot];
+        deleteIdSlot(slot);
+        deleteViewSlot(findView(view));
+        mSize--;
+        return view;
+    }
+
+    /**
+     * @return true if the view was in the map
+     */
+    public boolean removeView(final View view) {
+        final int slot = findView(view);
+        if (slot < 0) return false;
+
+        final long id = mViewIds[slot];
+        deleteViewSlot(slot);
+        deleteIdSlot(findId(id));
+        mSize--;
+        return true;
+    }
+
+    public void clear() {
+        if (mSize == 0) return;
+
+        Arrays.fill(mIdViews, null);
+        Arrays.fill(mViews, null);
+        mSize = 0;
+    }
+
+    private void allocate(final int capacity) {
+        mIds = new long[capacity];
+        mIdViews = new View[capacity];
+        mViews = new View[capacity];
+        mViewIds = new long[capacity];
+        mMask = capacity - 1;
+    }
+
+    private void resize(final int capacity) {
+        final long[] ids = mIds;
+        final View[] idViews = mIdViews;
+        allocate(capacity);
+        for (int slot = 0; slot < ids.length; slot++) {
+            if (idViews[slot] != null) insert(ids[slot], idViews[slot]);
+        }
+    }
+
+    private void insert(final long id, final View view) {
+        int idSlot = hash(id) & mMask;
+        while (mIdViews[idSlot] != null) idSlot = (idSlot + 1) & mMask;
+        mIds[idSlot] = id;
+        mIdViews[idSlot] = view;
+
+        int viewSlot = hash(view) & mMask;
+        while (mViews[viewSlot] != null) viewSlot = (viewSlot + 1) & mMask;
+        mViews[viewSlot] = view;
+        mViewIds[viewSlot] = id;
+    }
+
+    private int findId(final long id) {
+        int slot = hash(id) & mMask;
+        while (mIdViews[slot] != null) {
+            if (mIds[slot] == id) return slot;
+            slot = (slot + 1) & mMask;
+        }
+        return -1;
+    }
+
+    private int findView(final View view) {
+        if (view == null) return -1;
+
+        int slot = hash(view) & mMask;
+        while (mViews[slot] != null) {
+            if (mViews[slot] == view) return slot;
+            slot = (slot + 1) & mMask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empties the slot and shifts back the entries of the probe run behind it so lookups never stop early.
+     */
+    private void deleteIdSlot(final int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mMask;
+        while (mIdViews[next] != null) {
+            final int home = hash(mIds[next]) & mMask;
+            if (((next - home) & mMask) >= ((next - hole) & mMask)) {
+                mIds[hole] = mIds[next];
+                mIdViews[hole] = mIdViews[next];
+                hole = next;
+            }
+            next = (next + 1) & mMask;
+        }
+        mIdViews[hole] = null;
+    }
+
+    private void deleteViewSlot(final int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mMask;
+        while (mViews[next] != null) {
+            final int home = hash(mViews[next]) & mMask;
+            if (((next - home) & mMask) >= ((next - hole) & mMask)) {
+                mViews[hole] = mViews[next];
+                mViewIds[hole] = mViewIds[next];
+                hole = next;
+            }
+            next = (next + 1) & mMask;
+        }
+        mViews[hole] = null;
+    }
+
+    private static int hash(final long id) {
+        final int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int hash(final View view) {
+        final int hash = System.identityHashCode(view) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,24 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.ViewGroup;
+
+/**
+ * Reports how the content of an adapter view moves, at most once per frame: state changes within a frame are
+ * coalesced into the state the frame ends in. Adapters that only need to know whether to skip expensive binding
+ * should check {@link AdapterView#isScrollingFast()} from getView instead.
+ */
+public interface OnScrollListener {
+
+    /**
+     * @param state one of {@link AdapterAnimator.State}, {@link AdapterAnimator.State#notMoving} once the content
+     *              came to rest
+     */
+    void onScrollStateChanged(final ViewGroup viewGroup, final AdapterAnimator.State state);
+
+    /**
+     * @param firstVisiblePosition the first adapter position on screen, or {@link LayoutManager#INVALID_POSITION}
+     * @param lastVisiblePosition  the last adapter position on screen, or {@link LayoutManager#INVALID_POSITION}
+     * @param velocity             in pixels per second, negative while moving towards the end of the adapter
+     */
+    void onScroll(final ViewGroup viewGroup, final int firstVisiblePosition, final int lastVisiblePosition, final float velocity);
+}
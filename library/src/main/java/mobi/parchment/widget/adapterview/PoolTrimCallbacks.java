@@ -0,0 +1,33 @@
+package mobi.parchment.widget.adapterview;
+
+import android.annotation.TargetApi;
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.os.Build;
+
+/**
+ * Trims the recycled view pools of an {@link AdapterViewManager} when the system asks the app to release memory.
+ */
+@TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+public class PoolTrimCallbacks implements ComponentCallbacks2 {
+
+    private final AdapterViewManager mAdapterViewManager;
+
+    public PoolTrimCallbacks(final AdapterViewManager adapterViewManager) {
+        mAdapterViewManager = adapterViewManager;
+    }
+
+    @Override
+    public void onTrimMemory(final int level) {
+        mAdapterViewManager.trimPools(level);
+    }
+
+    @Override
+    public void onLowMemory() {
+        mAdapterViewManager.trimPools(TRIM_MEMORY_COMPLETE);
+    }
+
+    @Override
+    public void onConfigurationChanged(final Configuration newConfig) {
+    }
+}
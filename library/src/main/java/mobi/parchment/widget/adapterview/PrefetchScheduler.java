@@ -0,0 +1,114 @@
+package mobi.parchment.widget.adapterview;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.os.Build;
+import android.view.Choreographer;
+import android.view.View;
+import android.view.WindowManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the cell prefetch in the idle time after a frame was drawn, with the start of the next frame as its deadline.
+ * From Jelly Bean, while the view is in a window, the deadline is the Choreographer frame time plus the refresh
+ * interval. Otherwise the drawing time of the view stands in for the frame time.
+ */
+public class PrefetchScheduler {
+
+    public interface Prefetcher {
+        /**
+         * @param deadlineNanos in the time base of {@link System#nanoTime()}, work that cannot be done by then has to
+         *                      wait for the next frame
+         */
+        void prefetch(final long deadlineNanos);
+    }
+
+    private static final float MIN_REFRESH_RATE = 30f;
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+    private static final long NO_FRAME_TIME = -1;
+
+    private final View mView;
+    private final Prefetcher mPrefetcher;
+    private Object mFrameCallback;
+    private long mFrameTimeNanos = NO_FRAME_TIME;
+    private long mFrameIntervalNanos;
+    private boolean mIsScheduled;
+
+    private final Runnable mPrefetch = new Runnable() {
+        @Override
+        public void run() {
+            mIsScheduled = false;
+            mPrefetcher.prefetch(getDeadlineNanos());
+        }
+    };
+
+    public PrefetchScheduler(final View view, final Prefetcher prefetcher) {
+        mView = view;
+        mPrefetcher = prefetcher;
+    }
+
+    /**
+     * Prefetches once after the next frame, however often it is called before then.
+     */
+    public void schedule() {
+        if (mIsScheduled) return;
+        mIsScheduled = true;
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN && mView.getWindowToken() != null) {
+            postFrameCallback();
+        } else {
+            mFrameTimeNanos = NO_FRAME_TIME;
+            mView.post(mPrefetch);
+        }
+    }
+
+    public void cancel() {
+        if (mFrameCallback != null) removeFrameCallback();
+        mView.removeCallbacks(mPrefetch);
+        mIsScheduled = false;
+    }
+
+    private long getDeadlineNanos() {
+        final long frameTimeNanos;
+        if (mFrameTimeNanos != NO_FRAME_TIME) {
+            frameTimeNanos = mFrameTimeNanos;
+        } else {
+            frameTimeNanos = TimeUnit.MILLISECONDS.toNanos(mView.getDrawingTime());
+        }
+        return frameTimeNanos + getFrameIntervalNanos();
+    }
+
+    private long getFrameIntervalNanos() {
+        if (mFrameIntervalNanos != 0) return mFrameIntervalNanos;
+
+        final WindowManager windowManager = (WindowManager) mView.getContext().getSystemService(Context.WINDOW_SERVICE);
+        float refreshRate = windowManager == null ? 0 : windowManager.getDefaultDisplay().getRefreshRate();
+        if (refreshRate < MIN_REFRESH_RATE) refreshRate = DEFAULT_REFRESH_RATE;
+        mFrameIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refreshRate);
+        return mFrameIntervalNanos;
+    }
+
+    /**
+     * The frame callback runs before the frame's traversal, the prefetch is posted from it so it runs once the frame
+     * was drawn.
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void postFrameCallback() {
+        if (mFrameCallback == null) {
+            mFrameCallback = new Choreographer.FrameCallback() {
+                @Override
+                public void doFrame(final long frameTimeNanos) {
+                    mFrameTimeNanos = frameTimeNanos;
+                    mView.post(mPrefetch);
+                }
+            };
+        }
+        Choreographer.getInstance().postFrameCallback((Choreographer.FrameCallback) mFrameCallback);
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void removeFrameCallback() {
+        Choreographer.getInstance().removeFrameCallback((Choreographer.FrameCallback) mFrameCallback);
+    }
+}
@@ -1,6 +1,7 @@
 package mobi.parchment.widget.adapterview;
 
 import android.content.Context;
+import android.os.Build;
 import android.widget.Scroller;
 
 /**
@@ -47,6 +48,30 @@ public class ScrollAnimator {
 		else
 			mScroller.fling(0, 0, (int) velocityX, 0, Integer.MIN_VALUE, Integer.MAX_VALUE, 0, 0);
 	}
+
+	/**
+	 * @return the offset the running animation comes to rest at
+	 */
+	public int getFinalOffset() {
+		if (mIsVertical)
+			return mScroller.getFinalY();
+		else
+			return mScroller.getFinalX();
+	}
+
+	/**
+	 * Makes the running fling come to rest at the offset instead. From Ice Cream Sandwich the scroller scales its
+	 * deceleration curve to the new distance, earlier scrollers only clamp to it so the distance is scrolled over
+	 * the duration of the fling instead.
+	 */
+	public void setFlingFinalOffset(final int finalOffset) {
+		if (Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+			startScroll(finalOffset, mScroller.getDuration());
+		else if (mIsVertical)
+			mScroller.setFinalY(finalOffset);
+		else
+			mScroller.setFinalX(finalOffset);
+	}
 	
 	
 }
@@ -66,5 +66,12 @@ public class ScrollDirectionManager {
         return bottom - top;
     }
 
+    public void offsetView(final View view, final int displacement) {
+        if (isVerticalScroll())
+            view.offsetTopAndBottom(displacement);
+        else
+            view.offsetLeftAndRight(displacement);
+    }
+
 
 }
@@ -1,8 +1,5 @@
 package mobi.parchment.widget.adapterview;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import android.view.View;
 
 /**
@@ -33,17 +30,13 @@ public class SelectedPositionManager {
 		mSelectedPosition = -1;
 	}
 	
-	public void onViewsDrawn(final Map<View, Integer> positions) {
+	/**
+	 * @param selectedView the drawn view at the selected position, null when it is not being drawn
+	 */
+	public void onViewsDrawn(final View selectedView) {
 		if (mItemSelectedListenerCalled)
 			return;
 		
-		View selectedView = null;
-		for (final View view : positions.keySet())
-			if (mSelectedPosition == positions.get(view)) {
-				selectedView = view;
-				break;
-			}
-		
 		if (selectedView == null)
 			return;
 		
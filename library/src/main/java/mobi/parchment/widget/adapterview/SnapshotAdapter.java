@@ -0,0 +1,161 @@
+package mobi.parchment.widget.adapterview;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Adapter backed by immutable snapshots of a list. Every submitted snapshot is diffed against the current one on a
+ * background executor, the adapter then switches to it on the main thread and sends the item range notifications
+ * the diff found instead of a full data set change. A diff that finishes after a newer snapshot was submitted is
+ * dropped.
+ * <p/>
+ * Ids come from {@link #getItemId(Object)} and have to be unique within a snapshot, the adapter reports stable ids.
+ */
+public abstract class SnapshotAdapter<Item> extends BaseItemRangeAdapter {
+
+    private static ExecutorService sDiffExecutor;
+
+    private final Executor mDiffExecutor;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private List<Item> mItems = Collections.emptyList();
+    private int mSubmittedVersion;
+
+    private final ItemListDiff.ItemCallback<Item> mItemCallback = new ItemListDiff.ItemCallback<Item>() {
+        @Override
+        public long getItemId(final Item item) {
+            return SnapshotAdapter.this.getItemId(item);
+        }
+
+        @Override
+        public boolean areContentsTheSame(final Item oldItem, final Item newItem) {
+            return SnapshotAdapter.this.areContentsTheSame(oldItem, newItem);
+        }
+    };
+
+    private final ItemRangeObserver mNotifier = new ItemRangeObserver() {
+        @Override
+        public void onItemRangeChanged(final int positionStart, final int itemCount) {
+            notifyItemRangeChanged(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeInserted(final int positionStart, final int itemCount) {
+            notifyItemRangeInserted(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(final int positionStart, final int itemCount) {
+            notifyItemRangeRemoved(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemMoved(final int fromPosition, final int toPosition) {
+            notifyItemMoved(fromPosition, toPosition);
+        }
+    };
+
+    public SnapshotAdapter() {
+        this(getDefaultDiffExecutor());
+    }
+
+    public SnapshotAdapter(final Executor diffExecutor) {
+        mDiffExecutor = diffExecutor;
+    }
+
+    /**
+     * One low priority thread shared by every snapshot adapter, diffs are short and rare enough not to need more.
+     */
+    private static synchronized Executor getDefaultDiffExecutor() {
+        if (sDiffExecutor == null) {
+            sDiffExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "SnapshotAdapter diff");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+            });
+        }
+        return sDiffExecutor;
+    }
+
+    protected abstract long getItemId(Item item);
+
+    /**
+     * @return true when the item does not need to be bound again, by default when both are equal
+     */
+    protected boolean areContentsTheSame(final Item oldItem, final Item newItem) {
+        return oldItem == null ? newItem == null : oldItem.equals(newItem);
+    }
+
+    /**
+     * Must be called on the main thread. The snapshot must not change once submitted.
+     */
+    public void submitList(final List<Item> snapshot) {
+        final List<Item> newItems = snapshot == null ? Collections.<Item>emptyList() : snapshot;
+        final List<Item> oldItems = mItems;
+        final int version = ++mSubmittedVersion;
+
+        if (oldItems.isEmpty() || newItems.isEmpty()) {
+            mItems = newItems;
+            notifyDataSetChanged();
+            return;
+        }
+
+        mDiffExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final ItemListDiff itemListDiff = ItemListDiff.calculate(oldItems, newItems, mItemCallback);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        applyDiff(version, newItems, itemListDiff);
+                    }
+                });
+            }
+        });
+    }
+
+    private void applyDiff(final int version, final List<Item> newItems, final ItemListDiff itemListDiff) {
+        if (version != mSubmittedVersion) return;
+
+        mItems = newItems;
+        if (itemListDiff == null) {
+            notifyDataSetChanged();
+        } else {
+            itemListDiff.dispatchTo(mNotifier);
+        }
+    }
+
+    public List<Item> getItems() {
+        return mItems;
+    }
+
+    @Override
+    public int getCount() {
+        return mItems.size();
+    }
+
+    @Override
+    public Item getItem(final int position) {
+        return mItems.get(position);
+    }
+
+    @Override
+    public long getItemId(final int position) {
+        return getItemId(mItems.get(position));
+    }
+
+    @Override
+    public boolean hasStableIds() {
+        return true;
+    }
+}
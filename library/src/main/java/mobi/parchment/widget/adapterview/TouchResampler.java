@@ -0,0 +1,102 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.MotionEvent;
+
+/**
+ * Estimates where the pointer is along the scroll axis at the time a frame is drawn from the last few touch samples,
+ * historical ones included. Between samples the position is interpolated, past the last one it is extrapolated from
+ * the latest velocity, but never by more than half the time between the last two samples nor by more than
+ * {@link #MAX_PREDICTION_IN_MILLISECONDS}, and not at all when the pointer just reversed direction, so a finger that
+ * stops or turns is not overshot.
+ */
+public class TouchResampler {
+
+    public static final long MAX_PREDICTION_IN_MILLISECONDS = 8;
+    private static final long MIN_SAMPLE_DELTA_IN_MILLISECONDS = 2;
+    private static final long MAX_SAMPLE_DELTA_IN_MILLISECONDS = 20;
+    private static final int SAMPLE_COUNT = 3;
+
+    private final boolean mIsVertical;
+    private final long[] mTimes = new long[SAMPLE_COUNT];
+    private final float[] mPositions = new float[SAMPLE_COUNT];
+    private int mSize;
+
+    public TouchResampler(final boolean isVertical) {
+        mIsVertical = isVertical;
+    }
+
+    public void clear() {
+        mSize = 0;
+    }
+
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    public void addSamples(final MotionEvent motionEvent) {
+        final int historySize = motionEvent.getHistorySize();
+        for (int index = 0; index < historySize; index++) {
+            final float position = mIsVertical ? motionEvent.getHistoricalY(index) : motionEvent.getHistoricalX(index);
+            addSample(motionEvent.getHistoricalEventTime(index), position);
+        }
+        final float position = mIsVertical ? motionEvent.getY() : motionEvent.getX();
+        addSample(motionEvent.getEventTime(), position);
+    }
+
+    /**
+     * Samples older than the last one are ignored.
+     */
+    public void addSample(final long time, final float position) {
+        if (mSize > 0 && time < mTimes[mSize - 1]) return;
+
+        if (mSize == SAMPLE_COUNT) {
+            System.arraycopy(mTimes, 1, mTimes, 0, SAMPLE_COUNT - 1);
+            System.arraycopy(mPositions, 1, mPositions, 0, SAMPLE_COUNT - 1);
+            mSize--;
+        }
+        mTimes[mSize] = time;
+        mPositions[mSize] = position;
+        mSize++;
+    }
+
+    /**
+     * @return the pointer position along the scroll axis at the time, there has to be a sample
+     */
+    public float getPosition(final long time) {
+        final int last = mSize - 1;
+        if (mSize == 1 || time == mTimes[last]) return mPositions[last];
+
+        if (time < mTimes[last]) {
+            for (int index = last; index > 0; index--) {
+                if (time >= mTimes[index - 1]) return interpolate(index - 1, index, time);
+            }
+            return mPositions[0];
+        }
+
+        final long delta = mTimes[last] - mTimes[last - 1];
+        if (delta < MIN_SAMPLE_DELTA_IN_MILLISECONDS || delta > MAX_SAMPLE_DELTA_IN_MILLISECONDS) return mPositions[last];
+        if (isReversing()) return mPositions[last];
+
+        final long prediction = Math.min(Math.min(time - mTimes[last], delta / 2), MAX_PREDICTION_IN_MILLISECONDS);
+        return interpolate(last - 1, last, mTimes[last] + prediction);
+    }
+
+    /**
+     * @return true when the last two moves went in opposite directions
+     */
+    private boolean isReversing() {
+        if (mSize < 3) return false;
+
+        final float lastMove = mPositions[mSize - 1] - mPositions[mSize - 2];
+        final float previousMove = mPositions[mSize - 2] - mPositions[mSize - 3];
+        return lastMove * previousMove < 0;
+    }
+
+    private float interpolate(final int from, final int to, final long time) {
+        final long delta = mTimes[to] - mTimes[from];
+        if (delta == 0) return mPositions[to];
+
+        final float alpha = (float) (time - mTimes[from]) / delta;
+        return mPositions[from] + alpha * (mPositions[to] - mPositions[from]);
+    }
+}
@@ -0,0 +1,17 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Creates views ahead of time for {@link AdapterViewManager#prewarm}. The views are handed to the adapter as
+ * convertView, so they have to be the ones the adapter inflates for the view type.
+ */
+public interface ViewFactory {
+
+    /**
+     * @param parent the adapter view the view is created for, only to resolve layout params, the view must not be
+     *               added to it
+     */
+    View createView(final ViewGroup parent, final int viewType);
+}
@@ -0,0 +1,82 @@
+package mobi.parchment.widget.adapterview;
+
+import android.content.ComponentCallbacks2;
+import android.util.SparseArray;
+
+/**
+ * Recycled views grouped by view type. Every {@link AdapterViewManager} owns a private pool keyed by the adapter's
+ * item view types, the same pool can also be shared by several views whose adapters implement
+ * {@link GlobalViewTypeAdapter} so that views of identical layouts are reused across all of them.
+ */
+public class ViewPool {
+
+    private final SparseArray<ViewTypePool> mPools = new SparseArray<ViewTypePool>();
+
+    /**
+     * Implemented by adapters of views sharing a pool, the global view type has to identify the layout of the item
+     * across every adapter using the pool, a layout resource id works well.
+     */
+    public interface GlobalViewTypeAdapter {
+        int getGlobalViewType(final int position);
+    }
+
+    public ViewTypePool getPool(final int viewType) {
+        ViewTypePool pool = mPools.get(viewType);
+        if (pool == null) {
+            pool = new ViewTypePool();
+            mPools.put(viewType, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * @param maxSize the largest number of recycled views kept for the view type, or
+     *                {@link ViewTypePool#AUTO_MAX_SIZE} to keep as many as were ever on screen at once
+     */
+    public void setMaxSize(final int viewType, final int maxSize, final ViewTypePool.OnViewDroppedListener onViewDroppedListener) {
+        final ViewTypePool pool = getPool(viewType);
+        pool.setMaxSize(maxSize);
+        pool.trim(pool.getMaxSize(), onViewDroppedListener);
+    }
+
+    /**
+     * Releases recycled views for one of the {@link ComponentCallbacks2#onTrimMemory} levels. Pools are cut to half
+     * of their maximum size while the app is running low on memory and emptied once memory is critical or the UI is
+     * hidden, trimming twice for the same level releases nothing more.
+     */
+    public void trim(final int level, final ViewTypePool.OnViewDroppedListener onViewDroppedListener) {
+        if (level < ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) return;
+
+        final boolean isClearing = level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL;
+        for (int index = 0; index < mPools.size(); index++) {
+            final ViewTypePool pool = mPools.valueAt(index);
+            final int size = isClearing ? 0 : pool.getMaxSize() / 2;
+            pool.trim(size, onViewDroppedListener);
+        }
+    }
+
+    /**
+     * Drops every recycled view, the on screen counts and maximum sizes are kept.
+     */
+    public void clear(final ViewTypePool.OnViewDroppedListener onViewDroppedListener) {
+        for (int index = 0; index < mPools.size(); index++) {
+            mPools.valueAt(index).trim(0, onViewDroppedListener);
+        }
+    }
+
+    public int size(final int viewType) {
+        final ViewTypePool pool = mPools.get(viewType);
+        if (pool == null) return 0;
+        return pool.size();
+    }
+
+    public int getMaxSize(final int viewType) {
+        return getPool(viewType).getMaxSize();
+    }
+
+    public int getPeakOnScreenCount(final int viewType) {
+        final ViewTypePool pool = mPools.get(viewType);
+        if (pool == null) return 0;
+        return pool.getPeakOnScreenCount();
+    }
+}
@@ -0,0 +1,184 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+
+/**
+ * Bidirectional index over the contiguous window of adapter positions being drawn.
+ * Positions map to views through a ring buffer that starts at the first drawn position,
+ * views map back to their position through their {@link AdapterViewLayoutParams}.
+ * Every lookup is O(1) no matter how many views are on screen.
+ */
+public class ViewPositionIndex {
+    public static final int INVALID_POSITION = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private View[] mViews = new View[INITIAL_CAPACITY];
+    private int mHead = 0;
+    private int mCount = 0;
+    private int mFirstPosition = INVALID_POSITION;
+
+    public int size() {
+        return mCount;
+    }
+
+    public boolean isEmpty() {
+        return mCount == 0;
+    }
+
+    public int getFirstPosition() {
+        return mFirstPosition;
+    }
+
+    /**
+     * @param view     the view being drawn in front of the window
+     * @param position the adapter position directly before the first position in the window
+     */
+    public void addFirst(final View view, final int position) {
+        ensureCapacity();
+        mHead = (mHead - 1 + mViews.length) % mViews.length;
+        mViews[mHead] = view;
+        mCount++;
+        mFirstPosition = position;
+        getLayoutParams(view).mPosition = position;
+    }
+
+    /**
+     * @param view     the view being drawn at the end of the window
+     * @param position the adapter position directly after the last position in the window
+     */
+    public void addLast(final View view, final int position) {
+        ensureCapacity();
+        if (mCount == 0) {
+            mHead = 0;
+            mFirstPosition = position;
+        }
+        mViews[(mHead + mCount) % mViews.length] = view;
+        mCount++;
+        getLayoutParams(view).mPosition = position;
+    }
+
+    /**
+     * Removing either end of the window is O(1), removing from the middle shifts the views behind it.
+     */
+    public void remove(final View view) {
+        final int index = indexOf(view);
+        if (index == INVALID_POSITION) return;
+
+        if (index == 0) {
+            mViews[mHead] = null;
+            mHead = (mHead + 1) % mViews.length;
+            mCount--;
+            mFirstPosition = mCount == 0 ? INVALID_POSITION : getLayoutParams(mViews[mHead]).mPosition;
+        } else {
+            for (int shift = index; shift < mCount - 1; shift++) {
+                mViews[(mHead + shift) % mViews.length] = mViews[(mHead + shift + 1) % mViews.length];
+            }
+            mViews[(mHead + mCount - 1) % mViews.length] = null;
+            mCount--;
+        }
+
+        final AdapterViewLayoutParams layoutParams = getLayoutParams(view);
+        layoutParams.mPosition = INVALID_POSITION;
+        layoutParams.setFlag(AdapterViewLayoutParams.FLAG_DETACHED, false);
+    }
+
+    /**
+     * @param adapterCount used to wrap the window around the end of the adapter when scrolling circularly
+     * @return the view drawn for the position or null when it is not in the window
+     */
+    public View get(final int position, final int adapterCount) {
+        if (mCount == 0 || position < 0 || position >= adapterCount) return null;
+
+        int offset = position - mFirstPosition;
+        if (offset < 0) offset += adapterCount;
+        if (offset < 0 || offset >= mCount) return null;
+
+        final View view = mViews[(mHead + offset) % mViews.length];
+        if (getPosition(view) != position) return null;
+        return view;
+    }
+
+    /**
+     * Moves every drawn view by the delta, for items inserted or removed before the first drawn position.
+     */
+    public void offsetPositions(final int delta) {
+        if (mCount == 0 || delta == 0) return;
+
+        for (int index = 0; index < mCount; index++) {
+            getLayoutParams(mViews[(mHead + index) % mViews.length]).mPosition += delta;
+        }
+        mFirstPosition += delta;
+    }
+
+    public boolean contains(final int position, final int adapterCount) {
+        return get(position, adapterCount) != null;
+    }
+
+    public int getPosition(final View view) {
+        if (view == null) return INVALID_POSITION;
+
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.peek(view);
+        if (layoutParams == null) return INVALID_POSITION;
+        return layoutParams.mPosition;
+    }
+
+    /**
+     * @return true when the view is kept laid out past the edge of the viewport but is not attached to the view group
+     */
+    public boolean isDetached(final View view) {
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.peek(view);
+        return layoutParams != null && layoutParams.hasFlag(AdapterViewLayoutParams.FLAG_DETACHED);
+    }
+
+    public void setDetached(final View view, final boolean isDetached) {
+        getLayoutParams(view).setFlag(AdapterViewLayoutParams.FLAG_DETACHED, isDetached);
+    }
+
+    public void clear() {
+        for (int index = 0; index < mCount; index++) {
+            final int ringIndex = (mHead + index) % mViews.length;
+            final AdapterViewLayoutParams layoutParams = getLayoutParams(mViews[ringIndex]);
+            layoutParams.mPosition = INVALID_POSITION;
+            layoutParams.setFlag(AdapterViewLayoutParams.FLAG_DETACHED, false);
+            mViews[ringIndex] = null;
+        }
+        mHead = 0;
+        mCount = 0;
+        mFirstPosition = INVALID_POSITION;
+    }
+
+    private int indexOf(final View view) {
+        final int position = getPosition(view);
+        if (position == INVALID_POSITION || mCount == 0) return INVALID_POSITION;
+
+        final View first = mViews[mHead];
+        if (first == view) return 0;
+
+        final int lastIndex = mCount - 1;
+        if (mViews[(mHead + lastIndex) % mViews.length] == view) return lastIndex;
+
+        final int offset = position - mFirstPosition;
+        if (offset > 0 && offset < mCount && mViews[(mHead + offset) % mViews.length] == view) return offset;
+
+        for (int index = 1; index < lastIndex; index++) {
+            if (mViews[(mHead + index) % mViews.length] == view) return index;
+        }
+        return INVALID_POSITION;
+    }
+
+    private void ensureCapacity() {
+        if (mCount < mViews.length) return;
+
+        final View[] views = new View[mViews.length * 2];
+        for (int index = 0; index < mCount; index++) {
+            views[index] = mViews[(mHead + index) % mViews.length];
+        }
+        mViews = views;
+        mHead = 0;
+    }
+
+    private static AdapterViewLayoutParams getLayoutParams(final View view) {
+        return AdapterViewLayoutParams.from(view);
+    }
+}
@@ -0,0 +1,157 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+
+/**
+ * Array backed pool of recycled views of a single view type. Unless a maximum size is set, the pool holds as many
+ * views as were ever on screen at once for its type, anything recycled past that is dropped. Each pooled view keeps
+ * its slot in its {@link AdapterViewLayoutParams}.
+ */
+public class ViewTypePool {
+
+    public static final int AUTO_MAX_SIZE = -1;
+    private static final int MIN_AUTO_MAX_SIZE = 2;
+
+    private View[] mViews = new View[MIN_AUTO_MAX_SIZE];
+    private int mSize;
+    private int mMaxSize = AUTO_MAX_SIZE;
+    private int mOnScreenCount;
+    private int mPeakOnScreenCount;
+    private int mReservedSize;
+
+    /**
+     * @return false when the pool is full and the view was dropped
+     */
+    public boolean put(final View view) {
+        if (mSize >= getMaxSize()) return false;
+
+        if (mSize == mViews.length) {
+            final View[] views = new View[mViews.length * 2];
+            System.arraycopy(mViews, 0, views, 0, mSize);
+            mViews = views;
+        }
+        setIndex(view, mSize);
+        mViews[mSize++] = view;
+        return true;
+    }
+
+    /**
+     * @return the most recently recycled view or null if the pool is empty
+     */
+    public View poll() {
+        if (mSize == 0) return null;
+
+        final View view = mViews[--mSize];
+        mViews[mSize] = null;
+        setIndex(view, AdapterViewLayoutParams.INVALID_POOL_INDEX);
+        return view;
+    }
+
+    /**
+     * Takes the view out of the pool in constant time, the most recently recycled view moves into its place.
+     *
+     * @return false if the view was not in the pool
+     */
+    public boolean remove(final View view) {
+        final AdapterViewLayoutParams layoutParams = AdapterViewLayoutParams.peek(view);
+        if (layoutParams == null) return false;
+
+        // the view may be pooled in another pool
+        final int index = layoutParams.mPoolIndex;
+        if (index < 0 || index >= mSize || mViews[index] != view) return false;
+        layoutParams.mPoolIndex = AdapterViewLayoutParams.INVALID_POOL_INDEX;
+
+        final int lastIndex = --mSize;
+        if (index != lastIndex) {
+            final View lastView = mViews[lastIndex];
+            mViews[index] = lastView;
+            setIndex(lastView, index);
+        }
+        mViews[lastIndex] = null;
+        return true;
+    }
+
+    /**
+     * Drops the oldest recycled views until at most the given number are left.
+     *
+     * @return the number of views dropped, they are passed to the listener before being released
+     */
+    public int trim(final int size, final OnViewDroppedListener onViewDroppedListener) {
+        final int keep = Math.max(size, 0);
+        if (mSize <= keep) return 0;
+
+        final int dropCount = mSize - keep;
+        for (int index = 0; index < dropCount; index++) {
+            setIndex(mViews[index], AdapterViewLayoutParams.INVALID_POOL_INDEX);
+            if (onViewDroppedListener != null) onViewDroppedListener.onViewDropped(mViews[index]);
+        }
+        System.arraycopy(mViews, dropCount, mViews, 0, keep);
+        for (int index = keep; index < mSize; index++) {
+            mViews[index] = null;
+        }
+        for (int index = 0; index < keep; index++) {
+            setIndex(mViews[index], index);
+        }
+        mSize = keep;
+        return dropCount;
+    }
+
+    private static void setIndex(final View view, final int index) {
+        AdapterViewLayoutParams.from(view).mPoolIndex = index;
+    }
+
+    public void onViewOnScreen() {
+        mOnScreenCount++;
+        mPeakOnScreenCount = Math.max(mPeakOnScreenCount, mOnScreenCount);
+    }
+
+    public void onViewOffScreen() {
+        mOnScreenCount = Math.max(mOnScreenCount - 1, 0);
+    }
+
+    /**
+     * @param maxSize the largest number of views kept, or {@link #AUTO_MAX_SIZE} to follow the peak on screen count
+     */
+    public void setMaxSize(final int maxSize) {
+        mMaxSize = maxSize < 0 ? AUTO_MAX_SIZE : maxSize;
+    }
+
+    public int getMaxSize() {
+        if (mMaxSize != AUTO_MAX_SIZE) return mMaxSize;
+        return Math.max(Math.max(mPeakOnScreenCount, MIN_AUTO_MAX_SIZE), mReservedSize);
+    }
+
+    /**
+     * Keeps room for at least this many views while the maximum size follows the peak on screen count, so views
+     * created ahead of the first layout are not dropped.
+     */
+    public void reserve(final int size) {
+        mReservedSize = Math.max(mReservedSize, size);
+    }
+
+    /**
+     * Gives up the room kept by {@link #reserve}, the oldest views past the maximum size are dropped.
+     *
+     * @return the number of views dropped
+     */
+    public int releaseReservation(final OnViewDroppedListener onViewDroppedListener) {
+        mReservedSize = 0;
+        return trim(getMaxSize(), onViewDroppedListener);
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public int getOnScreenCount() {
+        return mOnScreenCount;
+    }
+
+    public int getPeakOnScreenCount() {
+        return mPeakOnScreenCount;
+    }
+
+    public interface OnViewDroppedListener {
+        void onViewDropped(final View view);
+    }
+}
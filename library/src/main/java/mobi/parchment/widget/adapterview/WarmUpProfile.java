@@ -0,0 +1,127 @@
+package mobi.parchment.widget.adapterview;
+
+import android.util.SparseIntArray;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * How many views of each pool view type a screen needed at the start of a previous session: the most that were on
+ * screen at once and how many the first layout drew. Kept in a small versioned file so the next session can prewarm
+ * exactly that many views, see {@link AdapterViewManager#warmUp}.
+ */
+public class WarmUpProfile {
+
+    /**
+     * Bumped whenever the file format changes, files of other versions are ignored.
+     */
+    public static final int VERSION = 1;
+
+    private final SparseIntArray mPeakCounts = new SparseIntArray();
+    private final SparseIntArray mFirstLayoutCounts = new SparseIntArray();
+
+    public void put(final int viewType, final int peakCount, final int firstLayoutCount) {
+        mPeakCounts.put(viewType, peakCount);
+        mFirstLayoutCounts.put(viewType, firstLayoutCount);
+    }
+
+    public int size() {
+        return mPeakCounts.size();
+    }
+
+    public int getViewTypeAt(final int index) {
+        return mPeakCounts.keyAt(index);
+    }
+
+    public int getPeakCount(final int viewType) {
+        return mPeakCounts.get(viewType);
+    }
+
+    public int getFirstLayoutCount(final int viewType) {
+        return mFirstLayoutCounts.get(viewType);
+    }
+
+    /**
+     * @return the number of views of the view type worth creating before the first layout
+     */
+    public int getWarmUpCount(final int viewType) {
+        return Math.max(getPeakCount(viewType), getFirstLayoutCount(viewType));
+    }
+
+    /**
+     * Reads the disk, call it off the main thread or while it is idle.
+     *
+     * @return the profile stored in the file, or null when there is none or it was written by another version
+     */
+    public static WarmUpProfile read(final File file) {
+        if (!file.exists()) return null;
+
+        DataInputStream inputStream = null;
+        try {
+            inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (inputStream.readInt() != VERSION) return null;
+
+            final WarmUpProfile warmUpProfile = new WarmUpProfile();
+            final int size = inputStream.readInt();
+            for (int index = 0; index < size; index++) {
+                final int viewType = inputStream.readInt();
+                final int peakCount = inputStream.readInt();
+                final int firstLayoutCount = inputStream.readInt();
+                warmUpProfile.put(viewType, peakCount, firstLayoutCount);
+            }
+            return warmUpProfile;
+        } catch (final IOException exception) {
+            return null;
+        } finally {
+            close(inputStream);
+        }
+    }
+
+    /**
+     * Writes the disk, call it off the main thread or while it is idle. The file is replaced in one rename so a
+     * session killed half way through never leaves a truncated profile behind.
+     *
+     * @return false when the profile could not be written
+     */
+    public boolean write(final File file) {
+        final File directory = file.getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) return false;
+
+        final File temporaryFile = new File(file.getPath() + ".tmp");
+        DataOutputStream outputStream = null;
+        try {
+            outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)));
+            outputStream.writeInt(VERSION);
+            outputStream.writeInt(size());
+            for (int index = 0; index < size(); index++) {
+                final int viewType = getViewTypeAt(index);
+                outputStream.writeInt(viewType);
+                outputStream.writeInt(getPeakCount(viewType));
+                outputStream.writeInt(getFirstLayoutCount(viewType));
+            }
+            outputStream.close();
+            outputStream = null;
+            return temporaryFile.renameTo(file);
+        } catch (final IOException exception) {
+            return false;
+        } finally {
+            close(outputStream);
+        }
+    }
+
+    private static void close(final Closeable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (final IOException exception) {
+            // nothing was lost, the stream was only read or already failed
+        }
+    }
+}
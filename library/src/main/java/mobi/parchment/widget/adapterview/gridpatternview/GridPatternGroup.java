@@ -13,27 +13,40 @@ import mobi.parchment.widget.adapterview.utilities.ViewGroupUtilities;
  */
 public class GridPatternGroup {
 
-    private final GridPatternGroupDefinition mGridPatternGroupDefinition;
-    private final ViewGroup mViewGroup;
-    private final boolean mIsVerticalScroll;
-    private final float mStretchRatio;
-    private final int mCellSpacing;
+    private GridPatternGroupDefinition mGridPatternGroupDefinition;
+    private ViewGroup mViewGroup;
+    private boolean mIsVerticalScroll;
+    private float mStretchRatio;
+    private int mCellSpacing;
     private int mStartOffset;
 
     private final List<View> mViews = new ArrayList<View>();
 
     public GridPatternGroup(final GridPatternGroupDefinition gridPatternGroupDefinition, final ViewGroup viewGroup, final boolean isVerticalScroll, final float stretchRatio, final int cellSpacing) {
+        reset(gridPatternGroupDefinition, viewGroup, isVerticalScroll, stretchRatio, cellSpacing);
+    }
+
+    /**
+     * Empties the group and gives it a new definition so a recycled group can be used for another cell.
+     */
+    public void reset(final GridPatternGroupDefinition gridPatternGroupDefinition, final ViewGroup viewGroup, final boolean isVerticalScroll, final float stretchRatio, final int cellSpacing) {
         mGridPatternGroupDefinition = gridPatternGroupDefinition;
         mViewGroup = viewGroup;
         mIsVerticalScroll = isVerticalScroll;
         mStretchRatio = stretchRatio;
         mCellSpacing = cellSpacing;
+        mStartOffset = 0;
+        mViews.clear();
     }
 
     public void setStartOffset(final int startOffset) {
         mStartOffset = startOffset;
     }
 
+    public void offsetStartOffset(final int displacement) {
+        mStartOffset += displacement;
+    }
+
     public int getTop() {
         if (mIsVerticalScroll) {
             return mStartOffset;
@@ -19,6 +19,7 @@ public class GridPatternLayoutManager extends LayoutManager<GridPatternGroup> {
     private List<GridPatternGroupDefinition> mGridPatternGroupDefinitions = new ArrayList<GridPatternGroupDefinition>();
     private int mNumberOfGridItemsPerRepetition;
     private GridPatternLayoutManagerAttributes mGridPatternLayoutManagerAttributes;
+    private final List<GridPatternGroup> mRecycledGridPatternGroups = new ArrayList<GridPatternGroup>();
 
     public GridPatternLayoutManager(final ViewGroup viewGroup, final OnSelectedListener onSelectedListener, final AdapterViewManager adapterViewManager, final LayoutManagerAttributes layoutManagerAttributes) {
         super(viewGroup, onSelectedListener, adapterViewManager, layoutManagerAttributes);
@@ -108,7 +109,7 @@ public class GridPatternLayoutManager extends LayoutManager<GridPatternGroup> {
         final int cellSpacing = getCellSpacing();
         final float ratio = mGridPatternLayoutManagerAttributes.getRatio();
         final boolean isVerticalScroll = isVerticalScroll();
-        final GridPatternGroup gridPatternGroup = new GridPatternGroup(gridPatternGroupDefinition, viewGroup, isVerticalScroll, ratio, cellSpacing);
+        final GridPatternGroup gridPatternGroup = obtainGridPatternGroup(gridPatternGroupDefinition, viewGroup, isVerticalScroll, ratio, cellSpacing);
 
         final AdapterViewManager adapterViewManager = getAdapterViewManager();
         final int adapterCount = adapterViewManager.getAdapterCount();
@@ -128,6 +129,23 @@ public class GridPatternLayoutManager extends LayoutManager<GridPatternGroup> {
         return gridPatternGroup;
     }
 
+    private GridPatternGroup obtainGridPatternGroup(final GridPatternGroupDefinition gridPatternGroupDefinition, final ViewGroup viewGroup, final boolean isVerticalScroll, final float ratio, final int cellSpacing) {
+        final int lastIndex = mRecycledGridPatternGroups.size() - 1;
+        if (lastIndex < 0) {
+            return new GridPatternGroup(gridPatternGroupDefinition, viewGroup, isVerticalScroll, ratio, cellSpacing);
+        }
+
+        final GridPatternGroup gridPatternGroup = mRecycledGridPatternGroups.remove(lastIndex);
+        gridPatternGroup.reset(gridPatternGroupDefinition, viewGroup, isVerticalScroll, ratio, cellSpacing);
+        return gridPatternGroup;
+    }
+
+    @Override
+    protected void recycleCell(final GridPatternGroup gridPatternGroup) {
+        gridPatternGroup.clear();
+        mRecycledGridPatternGroups.add(gridPatternGroup);
+    }
+
     private int getGridPatternItemDefinitionBreadthStart(final GridPatternItemDefinition gridPatternItemDefinition) {
         if (isVerticalScroll()) {
             return gridPatternItemDefinition.getLeft();
@@ -210,6 +228,12 @@ public class GridPatternLayoutManager extends LayoutManager<GridPatternGroup> {
         return viewSize;
     }
 
+    @Override
+    protected void offsetCell(final GridPatternGroup gridPatternGroup, final int displacement) {
+        super.offsetCell(gridPatternGroup, displacement);
+        gridPatternGroup.offsetStartOffset(displacement);
+    }
+
     @Override
     public void layoutCell(final GridPatternGroup gridPatternGroup, final int cellStart, final int cellEnd, final int firstAdapterPositionInCell, final int breadth, final int cellSpacing) {
         gridPatternGroup.setStartOffset(cellStart);
@@ -332,20 +356,6 @@ public class GridPatternLayoutManager extends LayoutManager<GridPatternGroup> {
         return adapterPosition;
     }
 
-    @Override
-    protected int getDrawPosition(final List<GridPatternGroup> gridPatternGroups, final int drawCellPosition) {
-
-        int drawPosition = 0;
-
-        for (int index = 0; index < drawCellPosition; index++) {
-            final GridPatternGroup gridPatternGroup = gridPatternGroups.get(index);
-            final int numberOfItems = gridPatternGroup.getNumberOfItems();
-            drawPosition += numberOfItems;
-        }
-
-        return drawPosition;
-    }
-
     @Override
     protected int getLastAdapterPositionInCell(final int cellPosition) {
         final int gridPatternGroupDefinitionSize = mGridPatternGroupDefinitions.size();
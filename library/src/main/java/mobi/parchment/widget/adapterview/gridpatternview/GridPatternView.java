@@ -52,10 +52,15 @@ public class GridPatternView<ADAPTER extends Adapter> extends AdapterView<ADAPTE
         mIsVerticalScroll = gridPatternAttributes.isVertical();
 
         final GridPatternLayoutManagerAttributes gridLayoutManagerAttributes = new GridPatternLayoutManagerAttributes(isCircularScroll, snapToPosition, isViewPager, viewPagerInterval, snapPosition, cellSpacing, selectOnSnap, selectWhileScrolling, mIsVerticalScroll, ratio);
+        gridLayoutManagerAttributes.setPrefetchDistance(gridPatternAttributes.getPrefetchDistance());
+        gridLayoutManagerAttributes.setExtendedViewportSize(gridPatternAttributes.getExtendedViewportSize());
+        gridLayoutManagerAttributes.setExtendedViewportCells(gridPatternAttributes.getExtendedViewportCells());
+        gridLayoutManagerAttributes.setPredictiveSnap(gridPatternAttributes.isPredictiveSnap());
         final AdapterViewManager adapterViewManager = new AdapterViewManager();
         mGridPatternLayoutManager = new GridPatternLayoutManager(this, this, adapterViewManager, gridLayoutManagerAttributes);
 
         final AdapterViewInitializer<GridPatternGroup> adapterViewAdapterInitializer = createAdapterViewInitializer(context, isViewPager, adapterViewManager, mGridPatternLayoutManager, mIsVerticalScroll);
+        adapterViewAdapterInitializer.getChildTouchListener().setTouchResampling(gridPatternAttributes.isTouchResampling());
         return adapterViewAdapterInitializer;
     }
 
@@ -8,6 +8,7 @@ import mobi.parchment.widget.adapterview.LayoutManager;
 import mobi.parchment.widget.adapterview.OnSelectedListener;
 import mobi.parchment.widget.adapterview.utilities.ViewGroupUtilities;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -15,6 +16,7 @@ import java.util.List;
  */
 public class GridLayoutManager extends LayoutManager<Group> {
     private final GridLayoutManagerAttributes mGridLayoutManagerAttributes;
+    private final List<Group> mRecycledGroups = new ArrayList<Group>();
 
 
     public GridLayoutManager(final ViewGroup viewGroup, final OnSelectedListener onSelectedListener, final AdapterViewManager adapterViewManager, final GridLayoutManagerAttributes gridLayoutManagerAttributes) {
@@ -75,7 +77,8 @@ public class GridLayoutManager extends LayoutManager<Group> {
         final int verticalMeasureSpec = getVerticalMeasureSpec();
         final int horizontalMeasureSpec = getHorizontalMeasureSpec();
         final List<View> views = group.getViews();
-        for (final View view : views) {
+        for (int viewIndex = 0; viewIndex < views.size(); viewIndex++) {
+            final View view = views.get(viewIndex);
             mAdapterViewManager.measureView(viewGroup, view, horizontalMeasureSpec, verticalMeasureSpec);
         }
     }
@@ -97,13 +100,6 @@ public class GridLayoutManager extends LayoutManager<Group> {
         return adapterPosition;
     }
 
-    @Override
-    protected int getDrawPosition(List<Group> groups, int drawCellPosition) {
-        final int numberOfItemsPerCell = mGridLayoutManagerAttributes.getNumberOfViewsPerCell();
-        final int drawPosition = numberOfItemsPerCell * drawCellPosition;
-        return drawPosition;
-    }
-
     @Override
     protected int getLastAdapterPositionInCell(final int cellPosition) {
         final int numberOfItemsPerCell = mGridLayoutManagerAttributes.getNumberOfViewsPerCell();
@@ -122,6 +118,14 @@ public class GridLayoutManager extends LayoutManager<Group> {
         return numberOfFullCells + Math.min(remainderViews, 1);
     }
 
+    /**
+     * Groups only keep their views when whole rows of items come or go.
+     */
+    @Override
+    protected boolean canShiftCells(final int itemCount) {
+        return itemCount % getNumberOfViewsPerCell() == 0;
+    }
+
     @Override
     protected int getCellPosition(int adapterPosition) {
         final int numberOfItemsPerCell = mGridLayoutManagerAttributes.getNumberOfViewsPerCell();
@@ -151,6 +155,9 @@ public class GridLayoutManager extends LayoutManager<Group> {
     }
 
     private int getHorizontalMeasureSpec(){
+        if (isFixedCellSizeKnown()) {
+            return View.MeasureSpec.makeMeasureSpec(getFixedViewWidth(), View.MeasureSpec.EXACTLY);
+        }
         if (isVerticalScroll()){
             final int maxMeasureWidth = getMaxMeasureWidth();
             final int measureSpecMode = getMeasureSpecMode();
@@ -167,6 +174,9 @@ public class GridLayoutManager extends LayoutManager<Group> {
     }
 
     private int getVerticalMeasureSpec(){
+        if (isFixedCellSizeKnown()) {
+            return View.MeasureSpec.makeMeasureSpec(getFixedViewHeight(), View.MeasureSpec.EXACTLY);
+        }
         if (isVerticalScroll()){
             return View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
         }
@@ -181,7 +191,7 @@ public class GridLayoutManager extends LayoutManager<Group> {
         final int horizontalMeasureSpec = getHorizontalMeasureSpec();
         final int adapterCount = getAdapterCount();
         final int numberOfCells = getNumberOfViewsPerCell();
-        final Group group = new Group(isVerticalScroll());
+        final Group group = obtainGroup();
         final int positionLimit = Math.min(adapterPosition + numberOfCells, adapterCount);
         for (int index = adapterPosition; index < positionLimit; index++) {
             final View view = mAdapterViewManager.getView(mViewGroup, index, horizontalMeasureSpec, verticalMeasureSpec);
@@ -191,6 +201,22 @@ public class GridLayoutManager extends LayoutManager<Group> {
         return group;
     }
 
+    private Group obtainGroup() {
+        final boolean isVerticalScroll = isVerticalScroll();
+        final int lastIndex = mRecycledGroups.size() - 1;
+        if (lastIndex >= 0) {
+            final Group group = mRecycledGroups.remove(lastIndex);
+            if (group.isVerticalScroll() == isVerticalScroll) return group;
+        }
+        return new Group(isVerticalScroll);
+    }
+
+    @Override
+    protected void recycleCell(final Group group) {
+        group.clear();
+        mRecycledGroups.add(group);
+    }
+
 
     @Override
     public void layoutCell(final Group group, final int cellStart, final int cellEnd, final int firstAdapterPositionInCell, final int breadth, final int cellSpacing) {
@@ -199,7 +225,8 @@ public class GridLayoutManager extends LayoutManager<Group> {
         final int groupBreadth = group.getBreadth() + cellSpacingCount * cellSpacing;
         int viewBreadthOffset = getBreadthOffset(breadth, groupBreadth, cellSpacing);
         int adapterPosition = firstAdapterPositionInCell;
-        for (final View view : views) {
+        for (int viewIndex = 0; viewIndex < views.size(); viewIndex++) {
+            final View view = views.get(viewIndex);
 
             final boolean isSelected = isViewSelected(adapterPosition++);
             view.setSelected(isSelected);
@@ -278,6 +305,7 @@ public class GridLayoutManager extends LayoutManager<Group> {
 
     @Override
     public int getCellSize(final Group group) {
+        if (isFixedCellSizeKnown()) return isVerticalScroll() ? getFixedViewHeight() : getFixedViewWidth();
         if (isVerticalScroll()) return group.getMeasuredHeight();
         return group.getMeasuredWidth();
     }
@@ -50,11 +50,17 @@ public class GridView<ADAPTER extends Adapter> extends AdapterView<ADAPTER, Grou
         final boolean isRight = gridAttributes.isRight();
         final boolean isPerfectGrid = gridAttributes.isPerfectGrid();
         final GridLayoutManagerAttributes gridLayoutManagerAttributes = new GridLayoutManagerAttributes(numberOfViewsPerCell, isCircularScroll, snapToPosition, isViewPager, viewPagerInterval, snapPosition, cellSpacing, selectOnSnap, selectWhileScrolling, isVertical, isTop, isBottom, isLeft, isRight, isPerfectGrid);
+        gridLayoutManagerAttributes.setPrefetchDistance(gridAttributes.getPrefetchDistance());
+        gridLayoutManagerAttributes.setExtendedViewportSize(gridAttributes.getExtendedViewportSize());
+        gridLayoutManagerAttributes.setExtendedViewportCells(gridAttributes.getExtendedViewportCells());
+        gridLayoutManagerAttributes.setHasFixedCellSize(gridAttributes.hasFixedCellSize());
+        gridLayoutManagerAttributes.setPredictiveSnap(gridAttributes.isPredictiveSnap());
 
         final AdapterViewManager adapterViewManager = new AdapterViewManager();
         final GridLayoutManager gridLayoutManager = new GridLayoutManager(this, this, adapterViewManager, gridLayoutManagerAttributes);
 
         final AdapterViewInitializer<Group> adapterViewAdapterViewInitializer = createAdapterViewInitializer(context, isViewPager, adapterViewManager, gridLayoutManager, isVertical);
+        adapterViewAdapterViewInitializer.getChildTouchListener().setTouchResampling(gridAttributes.isTouchResampling());
         return adapterViewAdapterViewInitializer;
     }
 
@@ -10,10 +10,13 @@ import java.util.List;
  */
 public class Group {
 
-    private List<View> mViews = new ArrayList<View>();
+    private final List<View> mViews = new ArrayList<View>();
 
+    /**
+     * @return the views backing this group, not a copy, callers must not modify it
+     */
     public List<View> getViews() {
-        return new ArrayList<View>(mViews);
+        return mViews;
     }
 
     private final boolean mIsVerticalScroll;
@@ -22,25 +25,34 @@ public class Group {
         mIsVerticalScroll = isVerticalScroll;
     }
 
+    public boolean isVerticalScroll() {
+        return mIsVerticalScroll;
+    }
+
     public int getTop() {
-        Integer lowestPixel = null;
-        for (final View view : mViews) {
+        if (mViews.isEmpty()) return 0;
+
+        int lowestPixel = Integer.MAX_VALUE;
+        for (int viewIndex = 0; viewIndex < mViews.size(); viewIndex++) {
+            final View view = mViews.get(viewIndex);
             final int top = view.getTop();
 
-            if (lowestPixel == null || top < lowestPixel) {
+            if (top < lowestPixel) {
                 lowestPixel = top;
             }
-
         }
         return lowestPixel;
     }
 
     public int getLeft() {
-        Integer lowestPixel = null;
-        for (final View view : mViews) {
+        if (mViews.isEmpty()) return 0;
+
+        int lowestPixel = Integer.MAX_VALUE;
+        for (int viewIndex = 0; viewIndex < mViews.size(); viewIndex++) {
+            final View view = mViews.get(viewIndex);
             final int left = view.getLeft();
 
-            if (lowestPixel == null || left < lowestPixel) {
+            if (left < lowestPixel) {
                 lowestPixel = left;
             }
         }
@@ -48,11 +60,14 @@ public class Group {
     }
 
     public int getBottom() {
-        Integer highestPixel = null;
-        for (final View view : mViews) {
+        if (mViews.isEmpty()) return 0;
+
+        int highestPixel = Integer.MIN_VALUE;
+        for (int viewIndex = 0; viewIndex < mViews.size(); viewIndex++) {
+            final View view = mViews.get(viewIndex);
             final int bottom = view.getBottom();
 
-            if (highestPixel == null || bottom > highestPixel) {
+            if (bottom > highestPixel) {
                 highestPixel = bottom;
             }
         }
@@ -60,11 +75,14 @@ public class Group {
     }
 
     public int getRight() {
-        Integer highestPixel = null;
-        for (final View view : mViews) {
+        if (mViews.isEmpty()) return 0;
+
+        int highestPixel = Integer.MIN_VALUE;
+        for (int viewIndex = 0; viewIndex < mViews.size(); viewIndex++) {
+            final View view = mViews.get(viewIndex);
             final int right = view.getRight();
 
-            if (highestPixel == null || right > highestPixel) {
+            if (right > highestPixel) {
                 highestPixel = right;
             }
         }
@@ -73,7 +91,8 @@ public class Group {
 
     public int getMeasuredHeight() {
         int groupHeight = 0;
-        for (final View view : mViews) {
+        for (int viewIndex = 0; viewIndex < mViews.size(); viewIndex++) {
+            final View view = mViews.get(viewIndex);
             final int height = view.getMeasuredHeight();
 
             if (mIsVerticalScroll) {
@@ -89,7 +108,8 @@ public class Group {
 
     public int getMeasuredWidth() {
         int groupWidth = 0;
-        for (final View view : mViews) {
+        for (int viewIndex = 0; viewIndex < mViews.size(); viewIndex++) {
+            final View view = mViews.get(viewIndex);
             final int width = view.getMeasuredWidth();
 
             if (!mIsVerticalScroll) {
@@ -111,7 +131,8 @@ public class Group {
         int fattestWidth = 0;
         View fattestView = null;
 
-        for (final View view : mViews) {
+        for (int viewIndex = 0; viewIndex < mViews.size(); viewIndex++) {
+            final View view = mViews.get(viewIndex);
             final int width = view.getWidth();
 
             if (width > fattestWidth) {
@@ -131,7 +152,8 @@ public class Group {
         int tallestHeight = 0;
         View tallestView = null;
 
-        for (final View view : mViews) {
+        for (int viewIndex = 0; viewIndex < mViews.size(); viewIndex++) {
+            final View view = mViews.get(viewIndex);
             final int height = view.getHeight();
 
             if (height > tallestHeight) {
@@ -173,7 +195,8 @@ public class Group {
     public int getBreadth() {
         int breadth = 0;
 
-        for (final View view : mViews) {
+        for (int viewIndex = 0; viewIndex < mViews.size(); viewIndex++) {
+            final View view = mViews.get(viewIndex);
             if (!mIsVerticalScroll) {
                 final int height = view.getMeasuredHeight();
                 breadth += height;
@@ -3,13 +3,13 @@ package mobi.parchment.widget.adapterview.listview;
 import android.view.View;
 import android.view.ViewGroup;
 
+import mobi.parchment.widget.adapterview.AdapterViewLayoutParams;
 import mobi.parchment.widget.adapterview.AdapterViewManager;
 import mobi.parchment.widget.adapterview.LayoutManager;
 import mobi.parchment.widget.adapterview.LayoutManagerAttributes;
 import mobi.parchment.widget.adapterview.OnSelectedListener;
 import mobi.parchment.widget.adapterview.utilities.ViewGroupUtilities;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -43,11 +43,6 @@ public class ListLayoutManager extends LayoutManager<View> {
         return cellPosition;
     }
 
-    @Override
-    protected int getDrawPosition(List<View> views, int drawCellPosition) {
-        return drawCellPosition;
-    }
-
     @Override
     protected int getLastAdapterPositionInCell(final int cellPosition) {
         return cellPosition;
@@ -60,6 +55,11 @@ public class ListLayoutManager extends LayoutManager<View> {
         return adapterCount;
     }
 
+    @Override
+    protected boolean canShiftCells(final int itemCount) {
+        return true;
+    }
+
     @Override
     protected int getMaxMeasureHeight(int position) {
         return getMaxMeasureHeight();
@@ -108,6 +108,9 @@ public class ListLayoutManager extends LayoutManager<View> {
 
     @Override
     public int getCellSize(final View view) {
+        if (isFixedCellSizeKnown()) {
+            return isVerticalScroll() ? getFixedViewHeight() : getFixedViewWidth();
+        }
         return getViewSize(view);
     }
 
@@ -122,14 +125,18 @@ public class ListLayoutManager extends LayoutManager<View> {
         return view;
     }
 
+    /**
+     * @return an immutable list of the view, cached with the view so it is not allocated per frame
+     */
     @Override
     public List<View> getViews(final View view) {
-        final List<View> views = new ArrayList<View>(1);
-        views.add(view);
-        return views;
+        return AdapterViewLayoutParams.singletonList(view);
     }
 
     private int getHorizontalMeasureSpec(){
+        if (isFixedCellSizeKnown()) {
+            return View.MeasureSpec.makeMeasureSpec(getFixedViewWidth(), View.MeasureSpec.EXACTLY);
+        }
         final int cellSpacing = getCellSpacing();
         if (isVerticalScroll()){
             final int viewGroupMeasuredWidth = ViewGroupUtilities.getViewGroupMeasuredWidth(mViewGroup);
@@ -140,6 +147,9 @@ public class ListLayoutManager extends LayoutManager<View> {
     }
 
     private int getVerticalMeasureSpec(){
+        if (isFixedCellSizeKnown()) {
+            return View.MeasureSpec.makeMeasureSpec(getFixedViewHeight(), View.MeasureSpec.EXACTLY);
+        }
         final int cellSpacing = getCellSpacing();
         if (isVerticalScroll()){
             return View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
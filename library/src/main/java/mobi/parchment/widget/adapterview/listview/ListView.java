@@ -47,11 +47,17 @@ public class ListView<ADAPTER extends Adapter> extends AdapterView<ADAPTER, View
         final boolean selectOnSnap = attributes.selectOnSnap();
         final boolean selectWhileScrolling = attributes.selectWhileScrolling();
         final LayoutManagerAttributes layoutManagerAttributes = new LayoutManagerAttributes(isCircularScroll, snapToPosition, isViewPager, viewPagerInterval, snapPosition, cellSpacing, selectOnSnap, selectWhileScrolling, isVerticalScroll);
+        layoutManagerAttributes.setPrefetchDistance(attributes.getPrefetchDistance());
+        layoutManagerAttributes.setExtendedViewportSize(attributes.getExtendedViewportSize());
+        layoutManagerAttributes.setExtendedViewportCells(attributes.getExtendedViewportCells());
+        layoutManagerAttributes.setHasFixedCellSize(attributes.hasFixedCellSize());
+        layoutManagerAttributes.setPredictiveSnap(attributes.isPredictiveSnap());
 
         final AdapterViewManager adapterViewManager = new AdapterViewManager();
         final ListLayoutManager listLayoutManager = new ListLayoutManager(this, this, adapterViewManager, layoutManagerAttributes);
 
         final AdapterViewInitializer<View> adapterViewAdapterViewInitializer = createAdapterViewInitializer(context, isViewPager, adapterViewManager, listLayoutManager, isVerticalScroll);
+        adapterViewAdapterViewInitializer.getChildTouchListener().setTouchResampling(attributes.isTouchResampling());
         return adapterViewAdapterViewInitializer;
     }
 }
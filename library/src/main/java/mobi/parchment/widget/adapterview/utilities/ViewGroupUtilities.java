@@ -20,4 +20,13 @@ public class ViewGroupUtilities {
         return viewGroupWidthSize;
     }
 
+    /**
+     * @return true when the point, in the coordinates of the view's parent, is within the view's bounds edges included
+     */
+    public static boolean isPointInView(final View view, final float x, final float y) {
+        final boolean xFits = x >= view.getLeft() && x <= view.getLeft() + view.getWidth();
+        final boolean yFits = y >= view.getTop() && y <= view.getTop() + view.getHeight();
+        return xFits && yFits;
+    }
+
 }
@@ -0,0 +1,71 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class AdapterViewLayoutParamsTest extends ListLayoutFixture {
+
+    public static final int MEASURE_SPEC = View.MeasureSpec.makeMeasureSpec(VIEW_SIZE, View.MeasureSpec.EXACTLY);
+    TestItemAdapter mTestAdapter;
+
+    @Before
+    public void setup() {
+        mTestAdapter = new TestItemAdapter(VIEW_SIZE) {
+            @Override
+            protected View createView(final int position) {
+                return setViewSize(new CountingView(Robolectric.application), getViewSize());
+            }
+        };
+        mTestAdapter.setReusingConvertViews(true);
+        mTestAdapter.setAdapterSize(100);
+        setup(createAttributes(), mTestAdapter);
+    }
+
+    @Test
+    public void layout_storesTheBookkeepingOnTheChildLayoutParams() {
+        for (int index = 0; index < mViewGroup.mViews.size(); index++) {
+            final View view = mViewGroup.mViews.get(index);
+            final AdapterViewLayoutParams layoutParams = (AdapterViewLayoutParams) view.getLayoutParams();
+
+            assertThat(layoutParams.getPosition()).isEqualTo(index);
+            assertThat(layoutParams.getItemId()).isEqualTo(index);
+            assertThat(layoutParams.getViewType()).isEqualTo(0);
+            assertThat(layoutParams.width).isEqualTo(VIEW_SIZE);
+        }
+    }
+
+    @Test
+    public void getView_keepsTheMeasurementOfARecycledViewForTheSameSpecs() {
+        final CountingView view = (CountingView) adapterViewManager.getView(mViewGroup, 50, MEASURE_SPEC, MEASURE_SPEC);
+        view.layout(0, 0, VIEW_SIZE, VIEW_SIZE);
+        adapterViewManager.recycle(view);
+        final int measureCount = view.mMeasureCount;
+
+        final View sameSpecView = adapterViewManager.getView(mViewGroup, 51, MEASURE_SPEC, MEASURE_SPEC);
+        assertThat(sameSpecView).isSameAs(view);
+        assertThat(view.mMeasureCount).isEqualTo(measureCount);
+
+        adapterViewManager.recycle(view);
+        final int otherMeasureSpec = View.MeasureSpec.makeMeasureSpec(VIEW_SIZE * 2, View.MeasureSpec.AT_MOST);
+        adapterViewManager.getView(mViewGroup, 52, otherMeasureSpec, MEASURE_SPEC);
+        assertThat(view.mMeasureCount).isEqualTo(measureCount + 1);
+    }
+
+    @Test
+    public void recycle_ignoresViewsOfAPreviousAdapter() {
+        final View view = adapterViewManager.getView(mViewGroup, 50, MEASURE_SPEC, MEASURE_SPEC);
+
+        adapterViewManager.setAdapter(new TestItemAdapter(VIEW_SIZE));
+        adapterViewManager.recycle(view);
+
+        assertThat(adapterViewManager.getPoolSize(0)).isEqualTo(0);
+    }
+}
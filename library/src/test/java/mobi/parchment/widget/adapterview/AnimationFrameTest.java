@@ -0,0 +1,191 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Flings for two seconds through the animator's own frame callbacks and counts the layout traversals they request,
+ * once for the per-frame layout the animation used to do and once for the frame driver that offsets cells in place.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class AnimationFrameTest extends ListLayoutFixture {
+
+    public static final int FRAME_INTERVAL_IN_MILLISECONDS = 16;
+    public static final int FLING_DURATION_IN_MILLISECONDS = 2000;
+    public static final int FLING_VELOCITY = -2000;
+    final List<Runnable> mPostedFrames = new ArrayList<Runnable>();
+    AdapterAnimator mAdapterAnimator;
+    long mFrameTime;
+    int mFrames;
+    int mLayoutTraversals;
+
+    @Before
+    public void setup() {
+        final TestItemAdapter testAdapter = new TestItemAdapter(VIEW_SIZE);
+        testAdapter.setAdapterSize(1000);
+        setup(createAttributes(), testAdapter);
+    }
+
+    @Test
+    public void fling_onlyRequestsLayoutWhenCellsEnterOrLeave() {
+        // Before the frame driver the layout manager never moved cells in place, every frame was a layout traversal.
+        final LayoutManagerBridge perFrameLayoutBridge = new LayoutManagerBridge(listLayoutManager) {
+            @Override
+            public boolean scroll(final ViewGroup viewGroup, final Animation animation) {
+                return false;
+            }
+        };
+        fling(perFrameLayoutBridge);
+        final int perFrameLayoutFrames = mFrames;
+        final int perFrameLayoutTraversals = mLayoutTraversals;
+
+        final int scrollOffset = listLayoutManager.getEstimatedScrollOffset();
+        fling(new LayoutManagerBridge(listLayoutManager));
+        final int cellsCrossed = (listLayoutManager.getEstimatedScrollOffset() - scrollOffset) / (VIEW_SIZE + CELL_SPACING);
+
+        assertThat(perFrameLayoutFrames).isGreaterThanOrEqualTo(FLING_DURATION_IN_MILLISECONDS / FRAME_INTERVAL_IN_MILLISECONDS);
+        assertThat(perFrameLayoutTraversals).isEqualTo(perFrameLayoutFrames);
+
+        // a cell entering at one edge and another leaving at the other are the only frames left needing a layout
+        assertThat(mFrames).isEqualTo(perFrameLayoutFrames);
+        assertThat(cellsCrossed).isGreaterThan(10);
+        assertThat(mLayoutTraversals).isLessThanOrEqualTo(2 * cellsCrossed + 2);
+        assertThat(mLayoutTraversals).isLessThan(perFrameLayoutTraversals / 2);
+    }
+
+    @Test
+    public void fling_keepsCellsWhereALayoutWouldPutThem() {
+        fling(new LayoutManagerBridge(listLayoutManager));
+
+        final List<Integer> lefts = new ArrayList<Integer>();
+        for (final View view : mViewGroup.mViews) {
+            lefts.add(view.getLeft());
+        }
+
+        for (final View view : mViewGroup.mViews) {
+            view.requestLayout();
+        }
+        doLayout();
+
+        for (int index = 0; index < lefts.size(); index++) {
+            assertThat(mViewGroup.mViews.get(index).getLeft()).isEqualTo(lefts.get(index));
+        }
+    }
+
+    /**
+     * Flings through the layout manager bridge and runs the frames the animator posts until it stops.
+     */
+    private void fling(final LayoutManagerBridge layoutManagerBridge) {
+        final ViewConfiguration viewConfiguration = ViewConfiguration.get(Robolectric.application);
+        final FrameClockScrollAnimator scrollAnimator = new FrameClockScrollAnimator();
+        mAdapterAnimator = new AdapterAnimator(mViewGroup, false, false, layoutManagerBridge, viewConfiguration, scrollAnimator) {
+            @Override
+            protected void postFrame(final Runnable frame) {
+                mPostedFrames.add(frame);
+            }
+        };
+        mFrames = 0;
+        mLayoutTraversals = 0;
+        mViewGroup.mIsLayoutRequested = false;
+
+        mAdapterAnimator.onFling(null, null, FLING_VELOCITY, 0);
+        while (!mPostedFrames.isEmpty()) {
+            mFrameTime += FRAME_INTERVAL_IN_MILLISECONDS;
+            runFrame();
+        }
+    }
+
+    /**
+     * Runs the frame callbacks posted so far, then the layout traversal if one was requested.
+     */
+    private void runFrame() {
+        final List<Runnable> frames = new ArrayList<Runnable>(mPostedFrames);
+        mPostedFrames.clear();
+        for (final Runnable frame : frames) {
+            frame.run();
+        }
+        mFrames++;
+
+        if (mViewGroup.mIsLayoutRequested) {
+            mLayoutTraversals++;
+            doLayout();
+        }
+    }
+
+    private void doLayout() {
+        mViewGroup.mIsLayoutRequested = false;
+        listLayoutManager.layout(mViewGroup, mAdapterAnimator.getAnimation(), false, 0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+        mAdapterAnimator.onLayout();
+    }
+
+    /**
+     * Decelerates linearly to a stop over the fling duration, on the frame time of the test instead of the clock of
+     * the scroller.
+     */
+    public class FrameClockScrollAnimator extends ScrollAnimator {
+        private float mVelocity;
+        private long mStartTime;
+        private int mOffset;
+        private boolean mIsFinished = true;
+
+        public FrameClockScrollAnimator() {
+            super(Robolectric.application, false);
+        }
+
+        @Override
+        public void flingBy(final float velocityX, final float velocityY) {
+            mVelocity = velocityX;
+            mStartTime = mFrameTime;
+            mOffset = 0;
+            mIsFinished = false;
+        }
+
+        @Override
+        public int getFinalOffset() {
+            return getOffset(FLING_DURATION_IN_MILLISECONDS);
+        }
+
+        @Override
+        public boolean computeScrollOffset() {
+            if (mIsFinished) return false;
+
+            final long elapsedTime = Math.min(mFrameTime - mStartTime, FLING_DURATION_IN_MILLISECONDS);
+            mOffset = getOffset(elapsedTime);
+            mIsFinished = elapsedTime == FLING_DURATION_IN_MILLISECONDS;
+            return true;
+        }
+
+        @Override
+        public int getCurrrentOffset() {
+            return mOffset;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return mIsFinished;
+        }
+
+        @Override
+        public void forceFinished(final boolean finished) {
+            mIsFinished = finished;
+        }
+
+        private int getOffset(final long elapsedTime) {
+            final float seconds = elapsedTime / 1000f;
+            final float duration = FLING_DURATION_IN_MILLISECONDS / 1000f;
+            return (int) (mVelocity * seconds - mVelocity * seconds * seconds / (2 * duration));
+        }
+    }
+}
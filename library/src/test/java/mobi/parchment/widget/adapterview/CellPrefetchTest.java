@@ -0,0 +1,84 @@
+package mobi.parchment.widget.adapterview;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class CellPrefetchTest extends ListLayoutFixture {
+
+    public static final int PREFETCH_DISTANCE = 2;
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    TestItemAdapter mTestAdapter;
+
+    @Before
+    public void setup() {
+        final LayoutManagerAttributes attributes = createAttributes();
+        attributes.setPrefetchDistance(PREFETCH_DISTANCE);
+        mTestAdapter = new TestItemAdapter(VIEW_SIZE);
+        mTestAdapter.setAdapterSize(10);
+        setup(attributes, mTestAdapter);
+    }
+
+    @Test
+    public void prefetch_buildsCellsAheadOfTheScrollWithoutAttachingThem() {
+        final int getViewCount = mTestAdapter.getGetViewCount();
+        final int numberOfViews = mViewGroup.mViews.size();
+
+        listLayoutManager.setScrollVelocity(-1000);
+        listLayoutManager.prefetchCells(NO_DEADLINE);
+
+        assertThat(mTestAdapter.getGetViewCount()).isEqualTo(getViewCount + PREFETCH_DISTANCE);
+        assertThat(mViewGroup.mViews.size()).isEqualTo(numberOfViews);
+    }
+
+    @Test
+    public void layout_attachesPrefetchedCellsWithoutCallingTheAdapter() {
+        listLayoutManager.setScrollVelocity(-1000);
+        listLayoutManager.prefetchCells(NO_DEADLINE);
+
+        doLayout(-(VIEW_SIZE + CELL_SPACING));
+
+        assertThat(Collections.frequency(mTestAdapter.mRequestedPositions, 3)).isEqualTo(1);
+        assertThat(listLayoutManager.getPosition(mViewGroup.mViews.get(mViewGroup.mViews.size() - 1))).isEqualTo(3);
+    }
+
+    @Test
+    public void prefetch_doesNothingWhenNotScrolling() {
+        final int getViewCount = mTestAdapter.getGetViewCount();
+
+        listLayoutManager.setScrollVelocity(0);
+        listLayoutManager.prefetchCells(NO_DEADLINE);
+
+        assertThat(mTestAdapter.getGetViewCount()).isEqualTo(getViewCount);
+    }
+
+    @Test
+    public void prefetch_doesNothingOnceTheNextFrameIsDue() {
+        final int getViewCount = mTestAdapter.getGetViewCount();
+
+        listLayoutManager.setScrollVelocity(-1000);
+        listLayoutManager.prefetchCells(System.nanoTime());
+
+        assertThat(mTestAdapter.getGetViewCount()).isEqualTo(getViewCount);
+    }
+
+    @Test
+    public void prefetch_skipsCellsTheirViewTypeIsTooSlowToBuildBeforeTheNextFrame() {
+        final int getViewCount = mTestAdapter.getGetViewCount();
+        listLayoutManager.getCellCreationCosts().add(0, TimeUnit.SECONDS.toNanos(4));
+        listLayoutManager.setScrollVelocity(-1000);
+
+        listLayoutManager.prefetchCells(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(8));
+        assertThat(mTestAdapter.getGetViewCount()).isEqualTo(getViewCount);
+
+        listLayoutManager.prefetchCells(NO_DEADLINE);
+        assertThat(mTestAdapter.getGetViewCount()).isEqualTo(getViewCount + PREFETCH_DISTANCE);
+    }
+}
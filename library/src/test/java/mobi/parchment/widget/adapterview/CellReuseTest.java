@@ -0,0 +1,148 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import mobi.parchment.widget.adapterview.gridview.GridLayoutManager;
+import mobi.parchment.widget.adapterview.gridview.GridLayoutManagerAttributes;
+import mobi.parchment.widget.adapterview.gridview.Group;
+import mobi.parchment.widget.adapterview.listview.ListLayoutManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class CellReuseTest {
+
+    public static final int VIEW_GROUP_SIZE = 300;
+    public static final int VIEW_SIZE = 100;
+    public static final int CELL_SPACING = 10;
+    public static final int NUMBER_OF_COLUMNS = 2;
+    public static final int NUMBER_OF_FRAMES = 120;
+    public static final int DISPLACEMENT_PER_FRAME = -25;
+    final TestViewGroup mViewGroup = new TestViewGroup(Robolectric.application);
+    final AdapterViewManager adapterViewManager = new AdapterViewManager();
+    TestItemAdapter mTestAdapter;
+    CountingGridLayoutManager mGridLayoutManager;
+
+    @Before
+    public void setup() {
+        final GridLayoutManagerAttributes attributes = new GridLayoutManagerAttributes(NUMBER_OF_COLUMNS, false, false, false, 0, SnapPosition.onScreen, CELL_SPACING, false, false, true, true, false, false, false, false);
+        mGridLayoutManager = new CountingGridLayoutManager(mViewGroup, adapterViewManager, attributes);
+        mTestAdapter = new TestItemAdapter(VIEW_SIZE);
+        adapterViewManager.setAdapter(mTestAdapter);
+        mTestAdapter.setAdapterSize(1000);
+
+        final int measureSpec = View.MeasureSpec.makeMeasureSpec(VIEW_GROUP_SIZE, View.MeasureSpec.EXACTLY);
+        mViewGroup.measure(measureSpec, measureSpec);
+        mViewGroup.layout(0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+    }
+
+    @Test
+    public void fling_keepsTheNumberOfDistinctGroupsBounded() {
+        final Animation animation = new Animation();
+        animation.newAnimation();
+        mGridLayoutManager.layout(mViewGroup, animation, false, 0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+        final int groupsOnScreen = mGridLayoutManager.mGroups.size();
+
+        for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+            animation.setDisplacement(DISPLACEMENT_PER_FRAME);
+            mGridLayoutManager.layout(mViewGroup, animation, false, 0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+        }
+
+        final int rowsScrolled = -NUMBER_OF_FRAMES * DISPLACEMENT_PER_FRAME / (VIEW_SIZE + CELL_SPACING);
+        assertThat(mTestAdapter.getGetViewCount()).isGreaterThan(rowsScrolled * NUMBER_OF_COLUMNS);
+        assertThat(mGridLayoutManager.mGroups.size()).isLessThanOrEqualTo(groupsOnScreen + 2);
+    }
+
+    @Test
+    public void fling_keepsTheViewListOfEveryGroup() {
+        final Map<Group, List<View>> viewLists = new IdentityHashMap<Group, List<View>>();
+        final Animation animation = new Animation();
+        animation.newAnimation();
+
+        for (int frame = 0; frame <= NUMBER_OF_FRAMES; frame++) {
+            animation.setDisplacement(frame == 0 ? 0 : DISPLACEMENT_PER_FRAME);
+            mGridLayoutManager.layout(mViewGroup, animation, false, 0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+
+            for (int cellIndex = 0; cellIndex < mGridLayoutManager.mCells.size(); cellIndex++) {
+                final Group group = mGridLayoutManager.mCells.get(cellIndex);
+                if (!viewLists.containsKey(group)) viewLists.put(group, group.getViews());
+                assertThat(group.getViews()).isSameAs(viewLists.get(group));
+            }
+        }
+
+        assertThat(viewLists.size()).isEqualTo(mGridLayoutManager.mGroups.size());
+    }
+
+    @Test
+    public void fling_keepsTheViewListOfEveryListCell() {
+        final ListLayoutManager listLayoutManager = new ListLayoutManager(mViewGroup, null, adapterViewManager, new LayoutManagerAttributes(false, false, false, 0, SnapPosition.onScreen, CELL_SPACING, false, false, false));
+        final Map<View, List<View>> viewLists = new IdentityHashMap<View, List<View>>();
+        mTestAdapter.setReusingConvertViews(true);
+        final Animation animation = new Animation();
+        animation.newAnimation();
+
+        for (int frame = 0; frame <= NUMBER_OF_FRAMES; frame++) {
+            animation.setDisplacement(frame == 0 ? 0 : DISPLACEMENT_PER_FRAME);
+            listLayoutManager.layout(mViewGroup, animation, false, 0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+
+            for (int viewIndex = 0; viewIndex < mViewGroup.mViews.size(); viewIndex++) {
+                final View view = mViewGroup.mViews.get(viewIndex);
+                if (!viewLists.containsKey(view)) viewLists.put(view, listLayoutManager.getViews(view));
+                assertThat(listLayoutManager.getViews(view)).isSameAs(viewLists.get(view));
+            }
+        }
+
+        // recycled views come back bound to other positions and still bring their list along
+        assertThat(viewLists.size()).isLessThanOrEqualTo(mTestAdapter.getInflateCount());
+        assertThat(mTestAdapter.getInflateCount()).isLessThan(mTestAdapter.getGetViewCount());
+    }
+
+    @Test
+    public void getViews_keepsOneImmutableListPerCell() {
+        final ListLayoutManager listLayoutManager = new ListLayoutManager(mViewGroup, null, adapterViewManager, new LayoutManagerAttributes(false, false, false, 0, SnapPosition.onScreen, CELL_SPACING, false, false, false));
+        final View first = new View(Robolectric.application);
+        final View second = new View(Robolectric.application);
+
+        final List<View> firstViews = listLayoutManager.getViews(first);
+        final List<View> secondViews = listLayoutManager.getViews(second);
+
+        assertThat(firstViews).containsExactly(first);
+        assertThat(secondViews).containsExactly(second);
+        assertThat(listLayoutManager.getViews(first)).isSameAs(firstViews);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getViews_returnsAListThatCannotBeModified() {
+        final ListLayoutManager listLayoutManager = new ListLayoutManager(mViewGroup, null, adapterViewManager, new LayoutManagerAttributes(false, false, false, 0, SnapPosition.onScreen, CELL_SPACING, false, false, false));
+
+        listLayoutManager.getViews(new View(Robolectric.application)).clear();
+    }
+
+    public class CountingGridLayoutManager extends GridLayoutManager {
+        final Set<Group> mGroups = Collections.newSetFromMap(new IdentityHashMap<Group, Boolean>());
+
+        public CountingGridLayoutManager(final ViewGroup viewGroup, final AdapterViewManager adapterViewManager, final GridLayoutManagerAttributes attributes) {
+            super(viewGroup, null, adapterViewManager, attributes);
+        }
+
+        @Override
+        public Group getCell(final int adapterPosition) {
+            final Group group = super.getCell(adapterPosition);
+            mGroups.add(group);
+            return group;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package mobi.parchment.widget.adapterview;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class CellSizeIndexTest {
+
+    public static final int CELL_COUNT = 100000;
+    public static final int CELL_SPACING = 10;
+    final CellSizeIndex mCellSizeIndex = new CellSizeIndex();
+
+    @Before
+    public void setup() {
+        mCellSizeIndex.reset(CELL_COUNT);
+    }
+
+    @Test
+    public void getOffset_sumsMeasuredSizesAndSpacing() {
+        mCellSizeIndex.record(0, 0, 100);
+        mCellSizeIndex.record(1, 0, 200);
+        mCellSizeIndex.record(2, 0, 300);
+
+        assertThat(mCellSizeIndex.getOffset(0, CELL_SPACING)).isEqualTo(0);
+        assertThat(mCellSizeIndex.getOffset(1, CELL_SPACING)).isEqualTo(110);
+        assertThat(mCellSizeIndex.getOffset(3, CELL_SPACING)).isEqualTo(630);
+    }
+
+    @Test
+    public void getOffset_estimatesUnmeasuredCellsWithTheAverage() {
+        mCellSizeIndex.record(0, 0, 100);
+        mCellSizeIndex.record(1, 0, 300);
+
+        assertThat(mCellSizeIndex.getOffset(10, 0)).isEqualTo(100 + 300 + 8 * 200);
+        assertThat(mCellSizeIndex.getTotalSize(0)).isEqualTo(400L + (CELL_COUNT - 2) * 200L);
+    }
+
+    @Test
+    public void getCellPosition_isTheInverseOfGetOffset() {
+        for (int position = 0; position < 50; position++) {
+            mCellSizeIndex.record(position, 0, 50 + position);
+        }
+
+        for (int position = 0; position < 1000; position += 7) {
+            final long offset = mCellSizeIndex.getOffset(position, CELL_SPACING);
+            assertThat(mCellSizeIndex.getCellPosition(offset, CELL_SPACING)).isEqualTo(position);
+            assertThat(mCellSizeIndex.getCellPosition(offset - 1, CELL_SPACING)).isEqualTo(Math.max(position - 1, 0));
+        }
+    }
+
+    @Test
+    public void getOffset_estimatesUnmeasuredCellsWithTheAverageOfTheirViewType() {
+        mCellSizeIndex.reset(CELL_COUNT, new CellSizeIndex.CellViewTypes() {
+            @Override
+            public int getViewType(final int cellPosition) {
+                return cellPosition % 2;
+            }
+        });
+        mCellSizeIndex.record(0, 0, 100);
+        mCellSizeIndex.record(1, 1, 10);
+
+        assertThat(mCellSizeIndex.getOffset(10, 0)).isEqualTo(5 * 100 + 5 * 10);
+        for (int position = 0; position < 1000; position += 7) {
+            final long offset = mCellSizeIndex.getOffset(position, CELL_SPACING);
+            assertThat(mCellSizeIndex.getCellPosition(offset, CELL_SPACING)).isEqualTo(position);
+        }
+    }
+
+    @Test
+    public void insert_shiftsTheMeasuredSizesAfterThePosition() {
+        mCellSizeIndex.record(0, 0, 100);
+        mCellSizeIndex.record(1, 0, 300);
+
+        mCellSizeIndex.insert(1, 2);
+
+        assertThat(mCellSizeIndex.getCellCount()).isEqualTo(CELL_COUNT + 2);
+        assertThat(mCellSizeIndex.isMeasured(1)).isFalse();
+        assertThat(mCellSizeIndex.getSize(3, 0)).isEqualTo(300);
+        assertThat(mCellSizeIndex.getOffset(4, 0)).isEqualTo(100 + 2 * 200 + 300);
+    }
+
+    @Test
+    public void remove_dropsTheSizesOfTheRemovedCells() {
+        mCellSizeIndex.record(0, 0, 100);
+        mCellSizeIndex.record(1, 0, 300);
+        mCellSizeIndex.record(2, 0, 500);
+
+        mCellSizeIndex.remove(1, 1);
+
+        assertThat(mCellSizeIndex.getCellCount()).isEqualTo(CELL_COUNT - 1);
+        assertThat(mCellSizeIndex.getSize(1, 0)).isEqualTo(500);
+        assertThat(mCellSizeIndex.getAverageSize()).isEqualTo(300);
+        assertThat(mCellSizeIndex.getOffset(2, 0)).isEqualTo(600);
+    }
+
+    @Test
+    public void invalidate_forgetsOnlyTheGivenCells() {
+        mCellSizeIndex.record(0, 0, 100);
+        mCellSizeIndex.record(1, 0, 300);
+
+        mCellSizeIndex.invalidate(1, 1);
+
+        assertThat(mCellSizeIndex.isMeasured(0)).isTrue();
+        assertThat(mCellSizeIndex.isMeasured(1)).isFalse();
+        assertThat(mCellSizeIndex.getOffset(2, 0)).isEqualTo(200);
+    }
+
+    @Test
+    public void getCellPosition_clampsToTheLastCell() {
+        mCellSizeIndex.record(0, 0, 100);
+
+        assertThat(mCellSizeIndex.getCellPosition(Long.MAX_VALUE / 2, CELL_SPACING)).isEqualTo(CELL_COUNT - 1);
+    }
+
+    @Test
+    public void record_replacesAnEarlierSize() {
+        mCellSizeIndex.record(5, 0, 100);
+        mCellSizeIndex.record(5, 0, 40);
+
+        assertThat(mCellSizeIndex.getOffset(6, 0) - mCellSizeIndex.getOffset(5, 0)).isEqualTo(40);
+        assertThat(mCellSizeIndex.getAverageSize()).isEqualTo(40);
+    }
+
+    @Test
+    public void getEstimatedSize_usesTheAverageOfTheViewType() {
+        mCellSizeIndex.record(0, 0, 100);
+        mCellSizeIndex.record(1, 1, 300);
+        mCellSizeIndex.record(2, 1, 500);
+
+        assertThat(mCellSizeIndex.getEstimatedSize(1)).isEqualTo(400);
+        assertThat(mCellSizeIndex.getEstimatedSize(0)).isEqualTo(100);
+        assertThat(mCellSizeIndex.getEstimatedSize(7)).isEqualTo(300);
+        assertThat(mCellSizeIndex.getSize(10, 1)).isEqualTo(400);
+    }
+
+    @Test
+    public void reset_forgetsMeasuredSizes() {
+        mCellSizeIndex.record(0, 0, 100);
+
+        mCellSizeIndex.reset(10);
+
+        assertThat(mCellSizeIndex.isMeasured(0)).isFalse();
+        assertThat(mCellSizeIndex.getOffset(10, CELL_SPACING)).isEqualTo(100);
+    }
+}
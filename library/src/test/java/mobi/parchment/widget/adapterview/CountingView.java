@@ -0,0 +1,21 @@
+package mobi.parchment.widget.adapterview;
+
+import android.content.Context;
+import android.widget.FrameLayout;
+
+/**
+ * Frame counting how often it was measured.
+ */
+public class CountingView extends FrameLayout {
+    int mMeasureCount;
+
+    public CountingView(final Context context) {
+        super(context);
+    }
+
+    @Override
+    protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
+        mMeasureCount++;
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    }
+}
@@ -0,0 +1,68 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class DataSetChangeCoalescingTest extends ListLayoutFixture {
+
+    TestItemAdapter mTestAdapter;
+
+    @Before
+    public void setup() {
+        mTestAdapter = new TestItemAdapter(VIEW_SIZE);
+        mTestAdapter.setAdapterSize(100);
+        setup(createAttributes(), mTestAdapter);
+    }
+
+    @Test
+    public void notifyDataSetChanged_doesNoWorkBeforeTheNextFrame() {
+        final int getViewCount = mTestAdapter.getGetViewCount();
+        final List<View> views = new ArrayList<View>(mViewGroup.mViews);
+
+        for (int notification = 0; notification < 10; notification++) {
+            mTestAdapter.notifyDataSetChanged();
+        }
+
+        assertThat(mTestAdapter.getGetViewCount()).isEqualTo(getViewCount);
+        assertThat(mViewGroup.mViews).isEqualTo(views);
+        assertThat(listLayoutManager.isDataSetChangePending()).isTrue();
+    }
+
+    @Test
+    public void notifyDataSetChanged_manyTimesGetsEachDrawnViewOnceInTheNextFrame() {
+        mTestAdapter.mRequestedPositions.clear();
+
+        for (int notification = 0; notification < 10; notification++) {
+            mTestAdapter.notifyDataSetChanged();
+        }
+        listLayoutManager.measure(mViewGroup);
+        doLayout(0);
+
+        assertThat(listLayoutManager.isDataSetChangePending()).isFalse();
+        assertThat(mTestAdapter.mRequestedPositions).hasSize(mViewGroup.mViews.size());
+        for (int index = 0; index < mViewGroup.mViews.size(); index++) {
+            assertThat(mTestAdapter.mRequestedPositions).contains(index);
+        }
+    }
+
+    @Test
+    public void notifyDataSetChanged_appliesTheLastAdapterSizeOnly() {
+        mTestAdapter.setAdapterSize(0);
+        mTestAdapter.setAdapterSize(1);
+        mTestAdapter.setAdapterSize(2);
+
+        doLayout(0);
+
+        assertThat(mViewGroup.mViews).hasSize(2);
+    }
+}
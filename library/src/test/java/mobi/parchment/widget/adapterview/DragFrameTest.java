@@ -0,0 +1,99 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.MotionEvent;
+import android.view.ViewConfiguration;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Drags with a touch stream four times faster than the display and counts the layout passes, the frame callbacks
+ * the animator posts are run once per simulated frame.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DragFrameTest extends ListLayoutFixture {
+
+    public static final int FRAMES = 60;
+    public static final int TOUCH_EVENTS_PER_FRAME = 4;
+    public static final int TOUCH_EVENT_DISTANCE = 3;
+    final List<Runnable> mPostedFrames = new ArrayList<Runnable>();
+    AdapterAnimator mAdapterAnimator;
+    int mLayoutPasses;
+
+    @Before
+    public void setup() {
+        final TestItemAdapter testAdapter = new TestItemAdapter(VIEW_SIZE);
+        testAdapter.setAdapterSize(1000);
+        setup(createAttributes(), testAdapter);
+
+        final LayoutManagerBridge layoutManagerBridge = new LayoutManagerBridge(listLayoutManager);
+        final ViewConfiguration viewConfiguration = ViewConfiguration.get(Robolectric.application);
+        mAdapterAnimator = new AdapterAnimator(mViewGroup, false, false, layoutManagerBridge, viewConfiguration) {
+            @Override
+            protected void postFrame(final Runnable frame) {
+                mPostedFrames.add(frame);
+            }
+        };
+        mViewGroup.mIsLayoutRequested = false;
+    }
+
+    @Test
+    public void drag_laysOutAtMostOncePerFrame() {
+        final int scrollOffset = listLayoutManager.getEstimatedScrollOffset();
+        final MotionEvent down = MotionEvent.obtain(0, 0, MotionEvent.ACTION_DOWN, VIEW_GROUP_SIZE, 0, 0);
+
+        for (int frame = 0; frame < FRAMES; frame++) {
+            for (int touchEvent = 0; touchEvent < TOUCH_EVENTS_PER_FRAME; touchEvent++) {
+                final MotionEvent move = MotionEvent.obtain(0, frame, MotionEvent.ACTION_MOVE, 0, 0, 0);
+                mAdapterAnimator.onScroll(down, move, TOUCH_EVENT_DISTANCE, 0);
+            }
+            runFrame();
+        }
+
+        assertThat(mLayoutPasses).isLessThanOrEqualTo(FRAMES);
+        // no touch event is lost by being coalesced with the others of its frame
+        final int dragDistance = FRAMES * TOUCH_EVENTS_PER_FRAME * TOUCH_EVENT_DISTANCE;
+        assertThat(listLayoutManager.getEstimatedScrollOffset() - scrollOffset).isEqualTo(dragDistance);
+    }
+
+    @Test
+    public void drag_postsOneFrameCallbackForAllTheTouchEventsOfAFrame() {
+        final MotionEvent down = MotionEvent.obtain(0, 0, MotionEvent.ACTION_DOWN, VIEW_GROUP_SIZE, 0, 0);
+
+        for (int touchEvent = 0; touchEvent < TOUCH_EVENTS_PER_FRAME; touchEvent++) {
+            final MotionEvent move = MotionEvent.obtain(0, 0, MotionEvent.ACTION_MOVE, 0, 0, 0);
+            mAdapterAnimator.onScroll(down, move, TOUCH_EVENT_DISTANCE, 0);
+        }
+
+        assertThat(mPostedFrames).hasSize(1);
+        assertThat(mViewGroup.mIsLayoutRequested).isFalse();
+    }
+
+    /**
+     * Runs the frame callbacks posted so far, then the layout traversal if one was requested.
+     */
+    private void runFrame() {
+        final List<Runnable> frames = new ArrayList<Runnable>(mPostedFrames);
+        mPostedFrames.clear();
+        for (final Runnable frame : frames) {
+            frame.run();
+        }
+
+        if (mViewGroup.mIsLayoutRequested) doLayout();
+    }
+
+    private void doLayout() {
+        mViewGroup.mIsLayoutRequested = false;
+        mLayoutPasses++;
+        listLayoutManager.layout(mViewGroup, mAdapterAnimator.getAnimation(), false, 0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+        mAdapterAnimator.onLayout();
+    }
+}
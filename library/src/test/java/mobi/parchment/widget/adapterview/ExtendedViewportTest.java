@@ -0,0 +1,100 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Collections;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class ExtendedViewportTest extends ListLayoutFixture {
+
+    public static final int EXTENDED_VIEWPORT_SIZE = 200;
+    public static final int EXTENDED_VIEWPORT_CELLS = 1;
+    TestItemAdapter mTestAdapter;
+
+    @Before
+    public void setup() {
+        setup(EXTENDED_VIEWPORT_SIZE, 0);
+    }
+
+    private void setup(final int extendedViewportSize, final int extendedViewportCells) {
+        final LayoutManagerAttributes attributes = createAttributes();
+        attributes.setExtendedViewportSize(extendedViewportSize);
+        attributes.setExtendedViewportCells(extendedViewportCells);
+        mTestAdapter = new TestItemAdapter(VIEW_SIZE);
+        mTestAdapter.setAdapterSize(10);
+        setup(attributes, mTestAdapter);
+    }
+
+    @Test
+    public void layout_detachesCellsThatLeaveTheViewportInsteadOfRecyclingThem() {
+        final View firstView = mViewGroup.mViews.get(0);
+
+        doLayout(-(2 * CELL_SPACING + VIEW_SIZE));
+
+        assertThat(mViewGroup.mViews).doesNotContain(firstView);
+        assertThat(listLayoutManager.getPosition(firstView)).isEqualTo(0);
+        assertThat(listLayoutManager.getPositionIndex().isDetached(firstView)).isTrue();
+    }
+
+    @Test
+    public void layout_reattachesCellsScrolledBackWithoutCallingTheAdapter() {
+        final View firstView = mViewGroup.mViews.get(0);
+
+        doLayout(-(2 * CELL_SPACING + VIEW_SIZE));
+        doLayout(2 * CELL_SPACING + VIEW_SIZE);
+
+        assertThat(Collections.frequency(mTestAdapter.mRequestedPositions, 0)).isEqualTo(1);
+        assertThat(mViewGroup.mViews.get(0)).isSameAs(firstView);
+        assertThat(listLayoutManager.getPositionIndex().isDetached(firstView)).isFalse();
+    }
+
+    @Test
+    public void layout_addsCellsAfterTheAttachedViewsOnly() {
+        doLayout(-(2 * CELL_SPACING + VIEW_SIZE));
+
+        assertThat(mViewGroup.mViews).hasSize(3);
+        assertThat(mViewGroup.mViews.get(2).getTag()).isEqualTo(3);
+    }
+
+    @Test
+    public void getCellSizeTotal_skipsDetachedCells() {
+        doLayout(-(2 * CELL_SPACING + VIEW_SIZE));
+
+        assertThat(listLayoutManager.getCellSizeTotal()).isEqualTo(3 * (VIEW_SIZE + 2 * CELL_SPACING));
+    }
+
+    @Test
+    public void layout_recyclesCellsPastTheExtendedViewport() {
+        final View firstView = mViewGroup.mViews.get(0);
+
+        doLayout(-(3 * (CELL_SPACING + VIEW_SIZE)));
+
+        assertThat(listLayoutManager.getPosition(firstView)).isEqualTo(LayoutManager.INVALID_POSITION);
+        assertThat(mViewGroup.mViews).doesNotContain(firstView);
+    }
+
+    @Test
+    public void layout_keepsTheExtendedViewportCellsDetached() {
+        setup(0, EXTENDED_VIEWPORT_CELLS);
+        final View firstView = mViewGroup.mViews.get(0);
+        final View secondView = mViewGroup.mViews.get(1);
+
+        doLayout(-(2 * CELL_SPACING + VIEW_SIZE));
+
+        assertThat(listLayoutManager.getPosition(firstView)).isEqualTo(0);
+        assertThat(listLayoutManager.getPositionIndex().isDetached(firstView)).isTrue();
+
+        doLayout(-(2 * CELL_SPACING + VIEW_SIZE));
+
+        assertThat(listLayoutManager.getPosition(firstView)).isEqualTo(LayoutManager.INVALID_POSITION);
+        assertThat(listLayoutManager.getPosition(secondView)).isEqualTo(1);
+        assertThat(listLayoutManager.getPositionIndex().isDetached(secondView)).isTrue();
+    }
+}
@@ -0,0 +1,61 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class FixedCellSizeTest extends ListLayoutFixture {
+
+    public static final int SMALL_VIEW_SIZE = 50;
+    TestItemAdapter mTestAdapter;
+
+    @Before
+    public void setup() {
+        final LayoutManagerAttributes attributes = createAttributes();
+        attributes.setHasFixedCellSize(true);
+        mTestAdapter = new TestItemAdapter(VIEW_SIZE) {
+            @Override
+            protected View createView(final int position) {
+                final int viewSize = position == 0 ? getViewSize() : SMALL_VIEW_SIZE;
+                return setViewSize(new CountingView(Robolectric.application), viewSize);
+            }
+        };
+        mTestAdapter.setAdapterSize(100000);
+        setup(attributes, mTestAdapter);
+    }
+
+    @Test
+    public void layout_sizesEveryCellLikeTheFirstOne() {
+        final View secondView = mViewGroup.mViews.get(1);
+
+        assertThat(secondView.getLeft()).isEqualTo(2 * CELL_SPACING + VIEW_SIZE);
+        assertThat(secondView.getRight()).isEqualTo(2 * CELL_SPACING + 2 * VIEW_SIZE);
+    }
+
+    @Test
+    public void measure_skipsCellsThatDoNotRequestALayout() {
+        final CountingView firstView = (CountingView) mViewGroup.mViews.get(0);
+        final CountingView secondView = (CountingView) mViewGroup.mViews.get(1);
+        final int firstMeasureCount = firstView.mMeasureCount;
+        final int secondMeasureCount = secondView.mMeasureCount;
+
+        secondView.requestLayout();
+        listLayoutManager.measure(mViewGroup);
+
+        assertThat(firstView.mMeasureCount).isEqualTo(firstMeasureCount);
+        assertThat(secondView.mMeasureCount).isEqualTo(secondMeasureCount + 1);
+    }
+
+    @Test
+    public void getEstimatedOffset_isComputedFromTheFixedSize() {
+        assertThat(listLayoutManager.getEstimatedOffset(50000)).isEqualTo(50000 * (VIEW_SIZE + CELL_SPACING) + CELL_SPACING);
+        assertThat(listLayoutManager.getEstimatedPosition(50000 * (VIEW_SIZE + CELL_SPACING) + 1)).isEqualTo(50000);
+    }
+}
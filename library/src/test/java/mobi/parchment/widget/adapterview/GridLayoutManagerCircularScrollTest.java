@@ -1,11 +1,9 @@
 package mobi.parchment.widget.adapterview;
 
-import android.content.Context;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.BaseAdapter;
 import android.widget.FrameLayout;
-import android.widget.LinearLayout;
 
 import mobi.parchment.widget.adapterview.gridview.GridLayoutManager;
 import mobi.parchment.widget.adapterview.gridview.GridLayoutManagerAttributes;
@@ -16,11 +14,6 @@ import org.junit.runner.RunWith;
 import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
-
 import static org.fest.assertions.api.Assertions.assertThat;
 
 /**
@@ -33,7 +26,7 @@ public class GridLayoutManagerCircularScrollTest {
     public static final int VIEW_SIZE = 100;
     public static final int CELL_SPACING = 10;
     public static final int NUMBER_OF_COLUMNS = 2;
-    final MyViewGroup mViewGroup = new MyViewGroup(Robolectric.application);
+    final TestViewGroup mViewGroup = new TestViewGroup(Robolectric.application);
     final AdapterViewManager adapterViewManager = new AdapterViewManager();
     TestAdapter mTestAdapter;
     GridLayoutManagerAttributes attributes;
@@ -88,36 +81,6 @@ public class GridLayoutManagerCircularScrollTest {
         mViewGroup.layout(0, 0, viewGroupSize, viewGroupSize);
     }
 
-    public class MyViewGroup extends LinearLayout implements AdapterViewHandler {
-        public final List<View> mViews = new ArrayList<View>();
-
-        public MyViewGroup(Context context) {
-            super(context);
-        }
-
-        public View forPosition(int position) {
-            Collections.sort(mViews, new Comparator<View>() {
-                @Override
-                public int compare(View lhs, View rhs) {
-                    return lhs.getLeft() - rhs.getLeft();
-                }
-            });
-
-            return mViews.get(position);
-        }
-
-        @Override
-        public boolean addViewInAdapterView(View view, int index, ViewGroup.LayoutParams layoutParams) {
-            mViews.add(index, view);
-            return true;
-        }
-
-        @Override
-        public void removeViewInAdapterView(View view) {
-            mViews.remove(view);
-        }
-    }
-
     public class TestAdapter extends BaseAdapter {
         private int mAdapterSize;
         private int mViewSize;
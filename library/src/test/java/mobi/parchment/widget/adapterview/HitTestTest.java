@@ -0,0 +1,50 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class HitTestTest extends ListLayoutFixture {
+
+    TestItemAdapter mTestAdapter;
+
+    @Before
+    public void setup() {
+        mTestAdapter = new TestItemAdapter(VIEW_SIZE);
+        mTestAdapter.setAdapterSize(100);
+        setup(createAttributes(), mTestAdapter);
+    }
+
+    @Test
+    public void getViewAt_findsTheViewUnderThePoint() {
+        for (int position = 0; position < 3; position++) {
+            final int x = CELL_SPACING + position * (VIEW_SIZE + CELL_SPACING) + VIEW_SIZE / 2;
+
+            final View view = listLayoutManager.getViewAt(x, VIEW_SIZE / 2);
+
+            assertThat(view.getTag()).isEqualTo(position);
+        }
+    }
+
+    @Test
+    public void getViewAt_missesTheCellSpacingAndOutsideTheViews() {
+        assertThat(listLayoutManager.getViewAt(CELL_SPACING / 2, VIEW_SIZE / 2)).isNull();
+        assertThat(listLayoutManager.getViewAt(VIEW_SIZE + CELL_SPACING + CELL_SPACING / 2 + 1, VIEW_SIZE / 2)).isNull();
+        assertThat(listLayoutManager.getViewAt(VIEW_SIZE / 2, VIEW_SIZE + 50)).isNull();
+    }
+
+    @Test
+    public void getViewAt_followsTheScroll() {
+        doLayout(-(VIEW_SIZE + CELL_SPACING) * 2);
+
+        final View view = listLayoutManager.getViewAt(CELL_SPACING + VIEW_SIZE / 2, VIEW_SIZE / 2);
+
+        assertThat(view.getTag()).isEqualTo(2);
+    }
+}
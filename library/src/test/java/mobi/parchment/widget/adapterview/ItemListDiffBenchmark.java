@@ -0,0 +1,52 @@
+package mobi.parchment.widget.adapterview;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Plain JVM timing of diffing two 10k item snapshots a few hundred edits apart. Not part of the regular test run,
+ * start it with -Dtest=ItemListDiffBenchmark.
+ */
+public class ItemListDiffBenchmark {
+
+    public static final int ITEM_COUNT = 10000;
+    public static final int EDIT_COUNT = 300;
+    public static final int WARM_UP_RUNS = 20;
+    public static final int MEASURED_RUNS = 50;
+
+    final ItemListDiff.ItemCallback<ItemListDiffTest.Item> mItemCallback = new ItemListDiff.ItemCallback<ItemListDiffTest.Item>() {
+        @Override
+        public long getItemId(ItemListDiffTest.Item item) {
+            return item.mId;
+        }
+
+        @Override
+        public boolean areContentsTheSame(ItemListDiffTest.Item oldItem, ItemListDiffTest.Item newItem) {
+            return oldItem.mVersion == newItem.mVersion;
+        }
+    };
+
+    @Test
+    public void calculate_tenThousandItemsWithAFewHundredEdits() {
+        final List<ItemListDiffTest.Item> oldItems = ItemListDiffTest.createItems(ITEM_COUNT);
+        final List<ItemListDiffTest.Item> newItems = ItemListDiffTest.edit(oldItems, new Random(7), EDIT_COUNT);
+
+        for (int run = 0; run < WARM_UP_RUNS; run++) {
+            ItemListDiff.calculate(oldItems, newItems, mItemCallback);
+        }
+
+        ItemListDiff itemListDiff = null;
+        final long start = System.nanoTime();
+        for (int run = 0; run < MEASURED_RUNS; run++) {
+            itemListDiff = ItemListDiff.calculate(oldItems, newItems, mItemCallback);
+        }
+        final long nanosPerRun = (System.nanoTime() - start) / MEASURED_RUNS;
+
+        System.out.println(String.format("ItemListDiff: %d items, %d edits, %.2f ms per diff, %d operations", ITEM_COUNT, EDIT_COUNT, nanosPerRun / 1e6, itemListDiff.getOperationCount()));
+        assertThat(itemListDiff.getOperationCount()).isLessThanOrEqualTo(EDIT_COUNT);
+    }
+}
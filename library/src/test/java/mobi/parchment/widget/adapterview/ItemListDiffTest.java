@@ -0,0 +1,178 @@
+package mobi.parchment.widget.adapterview;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class ItemListDiffTest {
+
+    final ItemListDiff.ItemCallback<Item> mItemCallback = new ItemListDiff.ItemCallback<Item>() {
+        @Override
+        public long getItemId(Item item) {
+            return item.mId;
+        }
+
+        @Override
+        public boolean areContentsTheSame(Item oldItem, Item newItem) {
+            return oldItem.mVersion == newItem.mVersion;
+        }
+    };
+
+    @Test
+    public void calculate_reportsAMovedItemAsOneMove() {
+        final List<Item> oldItems = createItems(100);
+        final List<Item> newItems = new ArrayList<Item>(oldItems);
+        newItems.add(newItems.remove(0));
+
+        final RecordingObserver observer = dispatch(oldItems, newItems);
+
+        assertThat(observer.mOperations).containsExactly("move 0 99");
+    }
+
+    @Test
+    public void calculate_coalescesNeighbouringItemsIntoRanges() {
+        final List<Item> oldItems = createItems(10);
+        final List<Item> newItems = new ArrayList<Item>(oldItems);
+        newItems.remove(2);
+        newItems.remove(2);
+        newItems.add(6, new Item(100, 0));
+        newItems.add(7, new Item(101, 0));
+        newItems.set(0, new Item(0, 1));
+
+        final RecordingObserver observer = dispatch(oldItems, newItems);
+
+        assertThat(observer.mOperations).containsExactly("remove 2 2", "insert 6 2", "change 0 1");
+    }
+
+    @Test
+    public void calculate_turnsTheOldSnapshotIntoTheNewOne() {
+        final Random random = new Random(42);
+        for (int run = 0; run < 500; run++) {
+            final List<Item> oldItems = createItems(random.nextInt(40));
+            final List<Item> newItems = edit(oldItems, random, random.nextInt(10));
+
+            final RecordingObserver observer = dispatch(oldItems, newItems);
+
+            assertThat(observer.mIds).isEqualTo(getIds(newItems));
+            for (final Item item : newItems) {
+                final boolean isChanged = item.mVersion > 0 && item.mId < oldItems.size();
+                assertThat(observer.mChangedIds.contains(item.mId)).isEqualTo(isChanged);
+            }
+        }
+    }
+
+    @Test
+    public void calculate_givesUpOnSnapshotsTooFarApart() {
+        final List<Item> oldItems = createItems(ItemListDiff.MAX_EDIT_DISTANCE + 1);
+        final List<Item> newItems = new ArrayList<Item>();
+        for (int index = 0; index < oldItems.size(); index++) {
+            newItems.add(new Item(oldItems.size() + index, 0));
+        }
+        newItems.add(0, oldItems.get(0));
+
+        assertThat(ItemListDiff.calculate(oldItems, newItems, mItemCallback)).isNull();
+    }
+
+    private RecordingObserver dispatch(final List<Item> oldItems, final List<Item> newItems) {
+        final ItemListDiff itemListDiff = ItemListDiff.calculate(oldItems, newItems, mItemCallback);
+        final RecordingObserver observer = new RecordingObserver(getIds(oldItems), getIds(newItems));
+        itemListDiff.dispatchTo(observer);
+        return observer;
+    }
+
+    static List<Item> createItems(final int count) {
+        final List<Item> items = new ArrayList<Item>();
+        for (int id = 0; id < count; id++) {
+            items.add(new Item(id, 0));
+        }
+        return items;
+    }
+
+    /**
+     * Removes, inserts, moves and changes random items, inserted items get ids past the old ones.
+     */
+    static List<Item> edit(final List<Item> items, final Random random, final int editCount) {
+        final List<Item> editedItems = new ArrayList<Item>(items);
+        long nextId = items.size();
+        for (int edit = 0; edit < editCount; edit++) {
+            final int kind = random.nextInt(4);
+            if (kind == 1 || editedItems.isEmpty()) {
+                editedItems.add(random.nextInt(editedItems.size() + 1), new Item(nextId++, 0));
+            } else if (kind == 0) {
+                editedItems.remove(random.nextInt(editedItems.size()));
+            } else if (kind == 2) {
+                final Item item = editedItems.remove(random.nextInt(editedItems.size()));
+                editedItems.add(random.nextInt(editedItems.size() + 1), item);
+            } else {
+                final int position = random.nextInt(editedItems.size());
+                final Item item = editedItems.get(position);
+                editedItems.set(position, new Item(item.mId, item.mVersion + 1));
+            }
+        }
+        return editedItems;
+    }
+
+    private static List<Long> getIds(final List<Item> items) {
+        final List<Long> ids = new ArrayList<Long>();
+        for (final Item item : items) {
+            ids.add(item.mId);
+        }
+        return ids;
+    }
+
+    static class Item {
+        final long mId;
+        final int mVersion;
+
+        Item(final long id, final int version) {
+            mId = id;
+            mVersion = version;
+        }
+    }
+
+    /**
+     * Applies the notifications to a list of ids the way an adapter view would see them.
+     */
+    static class RecordingObserver implements ItemRangeObserver {
+        final List<String> mOperations = new ArrayList<String>();
+        final List<Long> mIds;
+        final List<Long> mNewIds;
+        final List<Long> mChangedIds = new ArrayList<Long>();
+
+        RecordingObserver(final List<Long> oldIds, final List<Long> newIds) {
+            mIds = new ArrayList<Long>(oldIds);
+            mNewIds = newIds;
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            mOperations.add("change " + positionStart + " " + itemCount);
+            mChangedIds.addAll(mIds.subList(positionStart, positionStart + itemCount));
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            mOperations.add("insert " + positionStart + " " + itemCount);
+            mIds.addAll(positionStart, mNewIds.subList(positionStart, positionStart + itemCount));
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            mOperations.add("remove " + positionStart + " " + itemCount);
+            mIds.subList(positionStart, positionStart + itemCount).clear();
+        }
+
+        @Override
+        public void onItemMoved(int fromPosition, int toPosition) {
+            mOperations.add("move " + fromPosition + " " + toPosition);
+            mIds.add(toPosition, mIds.remove(fromPosition));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class ItemRangeChangesTest extends ListLayoutFixture {
+
+    TestAdapter mTestAdapter;
+
+    @Before
+    public void setup() {
+        mTestAdapter = new TestAdapter(VIEW_SIZE);
+        mTestAdapter.setAdapterSize(100);
+        setup(createAttributes(), mTestAdapter);
+    }
+
+    @Test
+    public void notifyItemChanged_rebindsOnlyTheChangedView() {
+        final List<View> views = new ArrayList<View>(mViewGroup.mViews);
+        final int inflationCount = mTestAdapter.mInflationCount;
+        mTestAdapter.mRequestedPositions.clear();
+
+        mTestAdapter.mItems.set(1, 1000);
+        mTestAdapter.notifyItemChanged(1);
+        doLayout(0);
+
+        assertThat(mTestAdapter.mRequestedPositions).contains(1).doesNotContain(0, 2);
+        assertThat(mTestAdapter.mInflationCount).isEqualTo(inflationCount);
+        assertThat(mViewGroup.mViews).isEqualTo(views);
+        assertThat(mViewGroup.mViews.get(1).getTag()).isEqualTo(1000);
+    }
+
+    @Test
+    public void notifyItemRangeInserted_beforeTheDrawnViewsKeepsThem() {
+        final List<View> views = new ArrayList<View>(mViewGroup.mViews);
+        mTestAdapter.mRequestedPositions.clear();
+
+        mTestAdapter.insert(0, 2);
+        mTestAdapter.notifyItemRangeInserted(0, 2);
+        doLayout(0);
+
+        assertThat(mViewGroup.mViews).isEqualTo(views);
+        assertThat(mTestAdapter.mRequestedPositions).doesNotContain(2, 3, 4);
+        assertThat(AdapterViewLayoutParams.peek(views.get(0)).getPosition()).isEqualTo(2);
+        assertThat(views.get(0).getTag()).isEqualTo(0);
+    }
+
+    @Test
+    public void notifyItemInserted_amongTheDrawnViewsKeepsTheViewsBeforeIt() {
+        final View firstView = mViewGroup.mViews.get(0);
+
+        mTestAdapter.insert(1, 1);
+        mTestAdapter.notifyItemInserted(1);
+        doLayout(0);
+
+        assertThat(mViewGroup.mViews.get(0)).isSameAs(firstView);
+        assertThat(mViewGroup.mViews.get(1).getTag()).isEqualTo(-1);
+        assertThat(mViewGroup.mViews.get(2).getTag()).isEqualTo(1);
+    }
+
+    @Test
+    public void notifyItemRemoved_drawsTheFollowingItemsInItsPlace() {
+        final View firstView = mViewGroup.mViews.get(0);
+
+        mTestAdapter.mItems.remove(1);
+        mTestAdapter.notifyItemRemoved(1);
+        doLayout(0);
+
+        assertThat(mViewGroup.mViews.get(0)).isSameAs(firstView);
+        assertThat(mViewGroup.mViews.get(1).getTag()).isEqualTo(2);
+        assertThat(AdapterViewLayoutParams.peek(mViewGroup.mViews.get(1)).getPosition()).isEqualTo(1);
+    }
+
+    @Test
+    public void notifyItemRangeInserted_shiftsTheMeasuredCellSizes() {
+        final CellSizeIndex cellSizeIndex = ((LayoutManager<View>) listLayoutManager).getCellSizeIndex();
+
+        mTestAdapter.insert(0, 2);
+        mTestAdapter.notifyItemRangeInserted(0, 2);
+
+        assertThat(cellSizeIndex.getCellCount()).isEqualTo(102);
+        assertThat(cellSizeIndex.isMeasured(0)).isFalse();
+        assertThat(cellSizeIndex.isMeasured(1)).isFalse();
+        assertThat(cellSizeIndex.isMeasured(2)).isTrue();
+        assertThat(cellSizeIndex.isMeasured(4)).isTrue();
+    }
+
+    @Test
+    public void notifyItemRemoved_keepsTheMeasuredSizesOfTheOtherCells() {
+        final CellSizeIndex cellSizeIndex = ((LayoutManager<View>) listLayoutManager).getCellSizeIndex();
+
+        mTestAdapter.mItems.remove(1);
+        mTestAdapter.notifyItemRemoved(1);
+
+        assertThat(cellSizeIndex.getCellCount()).isEqualTo(99);
+        assertThat(cellSizeIndex.isMeasured(0)).isTrue();
+        assertThat(cellSizeIndex.isMeasured(1)).isTrue();
+    }
+
+    @Test
+    public void notifyItemChanged_forgetsOnlyTheChangedCellSize() {
+        final CellSizeIndex cellSizeIndex = ((LayoutManager<View>) listLayoutManager).getCellSizeIndex();
+
+        mTestAdapter.mItems.set(1, 1000);
+        mTestAdapter.notifyItemChanged(1);
+
+        assertThat(cellSizeIndex.isMeasured(0)).isTrue();
+        assertThat(cellSizeIndex.isMeasured(1)).isFalse();
+        assertThat(cellSizeIndex.isMeasured(2)).isTrue();
+    }
+
+    public class TestAdapter extends BaseItemRangeAdapter {
+        private int mViewSize;
+        int mInflationCount;
+        final List<Integer> mItems = new ArrayList<Integer>();
+        final List<Integer> mRequestedPositions = new ArrayList<Integer>();
+
+        public TestAdapter(int viewSize) {
+            mViewSize = viewSize;
+        }
+
+        public void setAdapterSize(final int adapterSize) {
+            mItems.clear();
+            for (int item = 0; item < adapterSize; item++) {
+                mItems.add(item);
+            }
+            notifyDataSetChanged();
+        }
+
+        public void insert(final int position, final int count) {
+            for (int index = 0; index < count; index++) {
+                mItems.add(position, -1 - index);
+            }
+        }
+
+        @Override
+        public int getCount() {
+            return mItems.size();
+        }
+
+        @Override
+        public Object getItem(int position) {
+            return mItems.get(position);
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return mItems.get(position);
+        }
+
+        @Override
+        public View getView(int position, View convertView, ViewGroup parent) {
+            mRequestedPositions.add(position);
+            View view = convertView;
+            if (view == null) {
+                mInflationCount++;
+                final FrameLayout frameLayout = new FrameLayout(Robolectric.application);
+                frameLayout.setLayoutParams(new ViewGroup.LayoutParams(mViewSize, mViewSize));
+
+                final FrameLayout inner = new FrameLayout(Robolectric.application);
+                inner.setLayoutParams(new ViewGroup.LayoutParams(mViewSize, mViewSize));
+                frameLayout.addView(inner);
+                view = frameLayout;
+            }
+            view.setTag(mItems.get(position));
+            return view;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+import android.widget.Adapter;
+
+import mobi.parchment.widget.adapterview.listview.ListLayoutManager;
+
+import org.robolectric.Robolectric;
+
+/**
+ * Setup the list layout manager tests share: a horizontal list of {@link #VIEW_SIZE} views with {@link #CELL_SPACING}
+ * between them, laid out in a {@link TestViewGroup} a pixel short of fitting three of them. Tests pass the attributes
+ * and adapter that differ to {@link #setup(LayoutManagerAttributes, Adapter)}.
+ */
+public abstract class ListLayoutFixture {
+
+    public static final int VIEW_GROUP_SIZE = 299;
+    public static final int VIEW_SIZE = 100;
+    public static final int CELL_SPACING = 10;
+    final Animation mAnimation = new Animation();
+    TestViewGroup mViewGroup;
+    AdapterViewManager adapterViewManager;
+    LayoutManager<View> listLayoutManager;
+
+    /**
+     * @return the attributes of a list that keeps its cells on screen without snapping, for the test to change
+     */
+    static LayoutManagerAttributes createAttributes() {
+        return new LayoutManagerAttributes(false, false, false, 0, SnapPosition.onScreen, CELL_SPACING, false, false, false);
+    }
+
+    /**
+     * Lays out the first frame into a new view group, calling it again starts over.
+     */
+    void setup(final LayoutManagerAttributes attributes, final Adapter adapter) {
+        mViewGroup = new TestViewGroup(Robolectric.application);
+        adapterViewManager = new AdapterViewManager();
+        listLayoutManager = new ListLayoutManager(mViewGroup, null, adapterViewManager, attributes);
+        adapterViewManager.setAdapter(adapter);
+
+        measureViewGroup(VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+        mViewGroup.layout(0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+
+        mAnimation.newAnimation();
+        doLayout(0);
+    }
+
+    void measureViewGroup(final int width, final int height) {
+        final int widthMeasureSpec = View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY);
+        final int heightMeasureSpec = View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY);
+        mViewGroup.measure(widthMeasureSpec, heightMeasureSpec);
+    }
+
+    void doLayout(final int displacement) {
+        mAnimation.setDisplacement(displacement);
+        listLayoutManager.layout(mViewGroup, mAnimation, false, 0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+    }
+}
@@ -0,0 +1,82 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class LongViewMapTest {
+
+    final LongViewMap mLongViewMap = new LongViewMap();
+
+    @Test
+    public void get_findsViewsByIdAndIdsByView() {
+        final View view = new View(Robolectric.application);
+
+        mLongViewMap.put(Long.MAX_VALUE, view);
+
+        assertThat(mLongViewMap.get(Long.MAX_VALUE)).isSameAs(view);
+        assertThat(mLongViewMap.getId(view)).isEqualTo(Long.MAX_VALUE);
+        assertThat(mLongViewMap.get(0)).isNull();
+    }
+
+    @Test
+    public void put_replacesEarlierMappingsOfTheIdAndTheView() {
+        final View first = new View(Robolectric.application);
+        final View second = new View(Robolectric.application);
+        mLongViewMap.put(1, first);
+
+        mLongViewMap.put(1, second);
+        mLongViewMap.put(2, second);
+
+        assertThat(mLongViewMap.size()).isEqualTo(1);
+        assertThat(mLongViewMap.containsView(first)).isFalse();
+        assertThat(mLongViewMap.containsId(1)).isFalse();
+        assertThat(mLongViewMap.get(2)).isSameAs(second);
+    }
+
+    @Test
+    public void remove_keepsEveryOtherEntryReachable() {
+        final List<View> views = new ArrayList<View>();
+        for (int index = 0; index < 1000; index++) {
+            final View view = new View(Robolectric.application);
+            views.add(view);
+            mLongViewMap.put(index * 1024L, view);
+        }
+
+        for (int index = 0; index < 1000; index += 2) {
+            assertThat(mLongViewMap.remove(index * 1024L)).isSameAs(views.get(index));
+        }
+        for (int index = 1; index < 1000; index += 4) {
+            assertThat(mLongViewMap.removeView(views.get(index))).isTrue();
+        }
+
+        assertThat(mLongViewMap.size()).isEqualTo(250);
+        for (int index = 3; index < 1000; index += 4) {
+            assertThat(mLongViewMap.get(index * 1024L)).isSameAs(views.get(index));
+            assertThat(mLongViewMap.getId(views.get(index))).isEqualTo(index * 1024L);
+        }
+        assertThat(mLongViewMap.get(0)).isNull();
+        assertThat(mLongViewMap.containsView(views.get(1))).isFalse();
+    }
+
+    @Test
+    public void clear_removesEverything() {
+        final View view = new View(Robolectric.application);
+        mLongViewMap.put(7, view);
+
+        mLongViewMap.clear();
+
+        assertThat(mLongViewMap.size()).isEqualTo(0);
+        assertThat(mLongViewMap.get(7)).isNull();
+        assertThat(mLongViewMap.containsView(view)).isFalse();
+    }
+}
@@ -0,0 +1,90 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class MeasureInvalidationTest extends ListLayoutFixture {
+
+    TestItemAdapter mTestAdapter;
+
+    @Before
+    public void setup() {
+        mTestAdapter = new TestItemAdapter(VIEW_SIZE) {
+            @Override
+            protected View createView(final int position) {
+                return setViewSize(new CountingView(Robolectric.application), getViewSize());
+            }
+        };
+        mTestAdapter.setAdapterSize(100);
+        setup(createAttributes(), mTestAdapter);
+    }
+
+    @Test
+    public void measure_reusesMeasurementsWhenNothingChanged() {
+        final int measureCount = getMeasureCount();
+
+        listLayoutManager.measure(mViewGroup);
+
+        assertThat(getMeasureCount()).isEqualTo(measureCount);
+    }
+
+    @Test
+    public void measure_reusesMeasurementsWhenOnlyTheScrollDirectionSizeChanged() {
+        final int measureCount = getMeasureCount();
+
+        measureViewGroup(VIEW_GROUP_SIZE * 2, VIEW_GROUP_SIZE);
+        listLayoutManager.measure(mViewGroup);
+
+        assertThat(getMeasureCount()).isEqualTo(measureCount);
+    }
+
+    @Test
+    public void measure_measuresEveryCellWhenTheBreadthChanged() {
+        final int measureCount = getMeasureCount();
+
+        measureViewGroup(VIEW_GROUP_SIZE, VIEW_GROUP_SIZE * 2);
+        listLayoutManager.measure(mViewGroup);
+
+        assertThat(getMeasureCount()).isEqualTo(measureCount + mViewGroup.mViews.size());
+    }
+
+    @Test
+    public void measure_measuresOnlyCellsThatRequestALayout() {
+        final CountingView secondView = (CountingView) mViewGroup.mViews.get(1);
+        final int secondMeasureCount = secondView.mMeasureCount;
+        final int measureCount = getMeasureCount();
+
+        secondView.requestLayout();
+        listLayoutManager.measure(mViewGroup);
+
+        assertThat(secondView.mMeasureCount).isEqualTo(secondMeasureCount + 1);
+        assertThat(getMeasureCount()).isEqualTo(measureCount + 1);
+    }
+
+    @Test
+    public void layout_offsetsCellsWhenOnlyScrolling() {
+        final View firstView = mViewGroup.mViews.get(0);
+        final int left = firstView.getLeft();
+
+        doLayout(-5);
+
+        assertThat(firstView.getLeft()).isEqualTo(left - 5);
+        assertThat(mViewGroup.mViews.get(0)).isSameAs(firstView);
+    }
+
+    private int getMeasureCount() {
+        int measureCount = 0;
+        for (final View view : mViewGroup.mViews) {
+            measureCount += ((CountingView) view).mMeasureCount;
+        }
+        return measureCount;
+    }
+}
@@ -0,0 +1,71 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class OffsetCellsTest extends ListLayoutFixture {
+
+    TestItemAdapter mTestAdapter;
+    int mLayoutCount;
+
+    @Before
+    public void setup() {
+        mTestAdapter = new TestItemAdapter(VIEW_SIZE) {
+            @Override
+            protected View createView(final int position) {
+                final FrameLayout view = new FrameLayout(Robolectric.application) {
+                    @Override
+                    public void layout(int l, int t, int r, int b) {
+                        mLayoutCount++;
+                        super.layout(l, t, r, b);
+                    }
+                };
+                return setViewSize(view, getViewSize());
+            }
+        };
+        mTestAdapter.setAdapterSize(10);
+        setup(createAttributes(), mTestAdapter);
+    }
+
+    @Test
+    public void scrollFrame_offsetsChildrenWithoutLayingThemOut() {
+        final int layoutCount = mLayoutCount;
+
+        doLayout(-5);
+
+        assertThat(mLayoutCount).isEqualTo(layoutCount);
+        assertThat(mViewGroup.mViews.get(0).getLeft()).isEqualTo(CELL_SPACING - 5);
+        assertThat(mViewGroup.mViews.get(1).getLeft()).isEqualTo(CELL_SPACING + VIEW_SIZE + CELL_SPACING - 5);
+    }
+
+    @Test
+    public void scrollFrame_laysOutCellsWhenACellEntersTheViewport() {
+        final int layoutCount = mLayoutCount;
+
+        doLayout(-50);
+
+        assertThat(mLayoutCount).isGreaterThan(layoutCount);
+        assertThat(mViewGroup.mViews.size()).isEqualTo(4);
+        assertThat(mViewGroup.mViews.get(3).getLeft()).isEqualTo(4 * CELL_SPACING + 3 * VIEW_SIZE - 50);
+    }
+
+    @Test
+    public void scrollFrame_laysOutCellsWhenTheSelectionChanges() {
+        final int layoutCount = mLayoutCount;
+
+        listLayoutManager.setSelected(mViewGroup.mViews.get(1));
+        doLayout(-5);
+
+        assertThat(mLayoutCount).isGreaterThan(layoutCount);
+        assertThat(mViewGroup.mViews.get(1).isSelected()).isTrue();
+    }
+}
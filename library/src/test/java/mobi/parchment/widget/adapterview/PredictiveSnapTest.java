@@ -0,0 +1,63 @@
+package mobi.parchment.widget.adapterview;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class PredictiveSnapTest extends ListLayoutFixture {
+
+    private void setup(final boolean snapToPosition, final SnapPosition snapPosition) {
+        final LayoutManagerAttributes attributes = new LayoutManagerAttributes(false, snapToPosition, false, 0, snapPosition, CELL_SPACING, false, false, false);
+        attributes.setPredictiveSnap(true);
+        final TestItemAdapter testAdapter = new TestItemAdapter(VIEW_SIZE);
+        testAdapter.setAdapterSize(1000);
+        setup(attributes, testAdapter);
+    }
+
+    @Test
+    public void getPredictiveSnapDistance_landsOnTheSnapPositionOfTheNearestCell() {
+        setup(true, SnapPosition.floatStart);
+
+        for (int flingDistance = -3000; flingDistance <= -200; flingDistance += 37) {
+            final int snapDistance = listLayoutManager.getPredictiveSnapDistance(flingDistance, VIEW_GROUP_SIZE);
+
+            assertThat(Math.abs(snapDistance - flingDistance)).isLessThanOrEqualTo((VIEW_SIZE + CELL_SPACING) / 2);
+            assertThat(isSnapDistanceOfAPosition(snapDistance, SnapPosition.floatStart)).isTrue();
+        }
+    }
+
+    @Test
+    public void getPredictiveSnapDistance_leavesTheCellAtTheSnapPositionOnceApplied() {
+        setup(true, SnapPosition.floatStart);
+
+        final int snapDistance = listLayoutManager.getPredictiveSnapDistance(-250, VIEW_GROUP_SIZE);
+        doLayout(snapDistance);
+
+        assertThat(listLayoutManager.snapTo(mViewGroup)).isEqualTo(0);
+    }
+
+    @Test
+    public void getPredictiveSnapDistance_keepsTheFlingWithoutSnapping() {
+        setup(false, SnapPosition.floatStart);
+
+        assertThat(listLayoutManager.isPredictiveSnap()).isFalse();
+        assertThat(listLayoutManager.getPredictiveSnapDistance(-1234, VIEW_GROUP_SIZE)).isEqualTo(-1234);
+    }
+
+    @Test
+    public void getPredictiveSnapDistance_keepsTheFlingForOnScreenSnapPositions() {
+        setup(true, SnapPosition.onScreen);
+
+        assertThat(listLayoutManager.getPredictiveSnapDistance(-1234, VIEW_GROUP_SIZE)).isEqualTo(-1234);
+    }
+
+    private boolean isSnapDistanceOfAPosition(final int snapDistance, final SnapPosition snapPosition) {
+        for (int position = 0; position < 50; position++) {
+            if (listLayoutManager.getSmoothScrollDistance(position, snapPosition, VIEW_GROUP_SIZE) == snapDistance) return true;
+        }
+        return false;
+    }
+}
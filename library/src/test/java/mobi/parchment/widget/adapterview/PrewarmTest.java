@@ -0,0 +1,168 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import mobi.parchment.widget.adapterview.listview.ListLayoutManager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class PrewarmTest {
+
+    public static final int VIEW_GROUP_SIZE = 299;
+    public static final int VIEW_SIZE = 100;
+    public static final int CELL_SPACING = 10;
+    final TestViewGroup mViewGroup = new TestViewGroup(Robolectric.application);
+    final AdapterViewManager adapterViewManager = new AdapterViewManager();
+    final Animation mAnimation = new Animation();
+    final List<View> mPrewarmedViews = new ArrayList<View>();
+    TestItemAdapter mTestAdapter;
+    ListLayoutManager listLayoutManager;
+    File mProfileFile;
+
+    final Executor mDirectExecutor = new Executor() {
+        @Override
+        public void execute(final Runnable runnable) {
+            runnable.run();
+        }
+    };
+
+    final ViewFactory mViewFactory = new ViewFactory() {
+        @Override
+        public View createView(final ViewGroup parent, final int viewType) {
+            final View view = mTestAdapter.inflate(0);
+            mPrewarmedViews.add(view);
+            return view;
+        }
+    };
+
+    @Before
+    public void setup() throws IOException {
+        mProfileFile = File.createTempFile("warm_up", "");
+        mProfileFile.delete();
+
+        final LayoutManagerAttributes attributes = new LayoutManagerAttributes(false, false, false, 0, SnapPosition.onScreen, CELL_SPACING, false, false, false);
+        listLayoutManager = new ListLayoutManager(mViewGroup, null, adapterViewManager, attributes);
+        mTestAdapter = new TestItemAdapter(VIEW_SIZE);
+        mTestAdapter.setReusingConvertViews(true);
+        mTestAdapter.setAdapterSize(100);
+    }
+
+    @After
+    public void tearDown() {
+        mProfileFile.delete();
+    }
+
+    @Test
+    public void prewarm_servesTheFirstLayoutFromWarmedViews() {
+        adapterViewManager.prewarm(mViewGroup, 0, 2, mViewFactory, mDirectExecutor);
+        Robolectric.runUiThreadTasks();
+
+        adapterViewManager.setAdapter(mTestAdapter);
+        firstLayout();
+
+        assertThat(mViewGroup.mViews).hasSize(3);
+        assertThat(mViewGroup.mViews).contains(mPrewarmedViews.get(0), mPrewarmedViews.get(1));
+        assertThat(mTestAdapter.getInflateCount()).isEqualTo(3);
+        assertThat(adapterViewManager.getFirstLayoutViewCount()).isEqualTo(3);
+        assertThat(adapterViewManager.getFirstLayoutWarmViewCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void prewarm_keepsMoreViewsThanTheDefaultPoolSize() {
+        adapterViewManager.prewarm(mViewGroup, 0, 20, mViewFactory, mDirectExecutor);
+        Robolectric.runUiThreadTasks();
+
+        assertThat(adapterViewManager.getPoolSize(0)).isEqualTo(20);
+    }
+
+    @Test
+    public void prewarm_releasesThePoolReservationAfterTheFirstLayout() {
+        adapterViewManager.prewarm(mViewGroup, 0, 20, mViewFactory, mDirectExecutor);
+        Robolectric.runUiThreadTasks();
+
+        adapterViewManager.setAdapter(mTestAdapter);
+        firstLayout();
+
+        assertThat(adapterViewManager.getViewPool().getPool(0).getMaxSize()).isEqualTo(3);
+        assertThat(adapterViewManager.getPoolSize(0)).isEqualTo(3);
+    }
+
+    @Test
+    public void firstLayoutReport_isResetBySetAdapter() {
+        adapterViewManager.setAdapter(mTestAdapter);
+        firstLayout();
+        assertThat(adapterViewManager.getFirstLayoutWarmViewCount()).isEqualTo(0);
+
+        adapterViewManager.setAdapter(new TestItemAdapter(VIEW_SIZE));
+
+        assertThat(adapterViewManager.getFirstLayoutViewCount()).isEqualTo(-1);
+        assertThat(adapterViewManager.getFirstLayoutWarmViewCount()).isEqualTo(-1);
+    }
+
+    @Test
+    public void getWarmUpProfile_recordsTheFirstLayoutAndThePeakPerViewType() {
+        assertThat(adapterViewManager.getWarmUpProfile()).isNull();
+
+        adapterViewManager.setAdapter(mTestAdapter);
+        firstLayout();
+        final WarmUpProfile warmUpProfile = adapterViewManager.getWarmUpProfile();
+
+        assertThat(warmUpProfile.size()).isEqualTo(1);
+        assertThat(warmUpProfile.getViewTypeAt(0)).isEqualTo(0);
+        assertThat(warmUpProfile.getFirstLayoutCount(0)).isEqualTo(3);
+        assertThat(warmUpProfile.getPeakCount(0)).isEqualTo(3);
+    }
+
+    @Test
+    public void warmUp_writesTheProfileOnTheExecutorOnceTheSessionRan() {
+        adapterViewManager.warmUp(mViewGroup, mProfileFile, mViewFactory, mDirectExecutor);
+        adapterViewManager.setAdapter(mTestAdapter);
+        firstLayout();
+
+        Robolectric.runUiThreadTasksIncludingDelayedTasks();
+
+        assertThat(WarmUpProfile.read(mProfileFile).getFirstLayoutCount(0)).isEqualTo(3);
+    }
+
+    @Test
+    public void cancelWarmUp_dropsThePendingProfileWrite() {
+        adapterViewManager.warmUp(mViewGroup, mProfileFile, mViewFactory, mDirectExecutor);
+        adapterViewManager.setAdapter(mTestAdapter);
+        firstLayout();
+
+        adapterViewManager.cancelWarmUp();
+        Robolectric.runUiThreadTasksIncludingDelayedTasks();
+
+        assertThat(mProfileFile.exists()).isFalse();
+    }
+
+    private void firstLayout() {
+        measureViewGroup(VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+        mViewGroup.layout(0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+
+        mAnimation.newAnimation();
+        mAnimation.setDisplacement(0);
+        listLayoutManager.layout(mViewGroup, mAnimation, false, 0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+    }
+
+    private void measureViewGroup(final int width, final int height) {
+        final int widthMeasureSpec = View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY);
+        final int heightMeasureSpec = View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY);
+        mViewGroup.measure(widthMeasureSpec, heightMeasureSpec);
+    }
+}
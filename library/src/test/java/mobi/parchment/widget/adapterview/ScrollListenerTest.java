@@ -0,0 +1,194 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.MotionEvent;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Drags with a touch stream four times faster than the display and checks what the scroll listener is told, the
+ * frame callbacks the animator posts are run once per simulated frame.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ScrollListenerTest extends ListLayoutFixture {
+
+    public static final int FRAMES = 30;
+    public static final int TOUCH_EVENTS_PER_FRAME = 4;
+    public static final int TOUCH_EVENT_DISTANCE = 3;
+    public static final int FRAME_INTERVAL_IN_MILLISECONDS = 16;
+    public static final int TOUCH_EVENT_INTERVAL_IN_MILLISECONDS = FRAME_INTERVAL_IN_MILLISECONDS / TOUCH_EVENTS_PER_FRAME;
+    final List<Runnable> mPostedFrames = new ArrayList<Runnable>();
+    final RecordingOnScrollListener mOnScrollListener = new RecordingOnScrollListener();
+    AdapterAnimator mAdapterAnimator;
+
+    @Before
+    public void setup() {
+        final TestItemAdapter testAdapter = new TestItemAdapter(VIEW_SIZE);
+        testAdapter.setAdapterSize(1000);
+        setup(createAttributes(), testAdapter);
+
+        final LayoutManagerBridge layoutManagerBridge = new LayoutManagerBridge(listLayoutManager);
+        final ViewConfiguration viewConfiguration = ViewConfiguration.get(Robolectric.application);
+        mAdapterAnimator = new AdapterAnimator(mViewGroup, false, false, layoutManagerBridge, viewConfiguration) {
+            @Override
+            protected void postFrame(final Runnable frame) {
+                mPostedFrames.add(frame);
+            }
+        };
+    }
+
+    @Test
+    public void drag_reportsAtMostOncePerFrame() {
+        mAdapterAnimator.setOnScrollListener(mOnScrollListener);
+
+        for (int frame = 0; frame < FRAMES; frame++) {
+            drag(frame);
+            runFrame();
+        }
+
+        assertThat(mOnScrollListener.mStates).containsExactly(AdapterAnimator.State.scrolling);
+        assertThat(mOnScrollListener.mScrollCount).isLessThanOrEqualTo(FRAMES);
+        assertThat(mOnScrollListener.mScrollCount).isGreaterThan(0);
+    }
+
+    @Test
+    public void drag_postsOneReportForAllTheTouchEventsOfAFrame() {
+        mAdapterAnimator.setOnScrollListener(mOnScrollListener);
+
+        drag(0);
+
+        // the drag frame and the report
+        assertThat(mPostedFrames).hasSize(2);
+    }
+
+    @Test
+    public void withoutListener_postsNoReport() {
+        drag(0);
+
+        assertThat(mPostedFrames).hasSize(1);
+    }
+
+    @Test
+    public void drag_reportsVelocityAndVisibleRange() {
+        mAdapterAnimator.setOnScrollListener(mOnScrollListener);
+
+        drag(0);
+        runFrame();
+
+        // a positive distance moves the content towards the end of the adapter
+        assertThat(mOnScrollListener.mVelocity).isLessThan(0);
+        assertThat(mOnScrollListener.mFirstVisiblePosition).isEqualTo(0);
+        assertThat(mOnScrollListener.mLastVisiblePosition).isEqualTo(2);
+    }
+
+    @Test
+    public void drag_timesTheVelocityByTheEventTimesRatherThanWhenTheyAreHandled() {
+        // the touch events of the frame are all handled at the same time, they were sampled a quarter frame apart
+        drag(0);
+
+        final float velocity = -TOUCH_EVENT_DISTANCE * 1000f / TOUCH_EVENT_INTERVAL_IN_MILLISECONDS;
+        assertThat(mAdapterAnimator.getScrollVelocity()).isEqualTo(velocity);
+    }
+
+    @Test
+    public void release_reportsNotMovingWithoutVelocity() {
+        mAdapterAnimator.setOnScrollListener(mOnScrollListener);
+        drag(0);
+        runFrame();
+
+        mAdapterAnimator.onUp();
+        runFrame();
+
+        assertThat(mOnScrollListener.mStates).containsExactly(AdapterAnimator.State.scrolling, AdapterAnimator.State.notMoving);
+        assertThat(mOnScrollListener.mVelocity).isEqualTo(0);
+    }
+
+    @Test
+    public void stateChangesWithinAFrame_areCoalesced() {
+        mAdapterAnimator.setOnScrollListener(mOnScrollListener);
+
+        drag(0);
+        mAdapterAnimator.onUp();
+        runFrame();
+
+        assertThat(mOnScrollListener.mStates).isEmpty();
+    }
+
+    @Test
+    public void isScrollingFast_comparesTheVelocityWithTheFastScrollVelocity() {
+        assertThat(mAdapterAnimator.isScrollingFast()).isFalse();
+
+        mAdapterAnimator.setFastScrollVelocity(1);
+        drag(0);
+        assertThat(mAdapterAnimator.isScrollingFast()).isTrue();
+
+        mAdapterAnimator.setFastScrollVelocity(Float.MAX_VALUE);
+        assertThat(mAdapterAnimator.isScrollingFast()).isFalse();
+
+        mAdapterAnimator.setFastScrollVelocity(1);
+        mAdapterAnimator.onUp();
+        assertThat(mAdapterAnimator.isScrollingFast()).isFalse();
+    }
+
+    /**
+     * Delivers the touch events sampled during the frame, at a touch rate four times the frame rate.
+     */
+    private void drag(final int frame) {
+        final MotionEvent down = MotionEvent.obtain(0, 0, MotionEvent.ACTION_DOWN, VIEW_GROUP_SIZE, 0, 0);
+        for (int touchEvent = 0; touchEvent < TOUCH_EVENTS_PER_FRAME; touchEvent++) {
+            final long eventTime = frame * FRAME_INTERVAL_IN_MILLISECONDS + (touchEvent + 1) * TOUCH_EVENT_INTERVAL_IN_MILLISECONDS;
+            final MotionEvent move = MotionEvent.obtain(0, eventTime, MotionEvent.ACTION_MOVE, 0, 0, 0);
+            mAdapterAnimator.onScroll(down, move, TOUCH_EVENT_DISTANCE, 0);
+        }
+    }
+
+    /**
+     * Runs the frame callbacks posted so far, then the layout traversal if one was requested.
+     */
+    private void runFrame() {
+        final List<Runnable> frames = new ArrayList<Runnable>(mPostedFrames);
+        mPostedFrames.clear();
+        for (final Runnable frame : frames) {
+            frame.run();
+        }
+
+        if (mViewGroup.mIsLayoutRequested) doLayout();
+    }
+
+    private void doLayout() {
+        mViewGroup.mIsLayoutRequested = false;
+        listLayoutManager.layout(mViewGroup, mAdapterAnimator.getAnimation(), false, 0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+        mAdapterAnimator.onLayout();
+    }
+
+    public class RecordingOnScrollListener implements OnScrollListener {
+        final List<AdapterAnimator.State> mStates = new ArrayList<AdapterAnimator.State>();
+        int mScrollCount;
+        int mFirstVisiblePosition = LayoutManager.INVALID_POSITION;
+        int mLastVisiblePosition = LayoutManager.INVALID_POSITION;
+        float mVelocity;
+
+        @Override
+        public void onScrollStateChanged(final ViewGroup viewGroup, final AdapterAnimator.State state) {
+            mStates.add(state);
+        }
+
+        @Override
+        public void onScroll(final ViewGroup viewGroup, final int firstVisiblePosition, final int lastVisiblePosition, final float velocity) {
+            mScrollCount++;
+            mFirstVisiblePosition = firstVisiblePosition;
+            mLastVisiblePosition = lastVisiblePosition;
+            mVelocity = velocity;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.FrameLayout;
+
+import mobi.parchment.widget.adapterview.listview.ListLayoutManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class SharedViewPoolTest {
+
+    public static final int CARD_VIEW_TYPE = 42;
+    public static final int MEASURE_SPEC = View.MeasureSpec.makeMeasureSpec(100, View.MeasureSpec.EXACTLY);
+    public static final int VIEW_GROUP_SIZE = 299;
+    final ViewPool mViewPool = new ViewPool();
+    final AdapterViewManager mFirstAdapterViewManager = new AdapterViewManager();
+    final AdapterViewManager mSecondAdapterViewManager = new AdapterViewManager();
+    final FrameLayout mFirstViewGroup = new FrameLayout(Robolectric.application);
+    final FrameLayout mSecondViewGroup = new FrameLayout(Robolectric.application);
+    final TestAdapter mFirstAdapter = new TestAdapter(false);
+    final TestAdapter mSecondAdapter = new TestAdapter(false);
+
+    @Before
+    public void setup() {
+        mFirstAdapterViewManager.setViewPool(mViewPool);
+        mSecondAdapterViewManager.setViewPool(mViewPool);
+        mFirstAdapterViewManager.setAdapter(mFirstAdapter);
+        mSecondAdapterViewManager.setAdapter(mSecondAdapter);
+    }
+
+    @Test
+    public void getView_reusesViewsRecycledByAnotherAdapterView() {
+        final List<View> views = getViews(mFirstAdapterViewManager, mFirstViewGroup, 3);
+        recycle(mFirstAdapterViewManager, views);
+
+        final List<View> reusedViews = getViews(mSecondAdapterViewManager, mSecondViewGroup, 3);
+
+        assertThat(reusedViews).containsOnly(views.get(0), views.get(1), views.get(2));
+        assertThat(mSecondAdapter.mInflationCount).isEqualTo(0);
+        assertThat(mViewPool.size(CARD_VIEW_TYPE)).isEqualTo(0);
+    }
+
+    @Test
+    public void getView_takesTheViewAwayFromItsPreviousParent() {
+        final View view = mFirstAdapterViewManager.getView(mFirstViewGroup, 0, MEASURE_SPEC, MEASURE_SPEC);
+        mFirstViewGroup.addView(view);
+        mFirstAdapterViewManager.recycle(view);
+
+        final View reusedView = mSecondAdapterViewManager.getView(mSecondViewGroup, 0, MEASURE_SPEC, MEASURE_SPEC);
+
+        assertThat(reusedView).isSameAs(view);
+        assertThat(reusedView.getParent()).isNull();
+        assertThat(mFirstViewGroup.getChildCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void getView_ignoresAStableIdViewTakenByAnotherAdapterView() {
+        final TestAdapter stableIdAdapter = new TestAdapter(true);
+        mFirstAdapterViewManager.setAdapter(stableIdAdapter);
+        final View view = mFirstAdapterViewManager.getView(mFirstViewGroup, 0, MEASURE_SPEC, MEASURE_SPEC);
+        mFirstAdapterViewManager.recycle(view);
+        mSecondAdapterViewManager.getView(mSecondViewGroup, 0, MEASURE_SPEC, MEASURE_SPEC);
+
+        final View newView = mFirstAdapterViewManager.getView(mFirstViewGroup, 0, MEASURE_SPEC, MEASURE_SPEC);
+
+        assertThat(newView).isNotSameAs(view);
+        assertThat(stableIdAdapter.mInflationCount).isEqualTo(2);
+    }
+
+    @Test
+    public void layout_keepsViewsScrappedByAStableIdChangeOutOfTheSharedPool() {
+        final TestViewGroup firstViewGroup = new TestViewGroup(Robolectric.application);
+        final TestViewGroup secondViewGroup = new TestViewGroup(Robolectric.application);
+        final LayoutManager<View> firstLayoutManager = newLayoutManager(firstViewGroup, mFirstAdapterViewManager);
+        final LayoutManager<View> secondLayoutManager = newLayoutManager(secondViewGroup, mSecondAdapterViewManager);
+        final StableIdAdapter firstAdapter = new StableIdAdapter();
+        mFirstAdapterViewManager.setAdapter(firstAdapter);
+        mSecondAdapterViewManager.setAdapter(new StableIdAdapter());
+        layout(firstLayoutManager, firstViewGroup);
+        final List<View> firstViews = new ArrayList<View>(firstViewGroup.mViews);
+
+        firstAdapter.setFirstId(1);
+        firstLayoutManager.processPendingDataSetChange();
+        layout(secondLayoutManager, secondViewGroup);
+
+        assertThat(secondViewGroup.mViews).hasSize(firstViews.size());
+        assertThat(secondViewGroup.mViews).doesNotContain(firstViews.toArray());
+
+        layout(firstLayoutManager, firstViewGroup);
+
+        assertThat(firstViewGroup.mViews).contains(firstViews.subList(1, firstViews.size()).toArray());
+        assertThat(firstViewGroup.mViews).doesNotContain(firstViews.get(0));
+    }
+
+    @Test
+    public void getPeakOnScreenCount_countsEveryAdapterViewSharingThePool() {
+        getViews(mFirstAdapterViewManager, mFirstViewGroup, 3);
+        getViews(mSecondAdapterViewManager, mSecondViewGroup, 2);
+
+        assertThat(mViewPool.getPeakOnScreenCount(CARD_VIEW_TYPE)).isEqualTo(5);
+    }
+
+    private List<View> getViews(final AdapterViewManager adapterViewManager, final ViewGroup viewGroup, final int count) {
+        final List<View> views = new ArrayList<View>();
+        for (int position = 0; position < count; position++) {
+            views.add(adapterViewManager.getView(viewGroup, position, MEASURE_SPEC, MEASURE_SPEC));
+        }
+        return views;
+    }
+
+    private void recycle(final AdapterViewManager adapterViewManager, final List<View> views) {
+        for (final View view : views) {
+            adapterViewManager.recycle(view);
+        }
+    }
+
+    private LayoutManager<View> newLayoutManager(final TestViewGroup viewGroup, final AdapterViewManager adapterViewManager) {
+        final LayoutManagerAttributes attributes = new LayoutManagerAttributes(false, false, false, 0, SnapPosition.onScreen, 10, false, false, false);
+        final int measureSpec = View.MeasureSpec.makeMeasureSpec(VIEW_GROUP_SIZE, View.MeasureSpec.EXACTLY);
+        viewGroup.measure(measureSpec, measureSpec);
+        viewGroup.layout(0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+        return new ListLayoutManager(viewGroup, null, adapterViewManager, attributes);
+    }
+
+    private void layout(final LayoutManager<View> layoutManager, final TestViewGroup viewGroup) {
+        layoutManager.layout(viewGroup, new Animation(), false, 0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+    }
+
+    public class StableIdAdapter extends TestItemAdapter {
+        private long mFirstId;
+
+        public StableIdAdapter() {
+            super(100);
+            setAdapterSize(10);
+            setReusingConvertViews(true);
+        }
+
+        public void setFirstId(final long firstId) {
+            mFirstId = firstId;
+            notifyDataSetChanged();
+        }
+
+        @Override
+        public boolean hasStableIds() {
+            return true;
+        }
+
+        @Override
+        public long getItemId(final int position) {
+            return mFirstId + position;
+        }
+    }
+
+    public class TestAdapter extends BaseAdapter implements ViewPool.GlobalViewTypeAdapter {
+        private final boolean mHasStableIds;
+        int mInflationCount;
+
+        public TestAdapter(final boolean hasStableIds) {
+            mHasStableIds = hasStableIds;
+        }
+
+        @Override
+        public int getCount() {
+            return 100;
+        }
+
+        @Override
+        public Object getItem(int position) {
+            return position;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return position;
+        }
+
+        @Override
+        public boolean hasStableIds() {
+            return mHasStableIds;
+        }
+
+        @Override
+        public int getGlobalViewType(int position) {
+            return CARD_VIEW_TYPE;
+        }
+
+        @Override
+        public View getView(int position, View convertView, ViewGroup parent) {
+            if (convertView != null) return convertView;
+            mInflationCount++;
+            return new FrameLayout(Robolectric.application);
+        }
+    }
+}
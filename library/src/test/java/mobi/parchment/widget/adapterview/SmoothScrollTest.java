@@ -0,0 +1,63 @@
+package mobi.parchment.widget.adapterview;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class SmoothScrollTest extends ListLayoutFixture {
+
+    TestItemAdapter mTestAdapter;
+
+    @Before
+    public void setup() {
+        mTestAdapter = new TestItemAdapter(VIEW_SIZE);
+        mTestAdapter.setAdapterSize(10000);
+        setup(createAttributes(), mTestAdapter);
+    }
+
+    @Test
+    public void getSmoothScrollDistance_isExactForDrawnPositions() {
+        final int distance = listLayoutManager.getSmoothScrollDistance(2, SnapPosition.floatStart, VIEW_GROUP_SIZE);
+
+        assertThat(distance).isEqualTo(-(2 * (VIEW_SIZE + CELL_SPACING) + CELL_SPACING));
+    }
+
+    @Test
+    public void prepareSmoothScroll_ignoresPositionsOutsideTheAdapter() {
+        final int numberOfViews = mViewGroup.mViews.size();
+
+        assertThat(listLayoutManager.prepareSmoothScroll(-1, SnapPosition.floatStart, VIEW_GROUP_SIZE)).isEqualTo(0);
+        assertThat(listLayoutManager.prepareSmoothScroll(10000, SnapPosition.floatStart, VIEW_GROUP_SIZE)).isEqualTo(0);
+        assertThat(mViewGroup.mViews.size()).isEqualTo(numberOfViews);
+    }
+
+    @Test
+    public void prepareSmoothScroll_estimatesNearPositionsWithoutJumping() {
+        final int numberOfViews = mViewGroup.mViews.size();
+
+        final int distance = listLayoutManager.prepareSmoothScroll(5, SnapPosition.floatStart, VIEW_GROUP_SIZE);
+
+        assertThat(distance).isEqualTo(-(5 * (VIEW_SIZE + CELL_SPACING) + CELL_SPACING));
+        assertThat(mViewGroup.mViews.size()).isEqualTo(numberOfViews);
+    }
+
+    @Test
+    public void prepareSmoothScroll_jumpsCloseToFarPositionsWithoutBindingTheOnesInBetween() {
+        mTestAdapter.mRequestedPositions.clear();
+
+        final int distance = listLayoutManager.prepareSmoothScroll(5000, SnapPosition.floatStart, VIEW_GROUP_SIZE);
+        assertThat(Math.abs(distance)).isLessThanOrEqualTo(2 * VIEW_GROUP_SIZE);
+
+        doLayout(distance);
+
+        for (final Integer position : mTestAdapter.mRequestedPositions) {
+            assertThat(position).isGreaterThan(5000 - 10);
+        }
+        assertThat(listLayoutManager.isPositionDrawn(5000)).isTrue();
+        assertThat(listLayoutManager.getSmoothScrollDistance(5000, SnapPosition.floatStart, VIEW_GROUP_SIZE)).isEqualTo(0);
+    }
+}
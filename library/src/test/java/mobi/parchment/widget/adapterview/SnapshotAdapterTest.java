@@ -0,0 +1,125 @@
+package mobi.parchment.widget.adapterview;
+
+import android.database.DataSetObserver;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class SnapshotAdapterTest {
+
+    final QueuedExecutor mExecutor = new QueuedExecutor();
+    final TestAdapter mTestAdapter = new TestAdapter(mExecutor);
+    final List<ItemListDiffTest.Item> mFirstItems = ItemListDiffTest.createItems(10);
+    ItemListDiffTest.RecordingObserver mRecordingObserver;
+    int mDataSetChangeCount;
+
+    @Before
+    public void setup() {
+        mTestAdapter.submitList(mFirstItems);
+        mTestAdapter.registerDataSetObserver(new DataSetObserver() {
+            @Override
+            public void onChanged() {
+                mDataSetChangeCount++;
+            }
+        });
+    }
+
+    @Test
+    public void submitList_notifiesTheDifferenceAsItemRanges() {
+        final List<ItemListDiffTest.Item> newItems = new ArrayList<ItemListDiffTest.Item>(mFirstItems);
+        newItems.remove(3);
+        observe(newItems);
+
+        mTestAdapter.submitList(newItems);
+        mExecutor.runAll();
+
+        assertThat(mRecordingObserver.mOperations).containsExactly("remove 3 1");
+        assertThat(mTestAdapter.getCount()).isEqualTo(9);
+        assertThat(mDataSetChangeCount).isEqualTo(0);
+    }
+
+    @Test
+    public void submitList_keepsTheCurrentItemsUntilTheDiffIsApplied() {
+        final List<ItemListDiffTest.Item> newItems = new ArrayList<ItemListDiffTest.Item>(mFirstItems);
+        newItems.remove(3);
+
+        mTestAdapter.submitList(newItems);
+
+        assertThat(mTestAdapter.getItems()).isSameAs(mFirstItems);
+    }
+
+    @Test
+    public void submitList_dropsDiffsOfSnapshotsThatWereReplaced() {
+        final List<ItemListDiffTest.Item> staleItems = new ArrayList<ItemListDiffTest.Item>(mFirstItems);
+        staleItems.remove(0);
+        final List<ItemListDiffTest.Item> latestItems = new ArrayList<ItemListDiffTest.Item>(mFirstItems);
+        latestItems.remove(9);
+        observe(latestItems);
+
+        mTestAdapter.submitList(staleItems);
+        mTestAdapter.submitList(latestItems);
+        mExecutor.runAll();
+
+        assertThat(mTestAdapter.getItems()).isSameAs(latestItems);
+        assertThat(mRecordingObserver.mOperations).containsExactly("remove 9 1");
+    }
+
+    private void observe(final List<ItemListDiffTest.Item> newItems) {
+        mRecordingObserver = new ItemListDiffTest.RecordingObserver(getIds(mFirstItems), getIds(newItems));
+        mTestAdapter.registerItemRangeObserver(mRecordingObserver);
+    }
+
+    private static List<Long> getIds(final List<ItemListDiffTest.Item> items) {
+        final List<Long> ids = new ArrayList<Long>();
+        for (final ItemListDiffTest.Item item : items) {
+            ids.add(item.mId);
+        }
+        return ids;
+    }
+
+    public class QueuedExecutor implements Executor {
+        final List<Runnable> mRunnables = new ArrayList<Runnable>();
+
+        @Override
+        public void execute(Runnable runnable) {
+            mRunnables.add(runnable);
+        }
+
+        public void runAll() {
+            while (!mRunnables.isEmpty()) {
+                mRunnables.remove(0).run();
+            }
+        }
+    }
+
+    public class TestAdapter extends SnapshotAdapter<ItemListDiffTest.Item> {
+
+        public TestAdapter(Executor executor) {
+            super(executor);
+        }
+
+        @Override
+        protected long getItemId(ItemListDiffTest.Item item) {
+            return item.mId;
+        }
+
+        @Override
+        public View getView(int position, View convertView, ViewGroup parent) {
+            if (convertView != null) return convertView;
+            return new FrameLayout(Robolectric.application);
+        }
+    }
+}
@@ -1,11 +1,9 @@
 package mobi.parchment.widget.adapterview;
 
-import android.content.Context;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.BaseAdapter;
 import android.widget.FrameLayout;
-import android.widget.LinearLayout;
 
 import mobi.parchment.widget.adapterview.listview.ListLayoutManager;
 
@@ -15,8 +13,6 @@ import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 import static org.fest.assertions.api.Assertions.assertThat;
@@ -30,7 +26,7 @@ public class StableIdsTest {
     public static final int VIEW_GROUP_SIZE = 299;
     public static final int VIEW_SIZE = 10;
     public static final int CELL_SPACING = 10;
-    final MyViewGroup mViewGroup = new MyViewGroup(Robolectric.application);
+    final TestViewGroup mViewGroup = new TestViewGroup(Robolectric.application);
     final AdapterViewManager adapterViewManager = new AdapterViewManager();
     TestAdapter mTestAdapter;
     LayoutManagerAttributes attributes;
@@ -46,11 +42,11 @@ public class StableIdsTest {
         adapterViewManager.setAdapter(mTestAdapter);
         doFirstLayout(VIEW_GROUP_SIZE);
         doLayout();
-        assertThat(mViewGroup.mViews.get(0).getTag()).isEqualTo(0);
-        mViewGroup.mViews.get(0).setTag(1);
+        assertThat(mViewGroup.mViews.get(0).getTag()).isEqualTo(0L);
+        final View view = mViewGroup.mViews.get(0);
         mTestAdapter.notifyDataSetChanged();
         doLayout();
-        assertThat(mViewGroup.mViews.get(0).getTag()).isEqualTo(1);
+        assertThat(mViewGroup.mViews.get(0)).isSameAs(view);
     }
 
     @Test
@@ -81,14 +77,69 @@ public class StableIdsTest {
         adapterViewManager.setAdapter(mTestAdapter);
         doFirstLayout(VIEW_GROUP_SIZE);
         doLayout();
-        assertThat(mViewGroup.mViews.get(0).getTag()).isEqualTo(0);
-        mViewGroup.mViews.get(0).setTag(1);
+        assertThat(mViewGroup.mViews.get(0).getTag()).isEqualTo(0L);
+        final View view = mViewGroup.mViews.get(0);
         mTestAdapter.notifyDataSetChanged();
         doLayout();
-        assertThat(mViewGroup.mViews.get(0).getTag()).isEqualTo(1);
+        assertThat(mViewGroup.mViews.get(0)).isSameAs(view);
         mTestAdapter.notifyDataSetChanged();
         doLayout();
-        assertThat(mViewGroup.mViews.get(0).getTag()).isEqualTo(1);
+        assertThat(mViewGroup.mViews.get(0)).isSameAs(view);
+    }
+
+    @Test
+    public void notifyDataSetChanged_keepsTheViewsOfSurvivingIdsAttached() {
+        setupLargeAdapter();
+        final List<View> views = new ArrayList<View>(mViewGroup.mViews);
+        final int addCount = mViewGroup.mAddCount;
+
+        mTestAdapter.notifyDataSetChanged();
+        doLayout();
+
+        assertThat(mViewGroup.mAddCount).isEqualTo(addCount);
+        assertThat(mViewGroup.mViews).containsOnly(views.toArray());
+    }
+
+    @Test
+    public void notifyDataSetChanged_keepsTheFirstVisibleIdInPlace() {
+        setupLargeAdapter();
+        final View firstView = mViewGroup.forPosition(0);
+        final int left = firstView.getLeft();
+
+        mTestAdapter.setFirstId(-1);
+        mTestAdapter.setAdapterSize(101);
+        doLayout();
+
+        assertThat(mViewGroup.forPosition(0)).isSameAs(firstView);
+        assertThat(firstView.getLeft()).isEqualTo(left);
+        assertThat(firstView.getTag()).isEqualTo(0L);
+        assertThat(AdapterViewLayoutParams.peek(firstView).getPosition()).isEqualTo(1);
+    }
+
+    @Test
+    public void notifyDataSetChanged_dropsTheViewsOfRemovedIds() {
+        setupLargeAdapter();
+        final View firstView = mViewGroup.forPosition(0);
+        final View secondView = mViewGroup.forPosition(1);
+
+        mTestAdapter.setFirstId(1);
+        mTestAdapter.setAdapterSize(99);
+        doLayout();
+
+        assertThat(mViewGroup.mViews).contains(secondView);
+        assertThat(mViewGroup.mViews).doesNotContain(firstView);
+        assertThat(AdapterViewLayoutParams.peek(secondView).getPosition()).isEqualTo(0);
+    }
+
+    private void setupLargeAdapter() {
+        attributes = new LayoutManagerAttributes(false, false, false, 0, SnapPosition.onScreen, CELL_SPACING, false, false, false);
+
+        listLayoutManager = new ListLayoutManager(mViewGroup, null, adapterViewManager, attributes);
+        mTestAdapter = new TestAdapter(VIEW_SIZE);
+        mTestAdapter.setAdapterSize(100);
+        adapterViewManager.setAdapter(mTestAdapter);
+        doFirstLayout(VIEW_GROUP_SIZE);
+        doLayout();
     }
 
     private void doLayout() {
@@ -105,39 +156,10 @@ public class StableIdsTest {
         mViewGroup.layout(0, 0, viewGroupSize, viewGroupSize);
     }
 
-    public class MyViewGroup extends LinearLayout implements AdapterViewHandler {
-        public final List<View> mViews = new ArrayList<View>();
-
-        public MyViewGroup(Context context) {
-            super(context);
-        }
-
-        public View forPosition(int position) {
-            Collections.sort(mViews, new Comparator<View>() {
-                @Override
-                public int compare(View lhs, View rhs) {
-                    return lhs.getLeft() - rhs.getLeft();
-                }
-            });
-
-            return mViews.get(position);
-        }
-
-        @Override
-        public boolean addViewInAdapterView(View view, int index, ViewGroup.LayoutParams layoutParams) {
-            mViews.add(index, view);
-            return true;
-        }
-
-        @Override
-        public void removeViewInAdapterView(View view) {
-            mViews.remove(view);
-        }
-    }
-
     public class TestAdapter extends BaseAdapter {
         private int mAdapterSize;
         private int mViewSize;
+        private long mFirstId;
 
         @Override
         public boolean hasStableIds() {
@@ -148,6 +170,10 @@ public class StableIdsTest {
             mViewSize = viewSize;
         }
 
+        public void setFirstId(final long firstId) {
+            mFirstId = firstId;
+        }
+
         public void setAdapterSize(final int adapterSize) {
             mAdapterSize = adapterSize;
             notifyDataSetChanged();
@@ -165,7 +191,7 @@ public class StableIdsTest {
 
         @Override
         public long getItemId(int position) {
-            return position;
+            return mFirstId + position;
         }
 
         @Override
@@ -175,7 +201,7 @@ public class StableIdsTest {
             }
 
             final FrameLayout outer = (FrameLayout) convertView;
-            outer.setTag(position);
+            outer.setTag(getItemId(position));
             outer.setLayoutParams(new ViewGroup.LayoutParams(mViewSize, mViewSize));
 
             // TODO: necessary to have an outer and an inner?
@@ -0,0 +1,98 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.FrameLayout;
+
+import org.robolectric.Robolectric;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapter of the layout manager tests. Items are their position and every view is a square of the view size, tagged
+ * with the position it was last bound to.
+ */
+public class TestItemAdapter extends BaseAdapter {
+    private final int mViewSize;
+    private int mAdapterSize;
+    private int mGetViewCount;
+    private int mInflateCount;
+    private boolean mIsReusingConvertViews;
+    final List<Integer> mRequestedPositions = new ArrayList<Integer>();
+
+    public TestItemAdapter(final int viewSize) {
+        mViewSize = viewSize;
+    }
+
+    public void setAdapterSize(final int adapterSize) {
+        mAdapterSize = adapterSize;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Off by default, every call to getView then inflates a new view.
+     */
+    public void setReusingConvertViews(final boolean isReusingConvertViews) {
+        mIsReusingConvertViews = isReusingConvertViews;
+    }
+
+    public int getViewSize() {
+        return mViewSize;
+    }
+
+    public int getGetViewCount() {
+        return mGetViewCount;
+    }
+
+    public int getInflateCount() {
+        return mInflateCount;
+    }
+
+    @Override
+    public int getCount() {
+        return mAdapterSize;
+    }
+
+    @Override
+    public Object getItem(final int position) {
+        return position;
+    }
+
+    @Override
+    public long getItemId(final int position) {
+        return position;
+    }
+
+    @Override
+    public View getView(final int position, final View convertView, final ViewGroup parent) {
+        mGetViewCount++;
+        mRequestedPositions.add(position);
+        final View view = mIsReusingConvertViews && convertView != null ? convertView : inflate(position);
+        view.setTag(position);
+        return view;
+    }
+
+    public View inflate(final int position) {
+        mInflateCount++;
+        return createView(position);
+    }
+
+    protected View createView(final int position) {
+        return setViewSize(new FrameLayout(Robolectric.application), mViewSize);
+    }
+
+    /**
+     * Cells are measured UNSPECIFIED along the scroll axis, the child of the same size keeps an empty frame from
+     * measuring to nothing.
+     */
+    public static <V extends FrameLayout> V setViewSize(final V view, final int viewSize) {
+        view.setLayoutParams(new ViewGroup.LayoutParams(viewSize, viewSize));
+
+        final FrameLayout inner = new FrameLayout(Robolectric.application);
+        inner.setLayoutParams(new ViewGroup.LayoutParams(viewSize, viewSize));
+        view.addView(inner);
+        return view;
+    }
+}
@@ -0,0 +1,67 @@
+package mobi.parchment.widget.adapterview;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * View group the layout manager tests lay out into. The children the layout manager adds, detaches and attaches
+ * again are tracked in {@link #mViews} in draw order.
+ */
+public class TestViewGroup extends LinearLayout implements AdapterViewHandler {
+    public final List<View> mViews = new ArrayList<View>();
+    int mAddCount;
+    boolean mIsLayoutRequested;
+
+    public TestViewGroup(final Context context) {
+        super(context);
+    }
+
+    /**
+     * @return the child at the index once the children are sorted from left to right
+     */
+    public View forPosition(final int position) {
+        Collections.sort(mViews, new Comparator<View>() {
+            @Override
+            public int compare(final View lhs, final View rhs) {
+                return lhs.getLeft() - rhs.getLeft();
+            }
+        });
+
+        return mViews.get(position);
+    }
+
+    @Override
+    public void requestLayout() {
+        super.requestLayout();
+        mIsLayoutRequested = true;
+    }
+
+    @Override
+    public boolean addViewInAdapterView(final View view, final int index, final ViewGroup.LayoutParams layoutParams) {
+        mAddCount++;
+        mViews.add(index, view);
+        return true;
+    }
+
+    @Override
+    public void removeViewInAdapterView(final View view) {
+        mViews.remove(view);
+    }
+
+    @Override
+    public void detachViewInAdapterView(final View view) {
+        mViews.remove(view);
+    }
+
+    @Override
+    public void attachViewInAdapterView(final View view, final int index, final ViewGroup.LayoutParams layoutParams) {
+        mViews.add(Math.min(index, mViews.size()), view);
+    }
+}
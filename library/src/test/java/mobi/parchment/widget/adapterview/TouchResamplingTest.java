@@ -0,0 +1,186 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.MotionEvent;
+import android.view.ViewConfiguration;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Replays recorded drags against the animator and measures how far the content trails the finger when each frame is
+ * drawn. Touch events are sampled every {@link #TOUCH_INTERVAL_IN_MILLISECONDS} and handed over in a batch right
+ * before each frame, as the input queue does.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TouchResamplingTest extends ListLayoutFixture {
+
+    public static final long FRAME_INTERVAL_IN_MILLISECONDS = 16;
+    public static final long TOUCH_INTERVAL_IN_MILLISECONDS = 8;
+    public static final long INPUT_DELAY_IN_MILLISECONDS = 6;
+    public static final float FINGER_START = 1000;
+    final List<Runnable> mPostedFrames = new ArrayList<Runnable>();
+    AdapterAnimator mAdapterAnimator;
+    long mFrameTime;
+
+    /**
+     * Finger position at a time of a replayed gesture.
+     */
+    interface Gesture {
+        float getPosition(long time);
+    }
+
+    final Gesture mSteadyDrag = new Gesture() {
+        @Override
+        public float getPosition(final long time) {
+            return FINGER_START - time;
+        }
+    };
+
+    final Gesture mReversingDrag = new Gesture() {
+        @Override
+        public float getPosition(final long time) {
+            if (time < 200) return FINGER_START - 2 * time;
+            return FINGER_START - 400 + 2 * (time - 200);
+        }
+    };
+
+    @Test
+    public void addSample_interpolatesBetweenSamples() {
+        final TouchResampler touchResampler = new TouchResampler(false);
+        touchResampler.addSample(0, 100);
+        touchResampler.addSample(10, 80);
+
+        assertThat(touchResampler.getPosition(5)).isEqualTo(90f);
+        assertThat(touchResampler.getPosition(10)).isEqualTo(80f);
+    }
+
+    @Test
+    public void getPosition_extrapolatesHalfTheLastSampleIntervalAtMost() {
+        final TouchResampler touchResampler = new TouchResampler(false);
+        touchResampler.addSample(0, 100);
+        touchResampler.addSample(10, 80);
+
+        assertThat(touchResampler.getPosition(12)).isEqualTo(76f);
+        assertThat(touchResampler.getPosition(40)).isEqualTo(70f);
+    }
+
+    @Test
+    public void getPosition_doesNotExtrapolateADirectionReversal() {
+        final TouchResampler touchResampler = new TouchResampler(false);
+        touchResampler.addSample(0, 100);
+        touchResampler.addSample(8, 80);
+        touchResampler.addSample(16, 90);
+
+        assertThat(touchResampler.getPosition(20)).isEqualTo(90f);
+    }
+
+    @Test
+    public void getPosition_doesNotExtrapolateStaleSamples() {
+        final TouchResampler touchResampler = new TouchResampler(false);
+        touchResampler.addSample(0, 100);
+        touchResampler.addSample(50, 80);
+
+        assertThat(touchResampler.getPosition(60)).isEqualTo(80f);
+    }
+
+    @Test
+    public void drag_withTouchResamplingTrailsTheFingerLess() {
+        final float latency = replay(mSteadyDrag, false, 500);
+        final float resampledLatency = replay(mSteadyDrag, true, 500);
+
+        assertThat(latency).isGreaterThanOrEqualTo(INPUT_DELAY_IN_MILLISECONDS - 1);
+        assertThat(resampledLatency).isLessThan(latency / 2);
+    }
+
+    @Test
+    public void drag_withTouchResamplingNeverOvershootsAReversal() {
+        replay(mReversingDrag, true, 400);
+
+        assertThat(mMaxContentTravel).isLessThanOrEqualTo(mMaxFingerTravel + 1);
+    }
+
+    float mMaxFingerTravel;
+    float mMaxContentTravel;
+
+    /**
+     * @return the average time in milliseconds the content trails the finger by when a frame is drawn
+     */
+    private float replay(final Gesture gesture, final boolean isTouchResampling, final long duration) {
+        setup(isTouchResampling);
+        mMaxFingerTravel = 0;
+        mMaxContentTravel = 0;
+
+        final int scrollOffset = listLayoutManager.getEstimatedScrollOffset();
+        final MotionEvent down = MotionEvent.obtain(0, 0, MotionEvent.ACTION_DOWN, gesture.getPosition(0), 0, 0);
+        float lastDeliveredPosition = gesture.getPosition(0);
+        long touchTime = TOUCH_INTERVAL_IN_MILLISECONDS;
+        float totalLag = 0;
+        int measuredFrames = 0;
+
+        for (mFrameTime = FRAME_INTERVAL_IN_MILLISECONDS + INPUT_DELAY_IN_MILLISECONDS; mFrameTime <= duration; mFrameTime += FRAME_INTERVAL_IN_MILLISECONDS) {
+            for (; touchTime <= mFrameTime - INPUT_DELAY_IN_MILLISECONDS; touchTime += TOUCH_INTERVAL_IN_MILLISECONDS) {
+                final float position = gesture.getPosition(touchTime);
+                final MotionEvent move = MotionEvent.obtain(0, touchTime, MotionEvent.ACTION_MOVE, position, 0, 0);
+                final boolean isScrolled = mAdapterAnimator.onScroll(down, move, lastDeliveredPosition - position, 0);
+                if (isScrolled) lastDeliveredPosition = position;
+            }
+            runFrame();
+
+            if (mAdapterAnimator.getState() != AdapterAnimator.State.scrolling) continue;
+            final float fingerTravel = gesture.getPosition(0) - gesture.getPosition(mFrameTime);
+            final float contentTravel = listLayoutManager.getEstimatedScrollOffset() - scrollOffset;
+            mMaxFingerTravel = Math.max(mMaxFingerTravel, fingerTravel);
+            mMaxContentTravel = Math.max(mMaxContentTravel, contentTravel);
+
+            final float speed = Math.abs(gesture.getPosition(mFrameTime) - gesture.getPosition(mFrameTime - 1));
+            totalLag += Math.abs(fingerTravel - contentTravel) / speed;
+            measuredFrames++;
+        }
+        return totalLag / measuredFrames;
+    }
+
+    private void setup(final boolean isTouchResampling) {
+        mPostedFrames.clear();
+        final TestItemAdapter testAdapter = new TestItemAdapter(VIEW_SIZE);
+        testAdapter.setAdapterSize(1000);
+        setup(createAttributes(), testAdapter);
+
+        final LayoutManagerBridge layoutManagerBridge = new LayoutManagerBridge(listLayoutManager);
+        final ViewConfiguration viewConfiguration = ViewConfiguration.get(Robolectric.application);
+        mAdapterAnimator = new AdapterAnimator(mViewGroup, false, false, layoutManagerBridge, viewConfiguration) {
+            @Override
+            protected void postFrame(final Runnable frame) {
+                mPostedFrames.add(frame);
+            }
+
+            @Override
+            protected long getFrameTime() {
+                return mFrameTime;
+            }
+        };
+        mAdapterAnimator.setTouchResampling(isTouchResampling);
+    }
+
+    private void runFrame() {
+        final List<Runnable> frames = new ArrayList<Runnable>(mPostedFrames);
+        mPostedFrames.clear();
+        for (final Runnable frame : frames) {
+            frame.run();
+        }
+
+        if (mViewGroup.mIsLayoutRequested) doLayout();
+    }
+
+    private void doLayout() {
+        mViewGroup.mIsLayoutRequested = false;
+        listLayoutManager.layout(mViewGroup, mAdapterAnimator.getAnimation(), false, 0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+        mAdapterAnimator.onLayout();
+    }
+}
@@ -0,0 +1,123 @@
+package mobi.parchment.widget.adapterview;
+
+import android.view.View;
+
+import mobi.parchment.widget.adapterview.listview.ListLayoutManager;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class ViewPositionIndexTest {
+
+    public static final int VIEW_GROUP_SIZE = 600;
+    public static final int ADAPTER_SIZE = 1000;
+    public static final int FRAMES = 20;
+    int mLookups;
+
+    @Test
+    public void get_returnsViewsInTheWindow() {
+        final ViewPositionIndex index = new ViewPositionIndex();
+        final View first = new View(Robolectric.application);
+        final View second = new View(Robolectric.application);
+        final View third = new View(Robolectric.application);
+
+        index.addLast(second, 5);
+        index.addLast(third, 6);
+        index.addFirst(first, 4);
+
+        assertThat(index.get(4, ADAPTER_SIZE)).isSameAs(first);
+        assertThat(index.get(5, ADAPTER_SIZE)).isSameAs(second);
+        assertThat(index.get(6, ADAPTER_SIZE)).isSameAs(third);
+        assertThat(index.get(7, ADAPTER_SIZE)).isNull();
+        assertThat(index.get(3, ADAPTER_SIZE)).isNull();
+        assertThat(index.getPosition(second)).isEqualTo(5);
+    }
+
+    @Test
+    public void get_wrapsAroundTheAdapterWhenCircular() {
+        final ViewPositionIndex index = new ViewPositionIndex();
+        final View last = new View(Robolectric.application);
+        final View first = new View(Robolectric.application);
+
+        index.addLast(last, 9);
+        index.addLast(first, 0);
+
+        assertThat(index.get(9, 10)).isSameAs(last);
+        assertThat(index.get(0, 10)).isSameAs(first);
+        assertThat(index.contains(1, 10)).isFalse();
+    }
+
+    @Test
+    public void remove_clearsThePositionOfTheView() {
+        final ViewPositionIndex index = new ViewPositionIndex();
+        final View first = new View(Robolectric.application);
+        final View second = new View(Robolectric.application);
+
+        index.addLast(first, 0);
+        index.addLast(second, 1);
+        index.remove(first);
+
+        assertThat(index.getFirstPosition()).isEqualTo(1);
+        assertThat(index.getPosition(first)).isEqualTo(ViewPositionIndex.INVALID_POSITION);
+        assertThat(index.get(0, ADAPTER_SIZE)).isNull();
+        assertThat(index.get(1, ADAPTER_SIZE)).isSameAs(second);
+    }
+
+    @Test
+    public void lookupsPerFrame_doNotGrowWithTheNumberOfVisibleViews() {
+        final int fewViewsProbes = getProbesPerScrollFrame(60);
+        final int manyViewsProbes = getProbesPerScrollFrame(10);
+
+        assertThat(manyViewsProbes).isEqualTo(fewViewsProbes);
+    }
+
+    private int getProbesPerScrollFrame(final int viewSize) {
+        final TestViewGroup viewGroup = new TestViewGroup(Robolectric.application);
+        final AdapterViewManager adapterViewManager = new AdapterViewManager();
+        final LayoutManagerAttributes attributes = new LayoutManagerAttributes(false, false, false, 0, SnapPosition.onScreen, 0, false, false, false);
+        final LayoutManager<View> listLayoutManager = new ListLayoutManager(viewGroup, null, adapterViewManager, attributes) {
+            @Override
+            protected ViewPositionIndex createPositionIndex() {
+                return new CountingViewPositionIndex();
+            }
+        };
+        final TestItemAdapter testAdapter = new TestItemAdapter(viewSize);
+        adapterViewManager.setAdapter(testAdapter);
+        testAdapter.setAdapterSize(ADAPTER_SIZE);
+
+        final int measureSpec = View.MeasureSpec.makeMeasureSpec(VIEW_GROUP_SIZE, View.MeasureSpec.EXACTLY);
+        viewGroup.measure(measureSpec, measureSpec);
+        viewGroup.layout(0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+
+        final Animation animation = new Animation();
+        animation.newAnimation();
+        listLayoutManager.layout(viewGroup, animation, false, 0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+        assertThat(viewGroup.mViews.size()).isGreaterThanOrEqualTo(VIEW_GROUP_SIZE / viewSize);
+
+        mLookups = 0;
+        for (int frame = 0; frame < FRAMES; frame++) {
+            animation.newAnimation();
+            animation.setDisplacement(-viewSize);
+            listLayoutManager.layout(viewGroup, animation, false, 0, 0, VIEW_GROUP_SIZE, VIEW_GROUP_SIZE);
+        }
+        assertThat(listLayoutManager.getPosition(viewGroup.mViews.get(0))).isGreaterThan(0);
+
+        return mLookups / FRAMES;
+    }
+
+    /**
+     * Counts the position lookups the layout manager does.
+     */
+    public class CountingViewPositionIndex extends ViewPositionIndex {
+        @Override
+        public View get(final int position, final int adapterCount) {
+            mLookups++;
+            return super.get(position, adapterCount);
+        }
+    }
+}
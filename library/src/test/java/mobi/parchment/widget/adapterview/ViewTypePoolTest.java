@@ -0,0 +1,182 @@
+package mobi.parchment.widget.adapterview;
+
+import android.content.ComponentCallbacks2;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class ViewTypePoolTest {
+
+    public static final int MEASURE_SPEC = View.MeasureSpec.makeMeasureSpec(100, View.MeasureSpec.EXACTLY);
+    final AdapterViewManager mAdapterViewManager = new AdapterViewManager();
+    final FrameLayout mViewGroup = new FrameLayout(Robolectric.application);
+    final TestAdapter mTestAdapter = new TestAdapter();
+
+    @Before
+    public void setup() {
+        mAdapterViewManager.setAdapter(mTestAdapter);
+    }
+
+    @Test
+    public void poll_returnsTheMostRecentlyRecycledView() {
+        final ViewTypePool pool = new ViewTypePool();
+        final View first = new View(Robolectric.application);
+        final View second = new View(Robolectric.application);
+        pool.put(first);
+        pool.put(second);
+
+        assertThat(pool.poll()).isSameAs(second);
+        assertThat(pool.poll()).isSameAs(first);
+        assertThat(pool.poll()).isNull();
+    }
+
+    @Test
+    public void remove_movesTheMostRecentlyRecycledViewIntoTheSlot() {
+        final ViewTypePool pool = new ViewTypePool();
+        pool.setMaxSize(3);
+        final View first = new View(Robolectric.application);
+        final View second = new View(Robolectric.application);
+        final View third = new View(Robolectric.application);
+        pool.put(first);
+        pool.put(second);
+        pool.put(third);
+
+        assertThat(pool.remove(first)).isTrue();
+        assertThat(pool.remove(first)).isFalse();
+
+        assertThat(pool.poll()).isSameAs(second);
+        assertThat(pool.poll()).isSameAs(third);
+        assertThat(pool.poll()).isNull();
+    }
+
+    @Test
+    public void remove_ignoresViewsPooledElsewhere() {
+        final ViewTypePool pool = new ViewTypePool();
+        final ViewTypePool otherPool = new ViewTypePool();
+        final View view = new View(Robolectric.application);
+        final View otherView = new View(Robolectric.application);
+        pool.put(view);
+        otherPool.put(otherView);
+
+        assertThat(pool.remove(otherView)).isFalse();
+        assertThat(pool.remove(new View(Robolectric.application))).isFalse();
+
+        assertThat(pool.size()).isEqualTo(1);
+        assertThat(otherPool.remove(otherView)).isTrue();
+    }
+
+    @Test
+    public void recycle_keepsAtMostThePeakOnScreenCount() {
+        final List<View> views = getViews(0, 10);
+        recycle(views);
+
+        assertThat(mAdapterViewManager.getPeakOnScreenCount(0)).isEqualTo(5);
+        assertThat(mAdapterViewManager.getPoolSize(0)).isEqualTo(5);
+
+        recycle(getViews(10, 4));
+
+        assertThat(mAdapterViewManager.getPoolSize(0)).isEqualTo(5);
+    }
+
+    @Test
+    public void recycle_keepsAtMostTheConfiguredMaximum() {
+        mAdapterViewManager.setMaxPoolSize(1, 1);
+
+        recycle(getViews(0, 10));
+
+        assertThat(mAdapterViewManager.getMaxPoolSize(1)).isEqualTo(1);
+        assertThat(mAdapterViewManager.getPoolSize(1)).isEqualTo(1);
+    }
+
+    @Test
+    public void getView_reusesPooledViewsOfTheSameType() {
+        final List<View> views = getViews(0, 2);
+        recycle(views);
+
+        final View view = mAdapterViewManager.getView(mViewGroup, 2, MEASURE_SPEC, MEASURE_SPEC);
+
+        assertThat(view).isSameAs(views.get(0));
+        assertThat(mAdapterViewManager.getPoolSize(0)).isEqualTo(0);
+    }
+
+    @Test
+    public void trimPools_halvesThePoolsWhenRunningLow() {
+        recycle(getViews(0, 10));
+
+        mAdapterViewManager.trimPools(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+
+        assertThat(mAdapterViewManager.getPoolSize(0)).isEqualTo(2);
+        assertThat(mAdapterViewManager.getPoolSize(1)).isEqualTo(2);
+    }
+
+    @Test
+    public void trimPools_emptiesThePoolsWhenTheUiIsHidden() {
+        recycle(getViews(0, 10));
+
+        mAdapterViewManager.trimPools(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+
+        assertThat(mAdapterViewManager.getPoolSize(0)).isEqualTo(0);
+        assertThat(mAdapterViewManager.getPoolSize(1)).isEqualTo(0);
+    }
+
+    private List<View> getViews(final int firstPosition, final int count) {
+        final List<View> views = new ArrayList<View>();
+        for (int position = firstPosition; position < firstPosition + count; position++) {
+            views.add(mAdapterViewManager.getView(mViewGroup, position, MEASURE_SPEC, MEASURE_SPEC));
+        }
+        return views;
+    }
+
+    private void recycle(final List<View> views) {
+        for (final View view : views) {
+            mAdapterViewManager.recycle(view);
+        }
+    }
+
+    public class TestAdapter extends BaseAdapter {
+
+        @Override
+        public int getCount() {
+            return 100;
+        }
+
+        @Override
+        public Object getItem(int position) {
+            return position;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return position;
+        }
+
+        @Override
+        public int getViewTypeCount() {
+            return 2;
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            return position % 2;
+        }
+
+        @Override
+        public View getView(int position, View convertView, ViewGroup parent) {
+            if (convertView != null) return convertView;
+            return new FrameLayout(Robolectric.application);
+        }
+    }
+}
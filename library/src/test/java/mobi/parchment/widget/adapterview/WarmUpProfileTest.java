@@ -0,0 +1,79 @@
+package mobi.parchment.widget.adapterview;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class WarmUpProfileTest {
+
+    File mDirectory;
+    File mFile;
+
+    @Before
+    public void setup() throws IOException {
+        mDirectory = File.createTempFile("warm_up", "");
+        mDirectory.delete();
+        mFile = new File(mDirectory, "screen");
+    }
+
+    @After
+    public void tearDown() {
+        mFile.delete();
+        mDirectory.delete();
+    }
+
+    @Test
+    public void write_thenRead_keepsEveryViewType() {
+        final WarmUpProfile warmUpProfile = new WarmUpProfile();
+        warmUpProfile.put(0, 7, 5);
+        warmUpProfile.put(3, 2, 4);
+
+        assertThat(warmUpProfile.write(mFile)).isTrue();
+        final WarmUpProfile readProfile = WarmUpProfile.read(mFile);
+
+        assertThat(readProfile.size()).isEqualTo(2);
+        assertThat(readProfile.getPeakCount(0)).isEqualTo(7);
+        assertThat(readProfile.getFirstLayoutCount(0)).isEqualTo(5);
+        assertThat(readProfile.getWarmUpCount(0)).isEqualTo(7);
+        assertThat(readProfile.getWarmUpCount(3)).isEqualTo(4);
+        assertThat(new File(mFile.getPath() + ".tmp").exists()).isFalse();
+    }
+
+    @Test
+    public void read_withoutFile_returnsNull() {
+        assertThat(WarmUpProfile.read(mFile)).isNull();
+    }
+
+    @Test
+    public void read_ofAnotherVersion_returnsNull() throws IOException {
+        mDirectory.mkdirs();
+        final DataOutputStream outputStream = new DataOutputStream(new FileOutputStream(mFile));
+        outputStream.writeInt(WarmUpProfile.VERSION + 1);
+        outputStream.writeInt(0);
+        outputStream.close();
+
+        assertThat(WarmUpProfile.read(mFile)).isNull();
+    }
+
+    @Test
+    public void read_ofTruncatedFile_returnsNull() throws IOException {
+        mDirectory.mkdirs();
+        final DataOutputStream outputStream = new DataOutputStream(new FileOutputStream(mFile));
+        outputStream.writeInt(WarmUpProfile.VERSION);
+        outputStream.writeInt(2);
+        outputStream.writeInt(0);
+        outputStream.close();
+
+        assertThat(WarmUpProfile.read(mFile)).isNull();
+    }
+}
@@ -323,11 +323,6 @@ public class getCellCisplacementFromSnapPositionTests {
             return 0;
         }
 
-        @Override
-        protected int getDrawPosition(List<Cell> cells, int drawCellPosition) {
-            return 0;
-        }
-
         @Override
         protected int getLastAdapterPositionInCell(int cellPosition) {
             return 0;